@@ -0,0 +1,31 @@
+package engine;
+
+/**
+ * Destination of the sound effects of a game. The real game plays them
+ * through the audio engine, while simulations drop them or capture them to
+ * check what would have been heard, without any sound device.
+ */
+public interface AudioBackend {
+
+	/** Backend dropping every sound. */
+	AudioBackend NONE = id -> {
+	};
+
+	/**
+	 * Plays a sound effect, without blocking.
+	 *
+	 * @param id
+	 *            Sound to play.
+	 */
+	void play(SoundId id);
+
+	/**
+	 * Called when the backend is given to a game, before the game plays any
+	 * sound through it. Does nothing by default.
+	 *
+	 * @param context
+	 *            Game playing its sounds through the backend.
+	 */
+	default void attach(final GameContext context) {
+	}
+}
@@ -0,0 +1,13 @@
+package engine;
+
+/**
+ * Volume controls of the mix, each set from the settings screen.
+ */
+public enum AudioBus {
+	/** Everything the game plays. */
+	MASTER,
+	/** Background music. */
+	MUSIC,
+	/** Sound effects. */
+	EFFECTS
+}
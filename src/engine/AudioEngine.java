@@ -0,0 +1,421 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.logging.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Plays the sound effects and music of the game. Every effect is decoded
+ * once into a PCM bank, and a fixed pool of voices is mixed on a dedicated
+ * audio thread into a single line, over the streamed background music.
+ * Playing a sound only counts a request, so gameplay never blocks on audio;
+ * the audio thread starts the requested voices at its next buffer, taking
+ * over the longest playing voice when all of them are busy.
+ *
+ * The music and effects go through volume buses under a master bus. Their
+ * gains are 16 bit fixed point, read once per buffer, so volume changes
+ * apply to the next buffer without touching the line.
+ */
+public final class AudioEngine implements AudioBackend {
+
+	/** Sample rate of the mix. */
+	public static final int SAMPLE_RATE = 44100;
+	/** Channels of the mix, stereo. */
+	public static final int CHANNELS = 2;
+	/** Frames mixed at a time, 10 ms of sound. */
+	public static final int BUFFER_FRAMES = SAMPLE_RATE / 100;
+	/** Gain of a full volume bus, in 16 bit fixed point. */
+	static final int UNITY = 1 << 16;
+	/** Buffers queued in the line, the latency of a new sound. */
+	private static final int LINE_BUFFERS = 4;
+	/** Voices playing at most at the same time. */
+	private static final int MAX_VOICES = 16;
+	/** Folder of the sound files. */
+	private static final String SOUND_FOLDER = "Bgm/";
+	/** Format of the mix, 16 bit signed little endian stereo. */
+	private static final AudioFormat MIX_FORMAT = new AudioFormat(
+			SAMPLE_RATE, 16, CHANNELS, true, false);
+
+	/** Singleton instance of the class. */
+	private static final AudioEngine INSTANCE = new AudioEngine(MAX_VOICES);
+
+	/** Decoded sounds, interleaved stereo samples, by sound. */
+	private final short[][] bank = new short[SoundId.values().length][];
+	/** Requests not picked up by the audio thread yet, by sound. */
+	private final AtomicIntegerArray pending = new AtomicIntegerArray(
+			SoundId.values().length);
+	/** Sound played by each voice, -1 if the voice is free. */
+	private final int[] voiceSound;
+	/** Next sample played by each voice. */
+	private final int[] voicePosition;
+	/** Sum of the voices of a buffer, before clipping. */
+	private final int[] mixBuffer = new int[BUFFER_FRAMES * CHANNELS];
+	/** Background music, mixed under the sound effects. */
+	private final BgmManager music = new BgmManager(MIX_FORMAT);
+	/** Gain of each bus, in 16 bit fixed point. */
+	private final AtomicIntegerArray gains = new AtomicIntegerArray(
+			AudioBus.values().length);
+
+	/** Voices taken over while still playing. */
+	private volatile long steals;
+	/** Buffers mixed by the audio thread. */
+	private volatile long mixes;
+	/** Time the audio thread spent mixing, in nanoseconds. */
+	private volatile long mixNanos;
+	/** If the audio thread is running. */
+	private volatile boolean running;
+	/** Thread writing the mix to the line. */
+	private Thread thread;
+	/** Application logger. */
+	private Logger logger;
+
+	/**
+	 * Constructor, creates the voices. Nothing is loaded until started.
+	 *
+	 * @param voices
+	 *            Voices playing at most at the same time.
+	 */
+	AudioEngine(final int voices) {
+		this.voiceSound = new int[voices];
+		this.voicePosition = new int[voices];
+		for (int i = 0; i < voices; i++)
+			this.voiceSound[i] = -1;
+		for (AudioBus bus : AudioBus.values())
+			this.gains.set(bus.ordinal(), UNITY);
+	}
+
+	/**
+	 * Returns shared instance of AudioEngine.
+	 *
+	 * @return Shared instance of AudioEngine.
+	 */
+	protected static AudioEngine getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Decodes every sound and starts the audio thread. Without a sound
+	 * device the game carries on silently.
+	 */
+	public synchronized void start() {
+		if (this.running)
+			return;
+		this.logger = Core.getLogger();
+		for (SoundId id : SoundId.values()) {
+			try {
+				load(id, decode(new File(SOUND_FOLDER + id.getFileName())));
+			} catch (IOException | UnsupportedAudioFileException e) {
+				this.logger.warning("Could not load sound " + id + ": " + e);
+			}
+		}
+
+		SourceDataLine line;
+		try {
+			line = AudioSystem.getSourceDataLine(MIX_FORMAT);
+			line.open(MIX_FORMAT, BUFFER_FRAMES * LINE_BUFFERS
+					* MIX_FORMAT.getFrameSize());
+		} catch (LineUnavailableException | IllegalArgumentException e) {
+			this.logger.warning("No audio line, sound is disabled: " + e);
+			return;
+		}
+		line.start();
+
+		this.running = true;
+		this.music.startLoader();
+		this.thread = new Thread(() -> mixLoop(line), "Audio");
+		this.thread.setDaemon(true);
+		this.thread.setPriority(Thread.MAX_PRIORITY);
+		this.thread.start();
+		this.logger.info("Started audio with " + this.voiceSound.length
+				+ " voices.");
+	}
+
+	/**
+	 * Stops the audio thread and closes the line.
+	 */
+	public synchronized void stop() {
+		if (!this.running)
+			return;
+		this.running = false;
+		try {
+			this.thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.music.stopLoader();
+	}
+
+	/**
+	 * Getter for the background music player.
+	 *
+	 * @return Music mixed by the engine.
+	 */
+	public BgmManager getMusic() {
+		return this.music;
+	}
+
+	/**
+	 * Changes the volume of a bus, from the next mixed buffer.
+	 *
+	 * @param bus
+	 *            Bus to change.
+	 * @param percent
+	 *            Volume from 0 (silent) to 100 (full).
+	 */
+	public void setVolume(final AudioBus bus, final int percent) {
+		int clamped = Math.max(0, Math.min(100, percent));
+		this.gains.set(bus.ordinal(), clamped * UNITY / 100);
+	}
+
+	/**
+	 * Getter for the volume of a bus.
+	 *
+	 * @param bus
+	 *            Bus to read.
+	 * @return Volume from 0 (silent) to 100 (full).
+	 */
+	public int getVolume(final AudioBus bus) {
+		return Math.round(this.gains.get(bus.ordinal()) * 100f / UNITY);
+	}
+
+	/**
+	 * Plays a sound effect, without blocking or locking. Requests for the
+	 * same sound within one buffer are played once.
+	 *
+	 * @param id
+	 *            Sound to play.
+	 */
+	@Override
+	public void play(final SoundId id) {
+		if (this.running)
+			request(id);
+	}
+
+	/**
+	 * Counts a request for a sound, picked up by the next mixed buffer.
+	 *
+	 * @param id
+	 *            Sound to play.
+	 */
+	void request(final SoundId id) {
+		this.pending.incrementAndGet(id.ordinal());
+	}
+
+	/**
+	 * Stores a decoded sound in the bank.
+	 *
+	 * @param id
+	 *            Sound decoded.
+	 * @param samples
+	 *            Interleaved stereo samples at the mix rate.
+	 */
+	void load(final SoundId id, final short[] samples) {
+		this.bank[id.ordinal()] = samples;
+	}
+
+	/**
+	 * Mixes buffers and writes them to the line until stopped.
+	 *
+	 * @param line
+	 *            Open line to write to.
+	 */
+	private void mixLoop(final SourceDataLine line) {
+		byte[] out = new byte[BUFFER_FRAMES * MIX_FORMAT.getFrameSize()];
+		try {
+			while (this.running) {
+				long start = System.nanoTime();
+				mix(out);
+				this.mixNanos += System.nanoTime() - start;
+				this.mixes++;
+				// Blocks while the line is full, pacing the thread.
+				line.write(out, 0, out.length);
+			}
+		} finally {
+			line.drain();
+			line.close();
+		}
+	}
+
+	/**
+	 * Starts the requested voices and mixes the next buffer.
+	 *
+	 * @param out
+	 *            Buffer receiving BUFFER_FRAMES frames in the mix format.
+	 */
+	void mix(final byte[] out) {
+		for (int sound = 0; sound < this.bank.length; sound++)
+			if (this.pending.getAndSet(sound, 0) > 0
+					&& this.bank[sound] != null)
+				startVoice(sound);
+
+		// Master is folded into the bus gains, one multiply per sample.
+		int master = this.gains.get(AudioBus.MASTER.ordinal());
+		int effects = (int) ((long) this.gains.get(AudioBus.EFFECTS.ordinal())
+				* master >> 16);
+		int musicGain = (int) ((long) this.gains.get(AudioBus.MUSIC.ordinal())
+				* master >> 16);
+
+		int[] mix = this.mixBuffer;
+		Arrays.fill(mix, 0);
+		this.music.mix(mix, musicGain);
+		for (int v = 0; v < this.voiceSound.length; v++) {
+			int sound = this.voiceSound[v];
+			if (sound < 0)
+				continue;
+			short[] samples = this.bank[sound];
+			int position = this.voicePosition[v];
+			int count = Math.min(mix.length, samples.length - position);
+			for (int i = 0; i < count; i++)
+				mix[i] += (samples[position + i] * effects) >> 16;
+			position += count;
+			if (position >= samples.length)
+				this.voiceSound[v] = -1;
+			this.voicePosition[v] = position;
+		}
+
+		for (int i = 0, b = 0; i < mix.length; i++, b += 2) {
+			int sample = Math.max(Short.MIN_VALUE,
+					Math.min(Short.MAX_VALUE, mix[i]));
+			out[b] = (byte) sample;
+			out[b + 1] = (byte) (sample >> 8);
+		}
+	}
+
+	/**
+	 * Starts a voice, taking over the longest playing one if all are busy.
+	 *
+	 * @param sound
+	 *            Index of the sound to play.
+	 */
+	private void startVoice(final int sound) {
+		int chosen = 0;
+		for (int v = 0; v < this.voiceSound.length; v++) {
+			if (this.voiceSound[v] < 0) {
+				chosen = v;
+				break;
+			}
+			if (this.voicePosition[v] > this.voicePosition[chosen])
+				chosen = v;
+		}
+		if (this.voiceSound[chosen] >= 0)
+			this.steals++;
+		this.voiceSound[chosen] = sound;
+		this.voicePosition[chosen] = 0;
+	}
+
+	/**
+	 * Getter for the number of voices playing.
+	 *
+	 * @return Busy voices.
+	 */
+	public int getActiveVoices() {
+		int active = 0;
+		for (int sound : this.voiceSound)
+			if (sound >= 0)
+				active++;
+		return active;
+	}
+
+	/**
+	 * Getter for the average time the audio thread takes to mix a buffer.
+	 *
+	 * @return Nanoseconds per buffer, 0 before the first one.
+	 */
+	public long getAverageMixNanos() {
+		long count = this.mixes;
+		return count == 0 ? 0 : this.mixNanos / count;
+	}
+
+	/**
+	 * Getter for the number of voices taken over while still playing.
+	 *
+	 * @return Voices stolen.
+	 */
+	public long getSteals() {
+		return this.steals;
+	}
+
+	/**
+	 * Decodes a sound file into the mix format.
+	 *
+	 * @param file
+	 *            File to decode, any PCM wave.
+	 * @return Interleaved stereo samples at the mix rate.
+	 * @throws IOException
+	 *             If the file can't be read.
+	 * @throws UnsupportedAudioFileException
+	 *             If the file isn't a supported sound.
+	 */
+	static short[] decode(final File file)
+			throws IOException, UnsupportedAudioFileException {
+		try (AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+			AudioFormat format = source.getFormat();
+			AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16,
+					format.getChannels(), true, false);
+			try (AudioInputStream converted = AudioSystem
+					.getAudioInputStream(pcm, source)) {
+				byte[] bytes = converted.readAllBytes();
+				return resample(bytes, format.getChannels(),
+						format.getSampleRate());
+			}
+		}
+	}
+
+	/**
+	 * Converts 16 bit little endian samples to stereo at the mix rate, with
+	 * linear interpolation.
+	 *
+	 * @param bytes
+	 *            Samples to convert.
+	 * @param channels
+	 *            Channels of the samples, mono or stereo.
+	 * @param sampleRate
+	 *            Rate of the samples.
+	 * @return Interleaved stereo samples at the mix rate.
+	 */
+	static short[] resample(final byte[] bytes, final int channels,
+			final float sampleRate) {
+		int frames = bytes.length / (2 * channels);
+		if (frames == 0)
+			return new short[0];
+		int outFrames = (int) ((long) frames * SAMPLE_RATE / sampleRate);
+		short[] out = new short[outFrames * CHANNELS];
+		double step = sampleRate / SAMPLE_RATE;
+		for (int i = 0; i < outFrames; i++) {
+			double position = i * step;
+			int frame = (int) position;
+			int next = Math.min(frame + 1, frames - 1);
+			double fraction = position - frame;
+			for (int c = 0; c < CHANNELS; c++) {
+				int channel = Math.min(c, channels - 1);
+				int a = sampleAt(bytes, frame * channels + channel);
+				int b = sampleAt(bytes, next * channels + channel);
+				out[i * CHANNELS + c] = (short) Math.round(a + (b - a)
+						* fraction);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Reads a 16 bit little endian sample.
+	 *
+	 * @param bytes
+	 *            Samples.
+	 * @param index
+	 *            Index of the sample.
+	 * @return Sample value.
+	 */
+	private static int sampleAt(final byte[] bytes, final int index) {
+		return (short) ((bytes[index * 2] & 0xFF) | (bytes[index * 2 + 1] << 8));
+	}
+}
@@ -0,0 +1,502 @@
+package engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Streams the background music from disk into the mix of the audio engine,
+ * so it shares the single line of the sound effects. Tracks are read a
+ * small buffer at a time and loop, and changing tracks crossfades the old
+ * one out while the new one fades in. Only two stream buffers exist, the
+ * playing track and the one fading out, so the memory used by music never
+ * grows past their size whatever the length of the tracks.
+ *
+ * Tracks are requested from any thread. A loader thread opens, decodes and
+ * reads them, and the audio thread only copies bytes already in memory, so
+ * a slow disk never stalls the line. Each stream buffer is split in two
+ * chunks: the audio thread plays one while the loader fills the other, and
+ * a chunk is handed over once filled.
+ */
+public final class BgmManager {
+
+	/** Folder of the music files. */
+	private static final String MUSIC_FOLDER = "Bgm/";
+	/** Music files selectable in the shop, by index. */
+	private static final String[] TRACKS = { "Dummy-data-bgm.wav",
+			"Dummy-data-bgm2.wav", "Dummy-data-bgm3.wav" };
+	/** Bytes buffered by each stream, about 90 ms. */
+	static final int STREAM_BUFFER_BYTES = 16 * 1024;
+	/** Chunks of a stream buffer, one played while the other is read. */
+	private static final int CHUNKS = 2;
+	/** Bytes read from disk at a time by each stream, about 45 ms. */
+	private static final int CHUNK_BYTES = STREAM_BUFFER_BYTES / CHUNKS;
+	/** Streams playing at most, a track and the one it replaces. */
+	private static final int STREAMS = 2;
+	/** Longest sleep of the loader between two checks for work. */
+	private static final long LOADER_PARK_NANOS = 10_000_000L;
+	/** Frames a fade lasts, one and a half seconds. */
+	static final int FADE_FRAMES = AudioEngine.SAMPLE_RATE * 3 / 2;
+	/** Request to stop the music. */
+	private static final File STOP = new File("");
+
+	/** Format of the mix, 16 bit signed little endian stereo. */
+	private final AudioFormat format;
+	/** Buffers of the streams, in chunks, allocated once. */
+	private final byte[][][] buffers = new byte[STREAMS][CHUNKS][CHUNK_BYTES];
+	/** Track requested and not picked up by the audio thread yet. */
+	private final AtomicReference<File> request = new AtomicReference<File>();
+	/** Streams with an open file, only used by the loader. */
+	private final List<Stream> opened = new ArrayList<Stream>(STREAMS + 1);
+	/** Last track requested, to ignore requests for the playing track. */
+	private volatile File requested = STOP;
+	/** Bytes waiting in the stream buffers, for the metrics. */
+	private volatile int bufferedBytes;
+	/** Times a playing stream ran out of read bytes. */
+	private volatile long underruns;
+	/** If the loader thread is running. */
+	private volatile boolean loading;
+	/** Thread reading the tracks from disk. */
+	private Thread loader;
+
+	/** Track playing or fading in, set by the audio thread. */
+	private volatile Stream current;
+	/** Track fading out, set by the audio thread. */
+	private volatile Stream fading;
+
+	/**
+	 * A track read by the loader and played by the audio thread. The loader
+	 * fills the chunks in turn and counts them in filled, the audio thread
+	 * plays them in the same order and counts them in played, so a chunk
+	 * belongs to one thread at a time.
+	 */
+	private static final class Stream {
+		/** File of the track. */
+		private final File file;
+		/** Chunks holding the next frames. */
+		private final byte[][] chunks;
+		/** Bytes in each chunk. */
+		private final int[] lengths = new int[CHUNKS];
+		/** Chunks filled by the loader. */
+		private volatile int filled;
+		/** Chunks played by the audio thread. */
+		private volatile int played;
+		/** If the loader won't fill any more chunks. */
+		private volatile boolean finished;
+		/** If the audio thread dropped the stream. */
+		private volatile boolean released;
+		/** Decoder of the file, converting to the mix format. Loader only. */
+		private AudioInputStream input;
+		/** Next byte of the chunk to play. Audio thread only. */
+		private int offset;
+		/** Frames of the current fade played, FADE_FRAMES at most. */
+		private int fade;
+
+		/**
+		 * Constructor, starts a track from the beginning.
+		 *
+		 * @param file
+		 *            File of the track.
+		 * @param chunks
+		 *            Chunks to read into.
+		 */
+		Stream(final File file, final byte[][] chunks) {
+			this.file = file;
+			this.chunks = chunks;
+		}
+
+		/**
+		 * Checks if every chunk the loader will ever fill was played.
+		 *
+		 * @return True if there is nothing left to play.
+		 */
+		boolean ended() {
+			// Finished is read first, the loader sets it after the last chunk.
+			return this.finished && this.played == this.filled;
+		}
+	}
+
+	/**
+	 * Constructor, establishes the format of the mix.
+	 *
+	 * @param format
+	 *            Format of the mix, 16 bit stereo.
+	 */
+	BgmManager(final AudioFormat format) {
+		this.format = format;
+	}
+
+	/**
+	 * Starts the loader thread.
+	 */
+	synchronized void startLoader() {
+		if (this.loading)
+			return;
+		this.loading = true;
+		this.loader = new Thread(this::loadLoop, "Music loader");
+		this.loader.setDaemon(true);
+		this.loader.start();
+	}
+
+	/**
+	 * Stops the loader thread and closes the files it read.
+	 */
+	synchronized void stopLoader() {
+		if (!this.loading)
+			return;
+		this.loading = false;
+		LockSupport.unpark(this.loader);
+		try {
+			this.loader.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.loader = null;
+	}
+
+	/**
+	 * Plays one of the tracks selectable in the shop, crossfading from the
+	 * playing one.
+	 *
+	 * @param index
+	 *            Index of the track.
+	 */
+	public void playTrack(final int index) {
+		play(new File(MUSIC_FOLDER + TRACKS[index]));
+	}
+
+	/**
+	 * Plays a track in a loop, crossfading from the playing one. Requesting
+	 * the playing track again does nothing.
+	 *
+	 * @param file
+	 *            File of the track.
+	 */
+	public void play(final File file) {
+		if (file.equals(this.requested))
+			return;
+		this.requested = file;
+		this.request.set(file);
+	}
+
+	/**
+	 * Fades the music out.
+	 */
+	public void stop() {
+		if (this.requested == STOP)
+			return;
+		this.requested = STOP;
+		this.request.set(STOP);
+	}
+
+	/**
+	 * Getter for the bytes of music read and not played yet.
+	 *
+	 * @return Bytes waiting in the stream buffers.
+	 */
+	public int getBufferedBytes() {
+		return this.bufferedBytes;
+	}
+
+	/**
+	 * Getter for the most memory the music may use, however many tracks
+	 * are played.
+	 *
+	 * @return Bytes of the stream buffers.
+	 */
+	public int getMemoryCeiling() {
+		return STREAMS * STREAM_BUFFER_BYTES;
+	}
+
+	/**
+	 * Getter for the times a playing stream ran out of read bytes, the
+	 * loader falling behind the audio thread.
+	 *
+	 * @return Buffers mixed with part of the music missing.
+	 */
+	public long getUnderruns() {
+		return this.underruns;
+	}
+
+	/**
+	 * Adds the music to a buffer of the mix. Called by the audio thread,
+	 * which only copies the chunks the loader already read.
+	 *
+	 * @param mix
+	 *            Interleaved stereo samples of the mix.
+	 * @param gain
+	 *            Volume of the music, in 16 bit fixed point.
+	 */
+	void mix(final int[] mix, final int gain) {
+		File file = this.request.getAndSet(null);
+		if (file != null)
+			switchTo(file);
+
+		Stream current = this.current;
+		Stream fading = this.fading;
+		// Until the new track is read, the old one holds its volume.
+		boolean waiting = current != null && current.filled == 0
+				&& !current.finished;
+		if (current != null && !waiting)
+			mixStream(current, mix, gain, true, true);
+		if (fading != null)
+			mixStream(fading, mix, gain, false, !waiting);
+
+		if (current != null && current.ended())
+			this.current = current = release(current);
+		if (fading != null && (fading.ended() || fading.fade >= FADE_FRAMES))
+			this.fading = fading = release(fading);
+
+		this.bufferedBytes = buffered(current) + buffered(fading);
+	}
+
+	/**
+	 * Starts fading the playing track out and the requested one in. The
+	 * loader opens the requested one.
+	 *
+	 * @param file
+	 *            Requested track, STOP for silence.
+	 */
+	private void switchTo(final File file) {
+		// A track still fading out is cut, to keep two buffers at most.
+		if (this.fading != null)
+			this.fading = release(this.fading);
+		Stream previous = this.current;
+		if (previous != null)
+			// Fades out from the volume it reached fading in.
+			previous.fade = FADE_FRAMES - previous.fade;
+		this.fading = previous;
+		this.current = null;
+		if (file == STOP)
+			return;
+
+		byte[][] chunks = this.buffers[0];
+		if (previous != null && previous.chunks == chunks)
+			chunks = this.buffers[1];
+		this.current = new Stream(file, chunks);
+		LockSupport.unpark(this.loader);
+	}
+
+	/**
+	 * Mixes the next frames of a stream from its read chunks. Stops early
+	 * if the loader hasn't read far enough.
+	 *
+	 * @param stream
+	 *            Stream to mix.
+	 * @param mix
+	 *            Interleaved stereo samples of the mix.
+	 * @param volume
+	 *            Volume of the music, in 16 bit fixed point.
+	 * @param fadingIn
+	 *            True to fade the stream in, false to fade it out.
+	 * @param fade
+	 *            False to hold the volume the fade reached.
+	 */
+	private void mixStream(final Stream stream, final int[] mix,
+			final int volume, final boolean fadingIn, final boolean fade) {
+		int i = 0;
+		while (i < mix.length) {
+			int played = stream.played;
+			if (played == stream.filled) {
+				if (!stream.finished)
+					this.underruns++;
+				return;
+			}
+			int chunk = played & (CHUNKS - 1);
+			byte[] buffer = stream.chunks[chunk];
+			int length = stream.lengths[chunk];
+			int offset = stream.offset;
+			for (; i < mix.length && offset < length; i += 2, offset += 4) {
+				int gain = (int) ((long) stream.fade * AudioEngine.UNITY
+						/ FADE_FRAMES);
+				if (!fadingIn)
+					gain = AudioEngine.UNITY - gain;
+				gain = (int) ((long) gain * volume >> 16);
+				// Stops at the end of the fade, never overflowing on long
+				// plays.
+				if (fade && stream.fade < FADE_FRAMES)
+					stream.fade++;
+
+				int left = (short) ((buffer[offset] & 0xFF)
+						| (buffer[offset + 1] << 8));
+				int right = (short) ((buffer[offset + 2] & 0xFF)
+						| (buffer[offset + 3] << 8));
+				mix[i] += (left * gain) >> 16;
+				mix[i + 1] += (right * gain) >> 16;
+			}
+			if (offset < length) {
+				stream.offset = offset;
+			} else {
+				// Hands the chunk back to the loader.
+				stream.offset = 0;
+				stream.played = played + 1;
+				LockSupport.unpark(this.loader);
+			}
+		}
+	}
+
+	/**
+	 * Counts the bytes of a stream read and not played yet.
+	 *
+	 * @param stream
+	 *            Stream to count, may be null.
+	 * @return Bytes waiting in its chunks.
+	 */
+	private static int buffered(final Stream stream) {
+		if (stream == null)
+			return 0;
+		int bytes = -stream.offset;
+		for (int chunk = stream.played; chunk != stream.filled; chunk++)
+			bytes += stream.lengths[chunk & (CHUNKS - 1)];
+		return Math.max(0, bytes);
+	}
+
+	/**
+	 * Drops a stream from the mix. The loader closes its file.
+	 *
+	 * @param stream
+	 *            Stream to drop.
+	 * @return Null, to clear the field holding the stream.
+	 */
+	private Stream release(final Stream stream) {
+		stream.released = true;
+		LockSupport.unpark(this.loader);
+		return null;
+	}
+
+	/**
+	 * Body of the loader thread, reads chunks until stopped and sleeps when
+	 * every stream is full.
+	 */
+	private void loadLoop() {
+		while (this.loading)
+			if (!load())
+				LockSupport.parkNanos(this, LOADER_PARK_NANOS);
+		for (Stream stream : this.opened)
+			close(stream);
+		this.opened.clear();
+	}
+
+	/**
+	 * Reads a chunk for every stream with a free one and closes the files
+	 * of the dropped streams. Called by the loader thread.
+	 *
+	 * @return True if a chunk was read.
+	 */
+	boolean load() {
+		// The playing track first, it is the one heard longest.
+		boolean read = fill(this.current);
+		read |= fill(this.fading);
+		for (int i = this.opened.size() - 1; i >= 0; i--) {
+			Stream stream = this.opened.get(i);
+			if (stream.released || stream.finished) {
+				this.opened.remove(i);
+				close(stream);
+			}
+		}
+		return read;
+	}
+
+	/**
+	 * Reads the next chunk of a stream, looping back to the start of the
+	 * track at its end.
+	 *
+	 * @param stream
+	 *            Stream to read, may be null.
+	 * @return True if a chunk was read.
+	 */
+	private boolean fill(final Stream stream) {
+		if (stream == null || stream.released || stream.finished
+				|| stream.filled - stream.played >= CHUNKS)
+			return false;
+		if (stream.input == null) {
+			if (!open(stream)) {
+				stream.finished = true;
+				return false;
+			}
+			this.opened.add(stream);
+		}
+
+		int chunk = stream.filled & (CHUNKS - 1);
+		byte[] buffer = stream.chunks[chunk];
+		int length = 0;
+		boolean ended = false;
+		boolean looped = false;
+		try {
+			while (length < buffer.length) {
+				int read = stream.input.readNBytes(buffer, length,
+						buffer.length - length);
+				length += read;
+				if (length == buffer.length)
+					break;
+				// End of the track, an empty one isn't looped forever.
+				if (read == 0 && looped) {
+					ended = true;
+					break;
+				}
+				stream.input.close();
+				if (!open(stream)) {
+					ended = true;
+					break;
+				}
+				looped = read == 0;
+			}
+		} catch (IOException e) {
+			Core.getLogger().warning("Could not read music " + stream.file
+					+ ": " + e);
+			ended = true;
+		}
+
+		stream.lengths[chunk] = length - length % 4;
+		if (stream.lengths[chunk] > 0)
+			stream.filled++;
+		if (ended)
+			stream.finished = true;
+		return stream.lengths[chunk] > 0;
+	}
+
+	/**
+	 * Opens the file of a stream from its beginning.
+	 *
+	 * @param stream
+	 *            Stream to open.
+	 * @return False if the file can't be played.
+	 */
+	private boolean open(final Stream stream) {
+		try {
+			AudioInputStream source = AudioSystem
+					.getAudioInputStream(stream.file);
+			stream.input = AudioSystem.getAudioInputStream(this.format,
+					source);
+			return true;
+		} catch (IOException | UnsupportedAudioFileException
+				| IllegalArgumentException e) {
+			Core.getLogger().warning("Could not play music " + stream.file + ": "
+					+ e);
+			return false;
+		}
+	}
+
+	/**
+	 * Closes the file of a stream.
+	 *
+	 * @param stream
+	 *            Stream to close.
+	 */
+	private void close(final Stream stream) {
+		try {
+			if (stream.input != null)
+				stream.input.close();
+		} catch (IOException e) {
+			Core.getLogger().warning("Could not close music " + stream.file);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Scripted player for simulated games. Both ships fire all the time and
+ * sweep their half of the screen, changing direction after a random number
+ * of ticks drawn from the bot's own seed.
+ */
+public final class BotInput implements InputSource {
+
+	/** Fewest ticks a direction is kept. */
+	private static final int MIN_HOLD = 20;
+	/** Most ticks a direction is kept. */
+	private static final int MAX_HOLD = 90;
+
+	/** Random numbers of the bot, apart from the game streams. */
+	private final GameRandom random;
+	/** Ticks until the left ship changes direction. */
+	private int holdL;
+	/** Ticks until the right ship changes direction. */
+	private int holdR;
+	/** If the left ship is moving right. */
+	private boolean rightL;
+	/** If the right ship is moving right. */
+	private boolean rightR;
+
+	/**
+	 * Constructor, establishes the moves of the bot.
+	 *
+	 * @param seed
+	 *            Seed of the moves, the same seed plays the same moves.
+	 */
+	public BotInput(final long seed) {
+		this.random = new GameRandom(seed);
+	}
+
+	@Override
+	public void poll() {
+		if (--this.holdL <= 0) {
+			this.rightL = this.random.nextBoolean();
+			this.holdL = MIN_HOLD + this.random.nextInt(MAX_HOLD - MIN_HOLD);
+		}
+		if (--this.holdR <= 0) {
+			this.rightR = this.random.nextBoolean();
+			this.holdR = MIN_HOLD + this.random.nextInt(MAX_HOLD - MIN_HOLD);
+		}
+	}
+
+	@Override
+	public boolean isKeyDown(final int keyCode) {
+		switch (keyCode) {
+		case KeyEvent.VK_SPACE:
+		case KeyEvent.VK_UP:
+			return true;
+		case KeyEvent.VK_D:
+			return this.rightL;
+		case KeyEvent.VK_A:
+			return !this.rightL;
+		case KeyEvent.VK_RIGHT:
+			return this.rightR;
+		case KeyEvent.VK_LEFT:
+			return !this.rightR;
+		default:
+			return false;
+		}
+	}
+}
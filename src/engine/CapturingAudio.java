@@ -0,0 +1,126 @@
+package engine;
+
+/**
+ * Audio backend recording the sounds played instead of playing them, with
+ * the tick of the game they were played at. The latest sounds are kept in a
+ * ring buffer allocated once, so recording never allocates nor does any
+ * I/O. Not synchronized, it belongs to the game recording into it.
+ */
+public final class CapturingAudio implements AudioBackend {
+
+	/** Tick recorded when no ticked game is running. */
+	public static final long NO_TICK = -1;
+
+	/** Tick of every recorded sound, by slot. */
+	private final long[] ticks;
+	/** Every recorded sound, by slot. */
+	private final SoundId[] sounds;
+	/** Sounds recorded since created or cleared, including overwritten. */
+	private long recorded;
+	/** Game the sounds come from, null until attached to one. */
+	private GameContext context;
+
+	/**
+	 * Constructor, allocates the ring buffer.
+	 *
+	 * @param capacity
+	 *            Latest sounds kept.
+	 */
+	public CapturingAudio(final int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive.");
+		this.ticks = new long[capacity];
+		this.sounds = new SoundId[capacity];
+	}
+
+	@Override
+	public void attach(final GameContext context) {
+		this.context = context;
+	}
+
+	@Override
+	public void play(final SoundId id) {
+		GameClock clock = this.context == null ? null
+				: this.context.getClock();
+		int slot = (int) (this.recorded % this.sounds.length);
+		this.ticks[slot] = clock instanceof TickClock
+				? ((TickClock) clock).getTicks() : NO_TICK;
+		this.sounds[slot] = id;
+		this.recorded++;
+	}
+
+	/**
+	 * Getter for the number of sounds kept.
+	 *
+	 * @return Sounds in the buffer, at most its capacity.
+	 */
+	public int size() {
+		return (int) Math.min(this.recorded, this.sounds.length);
+	}
+
+	/**
+	 * Getter for the number of sounds recorded, even those overwritten.
+	 *
+	 * @return Sounds recorded since created or cleared.
+	 */
+	public long getRecorded() {
+		return this.recorded;
+	}
+
+	/**
+	 * Getter for a kept sound.
+	 *
+	 * @param index
+	 *            Index from the oldest kept sound, below size().
+	 * @return Sound played.
+	 */
+	public SoundId getSound(final int index) {
+		return this.sounds[slot(index)];
+	}
+
+	/**
+	 * Getter for the tick a kept sound was played at.
+	 *
+	 * @param index
+	 *            Index from the oldest kept sound, below size().
+	 * @return Tick of the game, NO_TICK outside of a ticked game.
+	 */
+	public long getTick(final int index) {
+		return this.ticks[slot(index)];
+	}
+
+	/**
+	 * Counts the kept sounds of one kind.
+	 *
+	 * @param id
+	 *            Sound to count.
+	 * @return Times the sound was played among the kept ones.
+	 */
+	public int count(final SoundId id) {
+		int count = 0;
+		for (int i = 0; i < size(); i++)
+			if (getSound(i) == id)
+				count++;
+		return count;
+	}
+
+	/**
+	 * Forgets every recorded sound.
+	 */
+	public void clear() {
+		this.recorded = 0;
+	}
+
+	/**
+	 * Finds the slot of a kept sound.
+	 *
+	 * @param index
+	 *            Index from the oldest kept sound.
+	 * @return Slot in the ring buffer.
+	 */
+	private int slot(final int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("No sound " + index);
+		return (int) ((this.recorded - size() + index) % this.sounds.length);
+	}
+}
@@ -1,16 +1,15 @@
 package engine;
 
 public class Coin {
-    public static int balance;
+    public static int getBalance(GameContext context) {
+        return context.getCoins();
+    }
 
-    public static int spend(int amount) {
-        if (balance < amount)
-            return -1;
-        balance -= amount;
-        return balance;
+    public static int spend(GameContext context, int amount) {
+        return context.spendCoins(amount);
     }
 
-    public static int earn(int amount){
-        return (balance+=amount);
+    public static int earn(GameContext context, int amount){
+        return context.earnCoins(amount);
     }
 }
@@ -16,6 +16,12 @@ public class Cooldown {
 	private int duration;
 	/** Beginning time. */
 	private long time;
+	/** If the cooldown was ever reset, finished until then. */
+	private boolean started;
+	/** Clock the cooldown is measured against. */
+	private final GameClock clock;
+	/** Random numbers varying the duration, null without variance. */
+	private final GameRandom random;
 
 	/**
 	 * Constructor, established the time until the action can be performed
@@ -23,8 +29,12 @@ public class Cooldown {
 	 * 
 	 * @param milliseconds
 	 *            Time until cooldown period is finished.
+	 * @param clock
+	 *            Clock to measure the time against.
 	 */
-	protected Cooldown(final int milliseconds) {
+	protected Cooldown(final int milliseconds, final GameClock clock) {
+		this.clock = clock;
+		this.random = null;
 		this.milliseconds = milliseconds;
 		this.variance = 0;
 		this.duration = milliseconds;
@@ -39,8 +49,15 @@ public class Cooldown {
 	 *            Time until cooldown period is finished.
 	 * @param variance
 	 *            Variance in the cooldown period.
+	 * @param clock
+	 *            Clock to measure the time against.
+	 * @param random
+	 *            Random numbers varying the duration.
 	 */
-	protected Cooldown(final int milliseconds, final int variance) {
+	protected Cooldown(final int milliseconds, final int variance,
+			final GameClock clock, final GameRandom random) {
+		this.clock = clock;
+		this.random = random;
 		this.milliseconds = milliseconds;
 		this.variance = variance;
 		this.time = 0;
@@ -52,8 +69,8 @@ public class Cooldown {
 	 * @return Cooldown state.
 	 */
 	public final boolean checkFinished() {
-		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+		if (!this.started
+				|| this.time + this.duration < this.clock.millis())
 			return true;
 		return false;
 	}
@@ -62,10 +79,11 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = this.clock.millis();
+		this.started = true;
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
-					+ (int) (Math.random()
+					+ (int) (this.random.nextDouble()
 							* (this.milliseconds + this.variance));
 	}
 }
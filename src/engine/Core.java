@@ -13,8 +13,6 @@ import java.util.Scanner;
 import entity.Ship;
 import screen.*;
 
-import javax.sound.sampled.Clip;
-
 import engine.Inventory.InventoryEntry;
 
 /**
@@ -25,14 +23,6 @@ import engine.Inventory.InventoryEntry;
  */
 public final class Core {
 
-	/**
-	 * difficulty of game
-	 */
-	public static int diff;
-
-	/** Bgm player */
-	private static Clip clip;
-
 	/**
 	 * Width of current screen.
 	 */
@@ -128,11 +118,36 @@ public final class Core {
 	 * Difficulty settings list.
 	 */
 	private static List<GameSettings> gameSettings;
+	/**
+	 * If the game screen is drawn on its own thread, overlapping with the
+	 * simulation of the next frame. Off unless -Dgame.pipelined=true, as a
+	 * pipelined frame is drawn once per tick, without interpolation.
+	 */
+	private static boolean pipelinedRendering;
+	/**
+	 * Wall clock running at the game speed, for gameplay screens without a
+	 * tick clock of their own. Menus stay on the plain wall clock.
+	 */
+	private static final ScaledClock SCALED_WALL_CLOCK =
+			new ScaledClock(GameClock.WALL);
+	/**
+	 * Value of -Dgame.audio playing without any sound device, every sound
+	 * dropped. Any other value plays through the audio engine.
+	 */
+	private static final String AUDIO_NONE = "none";
+	/**
+	 * Game speed relative to real time, set with -Dgame.speed.
+	 */
+	private static volatile double timeScale = 1;
 	/**
 	 * Application logger.
 	 */
 	private static final Logger LOGGER = Logger.getLogger(Core.class
 			.getSimpleName());
+	/**
+	 * Game of the application, played in the window.
+	 */
+	private static final GameContext MAIN_CONTEXT = new GameContext(LOGGER);
 	/**
 	 * Logger handler for printing to disk.
 	 */
@@ -186,6 +201,16 @@ public final class Core {
 			e.printStackTrace();
 		}
 
+		setTimeScale(Double.parseDouble(System.getProperty("game.speed", "1")));
+		setPipelinedRendering(Boolean.getBoolean("game.pipelined"));
+
+		if (AUDIO_NONE.equals(System.getProperty("game.audio"))) {
+			MAIN_CONTEXT.setAudio(AudioBackend.NONE);
+			LOGGER.info("Audio disabled, sounds are dropped.");
+		} else {
+			getAudioEngine().start();
+		}
+
 		frame = new Frame(WIDTH, HEIGHT);
 		DrawManager.getInstance().setFrame(frame);
 		int width = frame.getWidth();
@@ -194,48 +219,33 @@ public final class Core {
 		/** Test only !!
 		 * You can add item max 15
 		 * If you have fewer than 15 items to add, refer to DrawManager's drawshop method */
-		Inventory.inventory_ship=new ArrayList<Item>();
-		Inventory.inventory_bgm=new ArrayList<Item>();
-		Inventory.inventory_ship.add(Test1);
-		Inventory.inventory_bgm.add(Test4);
-		Inventory.inventory_ship.get(0).appliedp = true;
-		Item.itemregistry_ship = new ArrayList<Item>();
-		Item.itemregistry_bgm = new ArrayList<Item>();
-		Item.itemregistry_ship.add(Test1);
-		Item.itemregistry_ship.add(Test2);
-		Item.itemregistry_ship.add(Test3);
-		Item.itemregistry_bgm.add(Test4);
-		Item.itemregistry_bgm.add(Test5);
-		Item.itemregistry_bgm.add(Test6);
-
-		gameSettings = new ArrayList<GameSettings>();
-		gameSettings.add(SETTINGS_LEVEL_1_E);
-		gameSettings.add(SETTINGS_LEVEL_2_E);
-		gameSettings.add(SETTINGS_LEVEL_3_E);
-		gameSettings.add(SETTINGS_LEVEL_4_E);
-		gameSettings.add(SETTINGS_LEVEL_5_E);
-		gameSettings.add(SETTINGS_LEVEL_1_N);
-		gameSettings.add(SETTINGS_LEVEL_2_N);
-		gameSettings.add(SETTINGS_LEVEL_3_N);
-		gameSettings.add(SETTINGS_LEVEL_4_N);
-		gameSettings.add(SETTINGS_LEVEL_5_N);
-		gameSettings.add(SETTINGS_LEVEL_1_H);
-		gameSettings.add(SETTINGS_LEVEL_2_H);
-		gameSettings.add(SETTINGS_LEVEL_3_H);
-		gameSettings.add(SETTINGS_LEVEL_4_H);
-		gameSettings.add(SETTINGS_LEVEL_5_H);
+		GameContext context = MAIN_CONTEXT;
+		context.getShipInventory().add(Test1);
+		context.getBgmInventory().add(Test4);
+		context.getShipInventory().get(0).appliedp = true;
+		context.getShipRegistry().add(Test1);
+		context.getShipRegistry().add(Test2);
+		context.getShipRegistry().add(Test3);
+		context.getBgmRegistry().add(Test4);
+		context.getBgmRegistry().add(Test5);
+		context.getBgmRegistry().add(Test6);
+
+		gameSettings = new ArrayList<GameSettings>(getDefaultSettings());
 
 		GameState gameState;
 		GameState shipState;
 
 		int returnCode = 1;
 		do {
-			gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0, Coin.balance);
-			shipState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0,Coin.balance);
+			long newSeed = Long.getLong("game.seed", System.nanoTime());
+			gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0,
+					context.getCoins(), newSeed);
+			shipState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0,
+					context.getCoins(), newSeed);
 			switch (returnCode) {
 				case 1:
 					// Main menu.
-					currentScreen = new TitleScreen(width, height, FPS);
+					currentScreen = new TitleScreen(context, width, height, FPS);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " title screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -244,17 +254,19 @@ public final class Core {
 				case 2:
 					// Game & score
 					//Scanner sc = new Scanner(System.in);
-					diff = 3;
+					context.setDifficulty(3);
+					context.setSeed(gameState.getSeed());
+					LOGGER.info("Starting game with seed " + gameState.getSeed());
 					do {
-						new Sound().backroundmusic();
+						getBgmManager().playTrack(context.getAppliedBgm());
 						// One extra live every few levels.
 						boolean bonusLife = gameState.getLevel()
 								% EXTRA_LIFE_FRECUENCY == 0
 								&& (gameState.getLivesRemainingL() < MAX_LIVES
 								&& gameState.getLivesRemainingR() < MAX_LIVES);
 
-						currentScreen = new GameScreen(gameState,
-								gameSettings.get((diff - 1) * 5),
+						currentScreen = new GameScreen(context, gameState,
+								gameSettings.get((context.getDifficulty() - 1) * 5),
 								bonusLife, width, height, FPS);
 						LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 								+ " game screen at " + FPS + " fps.");
@@ -269,10 +281,12 @@ public final class Core {
 								gameState.getLivesRemainingR(),
 								gameState.getBulletsShot(),
 								gameState.getShipsDestroyed(),
-								gameState.getCoin());
+								gameState.getCoin(),
+								gameState.getSeed());
 
-					} while ((gameState.getLivesRemainingR() > 0 && gameState.getLivesRemainingL() > 0)
+					} while (!gameState.isGameOver()
 							&& gameState.getLevel()%NUM_LEVELS != 0);
+					getBgmManager().stop();
 
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " score screen at " + FPS + " fps, with a score of "
@@ -281,13 +295,13 @@ public final class Core {
 							+ gameState.getLivesRemainingR() + " Right lives remaining, "
 							+ gameState.getBulletsShot() + " bullets shot and "
 							+ gameState.getShipsDestroyed() + " ships destroyed.");
-					currentScreen = new ScoreScreen(width, height, FPS, gameState);
+					currentScreen = new ScoreScreen(context, width, height, FPS, gameState);
 					returnCode = frame.setScreen(currentScreen);
 					LOGGER.info("Closing score screen.");
 					break;
 				case 3:
 					// High scores.
-					currentScreen = new HighScoreScreen(width, height, FPS);
+					currentScreen = new HighScoreScreen(context, width, height, FPS);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " high score screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -295,7 +309,7 @@ public final class Core {
 					break;
 				case 4:
 					//Setting.
-					currentScreen = new SettingScreen(width, height, FPS);
+					currentScreen = new SettingScreen(context, width, height, FPS);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " setting screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -303,7 +317,7 @@ public final class Core {
 					break;
 				case 5:
 					//Store.
-					currentScreen = new ShopScreen(width, height, FPS, 1);
+					currentScreen = new ShopScreen(context, width, height, FPS, 1);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " store screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -312,7 +326,7 @@ public final class Core {
 
 				case 400050:
 					//HUDSettingScreen.
-					currentScreen = new HUDSettingScreen(width, height, FPS);
+					currentScreen = new HUDSettingScreen(context, width, height, FPS);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " HUDSetting screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -328,7 +342,7 @@ public final class Core {
 					DrawManager.getInstance().setFrame(frame);
 					width = frame.getWidth();
 					height = frame.getHeight();
-					currentScreen = new TitleScreen(width, height, FPS);
+					currentScreen = new TitleScreen(context, width, height, FPS);
 					old_frame.dispose();
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " title screen at " + FPS + " fps.");
@@ -338,7 +352,7 @@ public final class Core {
 
 				case 400060:
 					//HelpScreen.
-					currentScreen = new HelpScreen(width, height, FPS);
+					currentScreen = new HelpScreen(context, width, height, FPS);
 					LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
 							+ " Help screen at " + FPS + " fps.");
 					returnCode = frame.setScreen(currentScreen);
@@ -351,6 +365,10 @@ public final class Core {
 
 		} while (returnCode != 0);
 
+		LOGGER.info("High scores were read from disk "
+				+ getHighScoreRepository().getDiskReads()
+				+ " times this session.");
+
 		fileHandler.flush();
 		fileHandler.close();
 		System.exit(0);
@@ -374,6 +392,18 @@ public final class Core {
 		return LOGGER;
 	}
 
+	/**
+	 * Returns the rate at which frames are rendered, the display refresh
+	 * rate when it is known and faster than the game.
+	 *
+	 * @return Frames rendered per second.
+	 */
+	public static int getRenderRate() {
+		if (frame == null)
+			return FPS;
+		return Math.max(FPS, frame.getRefreshRate());
+	}
+
 	/**
 	 * Controls access to the drawing manager.
 	 *
@@ -402,28 +432,44 @@ public final class Core {
 	}
 
 	/**
-	 * Controls creation of new cooldowns.
-	 * 
-	 * @param milliseconds
-	 *            Duration of the cooldown.
-	 * @return A new cooldown.
+	 * Controls access to the sound effects.
+	 *
+	 * @return Application audio engine.
+	 */
+	public static AudioEngine getAudioEngine() {
+		return AudioEngine.getInstance();
+	}
+
+	/**
+	 * Controls access to the background music.
+	 *
+	 * @return Application background music player.
 	 */
-	public static Cooldown getCooldown(final int milliseconds) {
-		return new Cooldown(milliseconds);
+	public static BgmManager getBgmManager() {
+		return getAudioEngine().getMusic();
 	}
 
 	/**
-	 * Controls creation of new cooldowns with variance.
-	 * 
-	 * @param milliseconds
-	 *            Duration of the cooldown.
-	 * @param variance
-	 *            Variation in the cooldown duration.
-	 * @return A new cooldown with variance.
+	 * Controls access to the high score repository.
+	 *
+	 * @return Application high score repository.
 	 */
-	public static Cooldown getVariableCooldown(final int milliseconds,
-											   final int variance) {
-		return new Cooldown(milliseconds, variance);
+	public static HighScoreRepository getHighScoreRepository() {
+		return HighScoreRepository.getInstance();
+	}
+
+	/**
+	 * Getter for the difficulty settings of every level.
+	 *
+	 * @return Five levels of easy, then normal, then hard settings.
+	 */
+	public static List<GameSettings> getDefaultSettings() {
+		return List.of(SETTINGS_LEVEL_1_E, SETTINGS_LEVEL_2_E,
+				SETTINGS_LEVEL_3_E, SETTINGS_LEVEL_4_E, SETTINGS_LEVEL_5_E,
+				SETTINGS_LEVEL_1_N, SETTINGS_LEVEL_2_N, SETTINGS_LEVEL_3_N,
+				SETTINGS_LEVEL_4_N, SETTINGS_LEVEL_5_N, SETTINGS_LEVEL_1_H,
+				SETTINGS_LEVEL_2_H, SETTINGS_LEVEL_3_H, SETTINGS_LEVEL_4_H,
+				SETTINGS_LEVEL_5_H);
 	}
 
 	public static void setSize(int width, int height) {
@@ -431,9 +477,68 @@ public final class Core {
 		HEIGHT = height;
 	}
 
-	public static int getDiff(){
-		return diff;
+	public static int getWIDTH(){return WIDTH;}
+
+	public static int getHEIGHT(){return HEIGHT;}
+
+	/**
+	 * Checks if the game screen is drawn on a dedicated render thread.
+	 *
+	 * @return True when rendering is pipelined.
+	 */
+	public static boolean isPipelinedRendering() {
+		return pipelinedRendering;
 	}
 
-	public static int getWIDTH(){return WIDTH;}
-}
\ No newline at end of file
+	/**
+	 * Switches drawing the game screen on a dedicated render thread, takes
+	 * effect from the next game screen.
+	 *
+	 * @param pipelined
+	 *            True to draw on a render thread.
+	 */
+	public static void setPipelinedRendering(final boolean pipelined) {
+		pipelinedRendering = pipelined;
+	}
+
+	/**
+	 * Getter for the wall clock running at the game speed, for gameplay
+	 * screens without a tick clock of their own.
+	 *
+	 * @return Scaled wall clock.
+	 */
+	public static GameClock getScaledClock() {
+		return SCALED_WALL_CLOCK;
+	}
+
+	/**
+	 * Getter for the game of the application, played in the window. Screens
+	 * and entities use the game they were created in instead.
+	 *
+	 * @return Game context of the application.
+	 */
+	public static GameContext getContext() {
+		return MAIN_CONTEXT;
+	}
+
+	/**
+	 * Changes the game speed, slowing down or fast-forwarding the gameplay
+	 * screens and their cooldowns. Menus keep running in real time.
+	 *
+	 * @param scale
+	 *            Speed relative to real time, clamped between 0.25 and 16.
+	 */
+	public static void setTimeScale(final double scale) {
+		timeScale = ScaledClock.clamp(scale);
+		SCALED_WALL_CLOCK.setScale(timeScale);
+	}
+
+	/**
+	 * Getter for the game speed.
+	 *
+	 * @return Speed relative to real time.
+	 */
+	public static double getTimeScale() {
+		return timeScale;
+	}
+}
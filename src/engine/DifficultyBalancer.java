@@ -0,0 +1,358 @@
+package engine;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch tool measuring the difficulty settings of every level with
+ * thousands of simulated games played by a bot, fanned out over every core
+ * with a fork/join pool. It reports the clear rate, average lives lost and
+ * time to clear of each level, can search the shooting frequency hitting a
+ * target clear rate, and reports its throughput against the core count.
+ *
+ * Usage: DifficultyBalancer [games per setting] [tune]
+ */
+public final class DifficultyBalancer {
+
+	/** Names of the difficulties, in the order of the settings table. */
+	private static final String[] DIFFICULTIES = { "easy", "normal", "hard" };
+	/** Levels of each difficulty. */
+	private static final int LEVELS = 5;
+	/** Target clear rate of every level, by difficulty then level. */
+	private static final double[][] TARGET_CLEAR_RATES = {
+			{ 0.95, 0.90, 0.85, 0.80, 0.75 },
+			{ 0.75, 0.65, 0.55, 0.45, 0.40 },
+			{ 0.45, 0.35, 0.25, 0.20, 0.15 } };
+	/** Default games simulated per setting. */
+	private static final int DEFAULT_GAMES = 500;
+	/** Games simulated per task before it stops splitting. */
+	private static final int GAMES_PER_TASK = 8;
+	/** Ticks making up a second of game time. */
+	private static final int TICKS_PER_SECOND = 60;
+	/** Lives of both players at the start of a level. */
+	private static final int START_LIVES = 6;
+	/** Shortest time between enemy shots tried by the search. */
+	private static final int MIN_SHOOTING_FRECUENCY = 100;
+	/** Longest time between enemy shots tried by the search. */
+	private static final int MAX_SHOOTING_FRECUENCY = 4000;
+	/** Candidates tried by the search. */
+	private static final int SEARCH_STEPS = 8;
+	/** Games simulated per core in the throughput report. */
+	private static final int THROUGHPUT_GAMES_PER_CORE = 40;
+
+	/** Results of many simulated games of one level. */
+	public static final class LevelStats {
+		/** Games simulated. */
+		private int games;
+		/** Games where the level was cleared. */
+		private int cleared;
+		/** Games given up at the tick limit. */
+		private int timedOut;
+		/** Lives lost over every game. */
+		private long livesLost;
+		/** Ticks taken by every cleared game. */
+		private long clearTicks;
+
+		/**
+		 * Adds the result of one game. The level only counts as cleared if
+		 * the game goes on after it, with lives left to both players.
+		 *
+		 * @param state
+		 *            State of the game once the level was over.
+		 * @param ticks
+		 *            Ticks the level lasted.
+		 * @param timedOut
+		 *            If the level was given up at the tick limit.
+		 */
+		void add(final GameState state, final int ticks,
+				final boolean timedOut) {
+			int lives = state.getLivesRemainingL()
+					+ state.getLivesRemainingR();
+			this.games++;
+			this.livesLost += START_LIVES - lives;
+			if (timedOut) {
+				this.timedOut++;
+			} else if (!state.isGameOver()) {
+				this.cleared++;
+				this.clearTicks += ticks;
+			}
+		}
+
+		/**
+		 * Adds the results of other games.
+		 *
+		 * @param other
+		 *            Results to add.
+		 * @return These results.
+		 */
+		private LevelStats merge(final LevelStats other) {
+			this.games += other.games;
+			this.cleared += other.cleared;
+			this.timedOut += other.timedOut;
+			this.livesLost += other.livesLost;
+			this.clearTicks += other.clearTicks;
+			return this;
+		}
+
+		/**
+		 * Getter for the number of games simulated.
+		 *
+		 * @return Games simulated.
+		 */
+		public int getGames() {
+			return this.games;
+		}
+
+		/**
+		 * Getter for the share of games where the level was cleared.
+		 *
+		 * @return Clear rate between 0 and 1.
+		 */
+		public double getClearRate() {
+			return this.games == 0 ? 0 : (double) this.cleared / this.games;
+		}
+
+		/**
+		 * Getter for the lives both players lost in an average game.
+		 *
+		 * @return Average lives lost.
+		 */
+		public double getAverageLivesLost() {
+			return this.games == 0 ? 0 : (double) this.livesLost / this.games;
+		}
+
+		/**
+		 * Getter for the game time taken by an average cleared level.
+		 *
+		 * @return Average time to clear, in seconds.
+		 */
+		public double getAverageClearSeconds() {
+			return this.cleared == 0 ? 0
+					: (double) this.clearTicks / this.cleared
+							/ TICKS_PER_SECOND;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%5.1f%% cleared, %4.2f lives lost,"
+					+ " %5.1f s to clear, %d timed out",
+					getClearRate() * 100, getAverageLivesLost(),
+					getAverageClearSeconds(), this.timedOut);
+		}
+	}
+
+	/**
+	 * Simulates a range of games, splitting it between workers until the
+	 * ranges are small.
+	 */
+	private static final class Batch extends RecursiveTask<LevelStats> {
+
+		private static final long serialVersionUID = 1L;
+
+		/** Settings of the level. */
+		private final GameSettings settings;
+		/** Number of the level. */
+		private final int level;
+		/** First game of the range, also its seed. */
+		private final int from;
+		/** Game after the last one of the range. */
+		private final int to;
+
+		/**
+		 * Constructor, establishes the games to simulate.
+		 *
+		 * @param settings
+		 *            Settings of the level.
+		 * @param level
+		 *            Number of the level.
+		 * @param from
+		 *            First game of the range.
+		 * @param to
+		 *            Game after the last one of the range.
+		 */
+		Batch(final GameSettings settings, final int level, final int from,
+				final int to) {
+			this.settings = settings;
+			this.level = level;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected LevelStats compute() {
+			if (this.to - this.from > GAMES_PER_TASK) {
+				int middle = (this.from + this.to) >>> 1;
+				Batch first = new Batch(this.settings, this.level, this.from,
+						middle);
+				first.fork();
+				LevelStats second = new Batch(this.settings, this.level,
+						middle, this.to).compute();
+				return first.join().merge(second);
+			}
+			LevelStats stats = new LevelStats();
+			for (int game = this.from; game < this.to; game++) {
+				// Every candidate plays the same seeds, so their results
+				// differ by the settings and not by luck.
+				GameSimulation simulation = new GameSimulation(this.settings,
+						game, new BotInput(~game));
+				GameState state = simulation.run(this.level);
+				stats.add(state, simulation.getTicks(),
+						simulation.isTimedOut());
+			}
+			return stats;
+		}
+	}
+
+	/** Pool running the games. */
+	private final ForkJoinPool pool;
+	/** Games simulated per setting. */
+	private final int games;
+
+	/**
+	 * Constructor, establishes how games are run.
+	 *
+	 * @param pool
+	 *            Pool running the games.
+	 * @param games
+	 *            Games simulated per setting.
+	 */
+	public DifficultyBalancer(final ForkJoinPool pool, final int games) {
+		this.pool = pool;
+		this.games = games;
+	}
+
+	/**
+	 * Simulates many games of a level. Not to be called from more than one
+	 * thread at a time.
+	 *
+	 * @param settings
+	 *            Settings of the level.
+	 * @param level
+	 *            Number of the level.
+	 * @return Results of the games.
+	 */
+	public LevelStats evaluate(final GameSettings settings, final int level) {
+		// Shared singletons are created before the workers race for them.
+		Core.getDrawManager();
+		Core.getInputManager();
+		return this.pool.invoke(new Batch(settings, level, 0, this.games));
+	}
+
+	/**
+	 * Searches the enemy shooting frequency giving a level a target clear
+	 * rate, keeping the rest of its settings. Longer times between shots
+	 * make a level easier, so the search halves the range on every step.
+	 *
+	 * @param settings
+	 *            Current settings of the level.
+	 * @param level
+	 *            Number of the level.
+	 * @param targetClearRate
+	 *            Share of games that should clear the level.
+	 * @return Settings with the closest clear rate found.
+	 */
+	public GameSettings tune(final GameSettings settings, final int level,
+			final double targetClearRate) {
+		int low = MIN_SHOOTING_FRECUENCY;
+		int high = MAX_SHOOTING_FRECUENCY;
+		GameSettings best = settings;
+		double bestError = Math.abs(evaluate(settings, level).getClearRate()
+				- targetClearRate);
+		for (int step = 0; step < SEARCH_STEPS && low < high; step++) {
+			int middle = (low + high) >>> 1;
+			GameSettings candidate = new GameSettings(
+					settings.getFormationWidth(),
+					settings.getFormationHeight(), settings.getBaseSpeed(),
+					middle);
+			double clearRate = evaluate(candidate, level).getClearRate();
+			if (Math.abs(clearRate - targetClearRate) < bestError) {
+				bestError = Math.abs(clearRate - targetClearRate);
+				best = candidate;
+			}
+			if (clearRate < targetClearRate)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return best;
+	}
+
+	/**
+	 * Reports the settings table, optionally tuning it, then the
+	 * throughput against the core count.
+	 *
+	 * @param args
+	 *            Games per setting, then "tune" to search new settings.
+	 */
+	public static void main(final String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0])
+				: DEFAULT_GAMES;
+		boolean tune = args.length > 1 && args[1].equals("tune");
+		DifficultyBalancer balancer = new DifficultyBalancer(
+				ForkJoinPool.commonPool(), games);
+
+		List<GameSettings> table = Core.getDefaultSettings();
+		for (int i = 0; i < table.size(); i++) {
+			GameSettings settings = table.get(i);
+			int level = i % LEVELS + 1;
+			double target = TARGET_CLEAR_RATES[i / LEVELS][i % LEVELS];
+			System.out.printf("%-6s level %d %s: %s, target %.0f%%%n",
+					DIFFICULTIES[i / LEVELS], level, describe(settings),
+					balancer.evaluate(settings, level), target * 100);
+			if (tune) {
+				GameSettings tuned = balancer.tune(settings, level, target);
+				System.out.printf("%15s tuned %s: %s%n", "",
+						describe(tuned), balancer.evaluate(tuned, level));
+			}
+		}
+
+		reportThroughput(table.get(LEVELS));
+	}
+
+	/**
+	 * Prints the games simulated per second with a growing number of
+	 * cores, on the same total of games per core.
+	 *
+	 * @param settings
+	 *            Settings of the measured level.
+	 */
+	private static void reportThroughput(final GameSettings settings) {
+		int cores = Runtime.getRuntime().availableProcessors();
+		double single = 0;
+		int parallelism = 1;
+		while (true) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				int games = THROUGHPUT_GAMES_PER_CORE * parallelism;
+				DifficultyBalancer balancer = new DifficultyBalancer(pool,
+						games);
+				long start = System.nanoTime();
+				balancer.evaluate(settings, 1);
+				double perSecond = games / ((System.nanoTime() - start) / 1e9);
+				if (parallelism == 1)
+					single = perSecond;
+				System.out.printf("%2d cores: %8.1f games/s, %4.1fx%n",
+						parallelism, perSecond, perSecond / single);
+			} finally {
+				pool.shutdown();
+			}
+			if (parallelism == cores)
+				return;
+			parallelism = Math.min(parallelism * 2, cores);
+		}
+	}
+
+	/**
+	 * Describes the settings of a level.
+	 *
+	 * @param settings
+	 *            Settings to describe.
+	 * @return Formation size, base speed and shooting frequency.
+	 */
+	private static String describe(final GameSettings settings) {
+		return String.format("(%2d x %d, speed %2d, shots %4d ms)",
+				settings.getFormationWidth(), settings.getFormationHeight(),
+				settings.getBaseSpeed(), settings.getShootingFrecuency());
+	}
+}
@@ -2,6 +2,7 @@ package engine;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.image.ImageObserver;
 import java.io.File;
 import java.io.IOException;
@@ -13,7 +14,6 @@ import java.util.ArrayList;
 
 import screen.*;
 import screen.Screen;
-import screen.GameScreen;
 import screen.ShopScreen.shopstates;
 
 import entity.Entity;
@@ -22,10 +22,15 @@ import entity.Ship;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 
-import static screen.ShopScreen.selecteditem;
-
 /**
  * Manages screen drawing.
+ *
+ * The back buffer, the HUD layer, the sprite and glyph caches and the life
+ * icons aren't synchronized: they belong to the one thread drawing. During a
+ * pipelined game that is the render thread alone, which is handed them by
+ * FramePipeline.start and gives them back by FramePipeline.stop, and it
+ * only reads the frame snapshots. Every other time the screen thread draws.
+ * Ship skins are only applied outside of a game.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -37,9 +42,9 @@ public final class DrawManager {
 	 */
 	private static DrawManager instance;
 	/**
-	 * Current frame.
+	 * Where finished frames are shown.
 	 */
-	private static Frame frame;
+	private static RenderTarget renderTarget;
 	/**
 	 * FileManager instance.
 	 */
@@ -48,18 +53,18 @@ public final class DrawManager {
 	 * Application logger.
 	 */
 	private static Logger logger;
-	/**
-	 * Graphics context.
-	 */
-	private static Graphics graphics;
 	/**
 	 * Buffer Graphics.
 	 */
 	private static Graphics backBufferGraphics;
 	/**
-	 * Buffer image.
+	 * Buffer image, kept between frames and cleared on each one.
 	 */
 	private static BufferedImage backBuffer;
+	/**
+	 * Font of a new buffer graphics context, restored on every frame.
+	 */
+	private static Font defaultFont;
 	/**
 	 * Normal sized font.
 	 */
@@ -80,6 +85,13 @@ public final class DrawManager {
 	private static FontMetrics fontBigMetrics;
 
 	private static Font fontSmall;
+	/**
+	 * Pre-rendered glyphs of every font.
+	 */
+	private static GlyphAtlas glyphsRegular;
+	private static GlyphAtlas glyphsRegular2;
+	private static GlyphAtlas glyphsBig;
+	private static GlyphAtlas glyphsSmall;
 
 	/**
 	 * Item icon and Image observer
@@ -99,8 +111,40 @@ public final class DrawManager {
 	 * Sprite types mapped to their images.
 	 */
 	private static Map<SpriteType, boolean[][]> spriteMap;
+	/**
+	 * Sprites pre-rasterized per color.
+	 */
+	private static SpriteAtlas spriteAtlas;
+	/**
+	 * Sprites as runs of pixels, for the software backend.
+	 */
+	private static SoftwareBlitter softwareBlitter;
+	/**
+	 * Backend sprites are drawn with.
+	 */
+	private static RenderBackend renderBackend = RenderBackend.JAVA2D;
+	/**
+	 * Pixels of the back buffer, only taken for the software backend.
+	 */
+	private static int[] backBufferPixels;
+	/**
+	 * Life icons of the applied ship skin.
+	 */
+	private static LifeIconRegistry lifeIcons;
+	/**
+	 * Cached top bar of the game screen.
+	 */
+	private static HudLayer hudLayer;
 	public static Map<String, BufferedImage> imagemap;
 
+	/**
+	 * Colors entities are known to use, rasterized when sprites are loaded.
+	 */
+	private static final Color[] PRELOADED_COLORS = {Color.WHITE, Color.RED,
+			Color.GREEN, Color.BLUE, Color.GRAY, Color.BLACK, Color.MAGENTA,
+			Color.ORANGE, Color.YELLOW, new Color(0, 0, 128),
+			new Color(139, 0, 255)};
+
 	/**
 	 * Sprite types.
 	 */
@@ -167,6 +211,16 @@ public final class DrawManager {
 		ShipLive;
 	};
 
+	/**
+	 * Ways of drawing sprites on the back buffer.
+	 */
+	public static enum RenderBackend {
+		/** Blits pre-rasterized sprite images through Java2D. */
+		JAVA2D,
+		/** Writes sprite runs straight into the back buffer pixels. */
+		SOFTWARE;
+	};
+
 	/**
 	 * Private constructor.
 	 */
@@ -176,29 +230,15 @@ public final class DrawManager {
 		logger.info("Started loading resources.");
 
 		try {
-			spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
-			spriteMap.put(SpriteType.Ship, new boolean[13][8]);
-			spriteMap.put(SpriteType.ShipDestroyed, new boolean[13][8]);
-			spriteMap.put(SpriteType.Bullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyBullet, new boolean[3][5]);
-			spriteMap.put(SpriteType.EnemyBulletN, new boolean[5][5]);
-			spriteMap.put(SpriteType.EnemyBulletH, new boolean[7][5]);
-			spriteMap.put(SpriteType.EnemyShipA1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipA2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipB2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC1, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipC2, new boolean[12][8]);
-			spriteMap.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
-			spriteMap.put(SpriteType.Explosion, new boolean[13][7]);
-			spriteMap.put(SpriteType.Explosion2, new boolean[13][7]);
-			spriteMap.put(SpriteType.Explosion3, new boolean[13][7]);
-			spriteMap.put(SpriteType.Explosion4, new boolean[13][9]);
-			spriteMap.put(SpriteType.Item, new boolean[9][8]);
-			spriteMap.put(SpriteType.ShipLive, new boolean[13][8]);
-			fileManager.loadSprite(spriteMap);
+			spriteMap = fileManager.loadSprites();
 			logger.info("Finished loading the sprites.");
 
+			spriteAtlas = new SpriteAtlas(spriteMap);
+			spriteAtlas.preload(PRELOADED_COLORS);
+			lifeIcons = new LifeIconRegistry(spriteAtlas);
+			softwareBlitter = new SoftwareBlitter(spriteMap);
+			logger.info("Finished building the sprite atlas.");
+
 			// Font loading.
 			fontRegular = fileManager.loadFont(14f);
 			fontRegular2 = fileManager.loadFont(17f);
@@ -206,6 +246,24 @@ public final class DrawManager {
 			fontSmall = fileManager.loadFont(12f);
 			logger.info("Finished loading the fonts.");
 
+			// Metrics don't change between frames, so they are queried once
+			// from a context like the back buffer's.
+			Graphics metricsGraphics = new BufferedImage(1, 1,
+					BufferedImage.TYPE_INT_RGB).getGraphics();
+			glyphsRegular = new GlyphAtlas(fontRegular,
+					metricsGraphics.getFontMetrics(fontRegular));
+			glyphsRegular2 = new GlyphAtlas(fontRegular2,
+					metricsGraphics.getFontMetrics(fontRegular2));
+			glyphsBig = new GlyphAtlas(fontBig,
+					metricsGraphics.getFontMetrics(fontBig));
+			glyphsSmall = new GlyphAtlas(fontSmall,
+					metricsGraphics.getFontMetrics(fontSmall));
+			metricsGraphics.dispose();
+			fontRegularMetrics = glyphsRegular.getMetrics();
+			fontRegular2Metrics = glyphsRegular2.getMetrics();
+			fontBigMetrics = glyphsBig.getMetrics();
+			logger.info("Finished building the glyph atlases.");
+
 			// Images Loading
 			imagemap = new LinkedHashMap<String, BufferedImage>();
 			imagemap.put("macarona", fileManager.loadImage("macarona.png"));
@@ -247,25 +305,59 @@ public final class DrawManager {
 	 * @param currentFrame Frame to draw on.
 	 */
 	public void setFrame(final Frame currentFrame) {
-		frame = currentFrame;
+		renderTarget = currentFrame;
 	}
 
 	/**
-	 * First part of the drawing process. Initialices buffers, draws the
-	 * background and prepares the images.
+	 * Sets where finished frames are shown, for example an off-screen
+	 * target when there is no display.
+	 *
+	 * @param target Target to present frames on.
+	 */
+	public void setRenderTarget(final RenderTarget target) {
+		renderTarget = target;
+	}
+
+	/**
+	 * First part of the drawing process. Prepares the back buffer, only
+	 * allocating it again when the screen size changes, and draws the
+	 * background.
 	 *
 	 * @param screen Screen to draw in.
 	 */
 	Color[] bg_colors = {Color.LIGHT_GRAY, Color.GRAY, Color.DARK_GRAY};
 	public void initDrawing(final Screen screen) {
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
-
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		initDrawing(screen, screen.getContext().getLives());
+	}
 
-		if(GameScreen.lives > 0 && GameScreen.lives <= 3){
-			backBufferGraphics.setColor(bg_colors[3 - GameScreen.lives]);
+	/**
+	 * First part of the drawing process, with the lives picking the
+	 * background color given.
+	 *
+	 * @param screen Screen to draw in.
+	 * @param lives  Lives picking the background color.
+	 */
+	public void initDrawing(final Screen screen, final int lives) {
+		if (backBuffer == null || backBuffer.getWidth() != screen.getWidth()
+				|| backBuffer.getHeight() != screen.getHeight()) {
+			if (backBufferGraphics != null)
+				backBufferGraphics.dispose();
+			backBuffer = new BufferedImage(screen.getWidth(),
+					screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+			backBufferGraphics = backBuffer.getGraphics();
+			defaultFont = backBufferGraphics.getFont();
+			backBufferPixels = null;
+		}
+		// Taking the pixel array stops Java2D from caching the back buffer,
+		// so it is only done when the software backend is in use.
+		if (renderBackend == RenderBackend.SOFTWARE
+				&& backBufferPixels == null)
+			backBufferPixels = ((DataBufferInt) backBuffer.getRaster()
+					.getDataBuffer()).getData();
+		backBufferGraphics.setFont(defaultFont);
+
+		if(lives > 0 && lives <= 3){
+			backBufferGraphics.setColor(bg_colors[3 - lives]);
 		}
 		else{
 			backBufferGraphics.setColor(Color.BLACK);
@@ -274,22 +366,18 @@ public final class DrawManager {
 		backBufferGraphics
 				.fillRect(0, 0, screen.getWidth(), screen.getHeight());
 
-		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-		fontRegular2Metrics = backBufferGraphics.getFontMetrics(fontRegular2);
-		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
-
 		// drawBorders(screen);
 		// drawGrid(screen);
 	}
 
 	/**
-	 * Draws the completed drawing on screen.
+	 * Draws the completed drawing on screen, presenting it on the render
+	 * target.
 	 *
 	 * @param screen Screen to draw on.
 	 */
 	public void completeDrawing(final Screen screen) {
-		graphics.drawImage(backBuffer, frame.getInsets().left,
-				frame.getInsets().top, frame);
+		renderTarget.present(backBuffer);
 	}
 
 	/**
@@ -301,13 +389,82 @@ public final class DrawManager {
 	 */
 	public void drawEntity(final Entity entity, final int positionX,
 						   final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
-		backBufferGraphics.setColor(entity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(positionX + i * 2, positionY
-							+ j * 2, 1, 1);
+		drawSprite(entity.getSpriteType(), entity.getColor(), positionX,
+				positionY);
+	}
+
+	/**
+	 * Draws a sprite on the back buffer with the selected backend.
+	 *
+	 * @param spriteType Sprite to draw.
+	 * @param color      Color of the sprite.
+	 * @param positionX  Coordinates for the left side of the image.
+	 * @param positionY  Coordinates for the upper side of the image.
+	 */
+	public void drawSprite(final SpriteType spriteType, final Color color,
+						   final int positionX, final int positionY) {
+		if (backBufferPixels != null)
+			softwareBlitter.blit(backBufferPixels, backBuffer.getWidth(),
+					backBuffer.getHeight(), spriteType, color.getRGB(),
+					positionX, positionY);
+		else
+			renderIcon(backBufferGraphics,
+					spriteAtlas.getImage(spriteType, color), positionX,
+					positionY);
+	}
+
+	/**
+	 * Selects how sprites are drawn, from the next frame on.
+	 *
+	 * @param backend Backend to draw sprites with.
+	 */
+	public void setRenderBackend(final RenderBackend backend) {
+		renderBackend = backend;
+		if (backend != RenderBackend.SOFTWARE)
+			backBufferPixels = null;
+	}
+
+	/**
+	 * Getter for the backend sprites are drawn with.
+	 *
+	 * @return Current render backend.
+	 */
+	public RenderBackend getRenderBackend() {
+		return renderBackend;
+	}
+
+	/**
+	 * Draws a whole game screen frame from a snapshot.
+	 *
+	 * @param screen   Screen to draw on.
+	 * @param snapshot Frame to draw.
+	 */
+	public void drawSnapshot(final Screen screen,
+							 final FrameSnapshot snapshot) {
+		initDrawing(screen, snapshot.getBackgroundLives());
+		for (int i = 0; i < snapshot.getEntityCount(); i++)
+			drawSprite(snapshot.getSpriteType(i), snapshot.getColor(i),
+					snapshot.getPositionX(i), snapshot.getPositionY(i));
+
+		// Interface.
+		Color color = snapshot.getScreenColor();
+		drawHud(screen, snapshot.getScore(), snapshot.getCoin(),
+				snapshot.getLivesL(), snapshot.getLivesR(),
+				snapshot.getSeparatorY(), snapshot.getMaxScore(), color);
+		drawVerticalLine(screen, snapshot.getDividerX(), color);
+
+		// Countdown to game start.
+		if (snapshot.hasCountdown()) {
+			drawCountDown(screen, snapshot.getLevel(),
+					snapshot.getCountdownNumber(), snapshot.hasBonusLife(),
+					color);
+			renderHorizontalLine(backBufferGraphics, screen.getWidth(),
+					screen.getHeight() / 2 - screen.getHeight() / 12, color);
+			renderHorizontalLine(backBufferGraphics, screen.getWidth(),
+					screen.getHeight() / 2 + screen.getHeight() / 12, color);
+		}
+
+		completeDrawing(screen);
 	}
 
 	public void drawimg(String name, int positionX, int positionY, int sizex, int sizey) {
@@ -325,7 +482,7 @@ public final class DrawManager {
 	 */
 	@SuppressWarnings("unused")
 	private void drawBorders(final Screen screen) {
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		backBufferGraphics.drawLine(0, 0, screen.getWidth() - 1, 0);
 		backBufferGraphics.drawLine(0, 0, 0, screen.getHeight() - 1);
 		backBufferGraphics.drawLine(screen.getWidth() - 1, 0,
@@ -348,6 +505,57 @@ public final class DrawManager {
 			backBufferGraphics.drawLine(j, 0, j, screen.getHeight() - 1);
 	}
 
+	/**
+	 * Draws the top bar of the game screen: score, coins, both lives rows and
+	 * the separation line. Parts whose value didn't change since the last
+	 * frame are reused from a cached layer instead of being drawn again.
+	 *
+	 * @param screen     Screen to draw on.
+	 * @param score      Current score.
+	 * @param coin       Current coins.
+	 * @param livesL     Lives of the left player.
+	 * @param livesR     Lives of the right player.
+	 * @param separatorY Y coordinate of the separation line.
+	 * @param maxScore   Highest score saved.
+	 * @param color      Color of the separation line.
+	 */
+	public void drawHud(final Screen screen, final int score, final int coin,
+						final int livesL, final int livesR,
+						final int separatorY, final int maxScore,
+						final Color color) {
+		if (hudLayer == null)
+			hudLayer = new HudLayer(this);
+		hudLayer.draw(backBufferGraphics, screen.getWidth(), separatorY,
+				score, coin, livesL, livesR, maxScore, color);
+	}
+
+	/**
+	 * Getter for the HUD regions rendered again on the last frame.
+	 *
+	 * @return Regions rendered on the last frame.
+	 */
+	public int getHudRedrawsLastFrame() {
+		return hudLayer == null ? 0 : hudLayer.getLastFrameRedraws();
+	}
+
+	/**
+	 * Getter for the HUD regions rendered again since the game started.
+	 *
+	 * @return Total regions rendered.
+	 */
+	public long getHudRedrawsTotal() {
+		return hudLayer == null ? 0 : hudLayer.getTotalRedraws();
+	}
+
+	/**
+	 * Getter for the frames the HUD has been drawn on.
+	 *
+	 * @return Frames drawn with the HUD.
+	 */
+	public long getHudFrames() {
+		return hudLayer == null ? 0 : hudLayer.getFrames();
+	}
+
 	/**
 	 * Draws current score on screen.
 	 *
@@ -355,50 +563,48 @@ public final class DrawManager {
 	 * @param score  Current score.
 	 */
 	public void drawScore(final Screen screen, final int score) {
-		/*
-    	backBufferGraphics.setFont(fontRegular);
-      	backBufferGraphics.setColor(Color.WHITE);
-      	String scoreString = String.format("%04d", score);
-      	backBufferGraphics.drawString(scoreString, screen.getWidth() - 60, 25);
-      	*/
-      	backBufferGraphics.setFont(fontRegular);
-      	backBufferGraphics.setColor(Color.WHITE);
-
-      	String scoreString = "";
-
-      	//implementation of logic
-      	fileManager = Core.getFileManager();
-      	List<Score> highScores;
-      	try {
-         	highScores = fileManager.loadHighScores();
-         	int max = -1;
-      		for(int i = 0; i < highScores.size(); i++) {
-         		if(max < highScores.get(i).getScore()) {
-            		max = highScores.get(i).getScore();
-         		}
-      		}
-
-    		if(max < score) {
-         		scoreString = "new score : ";
-         		scoreString += String.format("%04d", score);
-      		}
-      		else {
-         		scoreString = "score : ";
-        		scoreString += String.format("%04d", score);
-    		}
-    	} catch (IOException e) {
-    		e.printStackTrace();
-    	}
-      
-    	backBufferGraphics.drawString(scoreString, screen.getWidth() - 167, 25);
+		// A score beyond the best recorded one is shown as a new score.
+		renderScore(backBufferGraphics, screen.getWidth(), score,
+				Core.getHighScoreRepository().getMaxScore() < score);
+	}
+
+	/**
+	 * Renders the score text.
+	 *
+	 * @param graphics    Graphics to draw on.
+	 * @param screenWidth Screen width.
+	 * @param score       Current score.
+	 * @param newScore    If the score beats the best recorded one.
+	 */
+	void renderScore(final Graphics graphics, final int screenWidth,
+					 final int score, final boolean newScore) {
+		int positionX = glyphsRegular.drawText(graphics,
+				newScore ? "new score : " : "score : ", screenWidth - 167, 25,
+				Color.WHITE);
+		glyphsRegular.drawNumber(graphics, score, positionX, 25, 4,
+				Color.WHITE);
 	}
 
 	public void drawCoin(final Screen screen, final int coin) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		String coinString = String.format("%04d", coin);
-		drawimg("coin", screen.getWidth() - 260, 8, 22, 22);
-		backBufferGraphics.drawString(coinString, screen.getWidth() - 232, 25);
+		renderCoin(backBufferGraphics, screen.getWidth(), coin);
+	}
+
+	/**
+	 * Renders the coin icon and count.
+	 *
+	 * @param graphics    Graphics to draw on.
+	 * @param screenWidth Screen width.
+	 * @param coin        Current coins.
+	 */
+	void renderCoin(final Graphics graphics, final int screenWidth,
+					final int coin) {
+		try {
+			graphics.drawImage(imagemap.get("coin"), screenWidth - 260, 8,
+					22, 22, observer);
+		} catch (Exception e) {
+		}
+		glyphsRegular.drawNumber(graphics, coin, screenWidth - 232, 25, 4,
+				Color.WHITE);
 	}
 
 	/**
@@ -408,33 +614,68 @@ public final class DrawManager {
 	 * @param lives  Current lives.
 	 */
 	public void drawLives(final Screen screen, final int lives, final int LR) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		
-		Ship dummyShip = null;
-		switch (Inventory.getcurrentship()) {
-			case 1000 -> dummyShip = new Ship(0, 0, Color.GREEN);
-			case 1001 -> dummyShip = new Ship(0, 0, Color.RED);
-			case 1002 -> dummyShip = new Ship(0, 0, Color.BLUE);
-		}
-		
+		renderLives(backBufferGraphics, lives, LR);
+	}
+
+	/**
+	 * Renders a row of remaining lives.
+	 *
+	 * @param graphics Graphics to draw on.
+	 * @param lives    Current lives.
+	 * @param LR       0 for the left player, 1 for the right one.
+	 */
+	void renderLives(final Graphics graphics, final int lives, final int LR) {
 		if(lives == -99) {
-			backBufferGraphics.drawString("Infin.", 20, 25);	
-			drawEntity(dummyShip, 40 + 35, 10);
+			glyphsRegular.drawText(graphics, "Infin.", 20, 25, Color.WHITE);
+			lifeIcons.drawRow(graphics, 1, 40 + 35, 10);
 		} else {
 			if(LR==0) { //left
-				backBufferGraphics.drawString(Integer.toString(lives), 20, 25);
-				for (int i = 0; i < lives; i++)
-					drawEntity(dummyShip, 40 + 35 * i, 10);
+				glyphsRegular.drawNumber(graphics, lives, 20, 25, 0,
+						Color.WHITE);
+				lifeIcons.drawRow(graphics, lives, 40, 10);
 			}
 			if(LR==1) { //right
-				backBufferGraphics.drawString(Integer.toString(lives), 170, 25);
-				for (int i = 0; i < lives; i++)
-					drawEntity(dummyShip, 190 + 35 * i, 10);
+				glyphsRegular.drawNumber(graphics, lives, 170, 25, 0,
+						Color.WHITE);
+				lifeIcons.drawRow(graphics, lives, 190, 10);
 			}
 		}
 	}
 
+	/**
+	 * Switches the life icons to the applied ship skin. They are rebuilt only
+	 * if the skin changed.
+	 *
+	 * @param shipItemId Item id of the applied ship.
+	 */
+	public void applyShipSkin(final int shipItemId) {
+		lifeIcons.applySkin(shipItemId);
+	}
+
+	/**
+	 * Getter for the version of the life icons, changes whenever another
+	 * ship skin is applied.
+	 *
+	 * @return Life icon version.
+	 */
+	int getLifeIconVersion() {
+		return lifeIcons.getVersion();
+	}
+
+	/**
+	 * Draws a pre-rasterized sprite, if there is one.
+	 *
+	 * @param graphics  Graphics to draw on.
+	 * @param icon      Sprite image, may be null.
+	 * @param positionX Coordinates for the left side of the image.
+	 * @param positionY Coordinates for the upper side of the image.
+	 */
+	private void renderIcon(final Graphics graphics, final BufferedImage icon,
+							final int positionX, final int positionY) {
+		if (icon != null)
+			graphics.drawImage(icon, positionX, positionY, null);
+	}
+
 	/**
 	 * Draws a thick line from side to side of the screen.
 	 *
@@ -442,14 +683,39 @@ public final class DrawManager {
 	 * @param positionY Y coordinate of the line.
 	 */
 	public void drawHorizontalLine(final Screen screen, final int positionY) {
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
-		backBufferGraphics.drawLine(0, positionY, screen.getWidth(), positionY);
-		backBufferGraphics.drawLine(0, positionY + 1, screen.getWidth(),
-				positionY + 1);
+		renderHorizontalLine(backBufferGraphics, screen.getWidth(), positionY,
+				screen.getContext().getScreenColor());
+	}
+
+	/**
+	 * Renders a thick line from side to side of the screen.
+	 *
+	 * @param graphics    Graphics to draw on.
+	 * @param screenWidth Screen width.
+	 * @param positionY   Y coordinate of the line.
+	 * @param color       Color of the line.
+	 */
+	void renderHorizontalLine(final Graphics graphics, final int screenWidth,
+							  final int positionY, final Color color) {
+		graphics.setColor(color);
+		graphics.drawLine(0, positionY, screenWidth, positionY);
+		graphics.drawLine(0, positionY + 1, screenWidth, positionY + 1);
 	}
 
 	public void drawVerticalLine(final Screen screen, final int positionX){
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		drawVerticalLine(screen, positionX, screen.getContext().getScreenColor());
+	}
+
+	/**
+	 * Draws a thick line from the top bar to the bottom of the screen.
+	 *
+	 * @param screen    Screen to draw on.
+	 * @param positionX X coordinate of the line.
+	 * @param color     Color of the line.
+	 */
+	public void drawVerticalLine(final Screen screen, final int positionX,
+								 final Color color) {
+		backBufferGraphics.setColor(color);
 		backBufferGraphics.drawLine(positionX, 39, positionX, screen.getHeight());
 		backBufferGraphics.drawLine(positionX + 1, 39, positionX + 1
 				, screen.getHeight());
@@ -467,7 +733,7 @@ public final class DrawManager {
 		drawCenteredRegularString(screen, instructionsString,
 				screen.getHeight() / 2);
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, titleString, screen.getHeight() / 3);
 	}
 
@@ -481,7 +747,7 @@ public final class DrawManager {
 		String settingsString = "Settings";
 		String instructionsString = "Press Space to Save Changes";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, settingsString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
@@ -497,7 +763,7 @@ public final class DrawManager {
 
 		// returnCode == 2 : play
 		if (option == 2)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, playString,
@@ -505,7 +771,7 @@ public final class DrawManager {
 
 		// returnCode == 3 : highscores
 		if (option == 3)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, highScoresString, screen.getHeight()
@@ -513,7 +779,7 @@ public final class DrawManager {
 
 		// returnCode == 4 : settings
 		if (option == 4)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, settingString, screen.getHeight() / 3
@@ -521,7 +787,7 @@ public final class DrawManager {
 
 		// returnCode == 5 : store
 		if (option == 5)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, storeString, screen.getHeight() / 3
@@ -529,7 +795,7 @@ public final class DrawManager {
 
 		// returnCode == 0 : exit
 		if (option == 0)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, exitString, screen.getHeight() / 3
@@ -548,35 +814,35 @@ public final class DrawManager {
 
 		// returnCode == 400010 : Screen Size
 		if (option == 400010)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawLeftRegular2String(screen, screensizeString, screen.getHeight() / 3);
 
 		// returnCode == 400020 : masterSound
 		if (option == 400020)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawLeftRegular2String(screen, mastersoundString, screen.getHeight() / 3 + fontRegular2Metrics.getHeight() * 2);
 
 		// returnCode == 400030 : musicSound
 		if (option == 400030)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawLeftRegular2String(screen, musicsoundString, screen.getHeight() / 3 + fontRegular2Metrics.getHeight() * 4);
 
 		// returnCode == 400040 : effectSound
 		if (option == 400040)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawLeftRegular2String(screen, effectsoundString, screen.getHeight() / 3 + fontRegular2Metrics.getHeight() * 6);
 
 		// returnCode == 400050 : HUD Options
 		if (option == 400050)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegular2String(screen, hudoptionString,
@@ -584,14 +850,14 @@ public final class DrawManager {
 
 		// returnCode == 400060 : help
 		if (option == 400060)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegular2String(screen, helpString, screen.getHeight() / 3 + fontRegular2Metrics.getHeight() * 11);
 
 		// returnCode == 1 : exit
 		if (option == 1)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegular2String(screen, exitString, screen.getHeight() / 3 + fontRegular2Metrics.getHeight() * 13);
@@ -764,7 +1030,7 @@ public final class DrawManager {
 		String newRecordString = "New Record!";
 		String introduceNameString = "Introduce name:";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredRegularString(screen, newRecordString, screen.getHeight()
 				/ 4 + fontRegularMetrics.getHeight() * 10);
 		backBufferGraphics.setColor(Color.WHITE);
@@ -781,7 +1047,7 @@ public final class DrawManager {
 
 		for (int i = 0; i < 3; i++) {
 			if (i == nameCharSelected)
-				backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+				backBufferGraphics.setColor(screen.getContext().getScreenColor());
 			else
 				backBufferGraphics.setColor(Color.WHITE);
 
@@ -812,12 +1078,12 @@ public final class DrawManager {
 
 		int height = isNewRecord ? 4 : 2;
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, gameOverString, screen.getHeight()
 				/ height - fontBigMetrics.getHeight() * 2);
 
 		if (acceptsInput)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.GRAY);
 		drawCenteredRegularString(screen, continueOrExitString,
@@ -833,7 +1099,7 @@ public final class DrawManager {
 		String highScoreString = "High Scores";
 		String instructionsString = "Press Space to return";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, highScoreString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
@@ -900,7 +1166,7 @@ public final class DrawManager {
 		String storeString = "Store";
 		String instructionsString = "Store";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, storeString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
@@ -914,14 +1180,14 @@ public final class DrawManager {
 		String option2 = "RED";
 		String option3 = "BLUE";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, HUDString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
 		drawCenteredRegularString(screen, instructionsString, screen.getHeight() / 5);
 
 		if (option == 1)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen, option1,
@@ -956,7 +1222,7 @@ public final class DrawManager {
 		int i = 0;
 		int j = 0;
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, HelpString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
@@ -1034,29 +1300,66 @@ public final class DrawManager {
 	 */
 	public void drawCountDown(final Screen screen, final int level,
 							  final int number, final boolean bonusLife) {
+		drawCountDown(screen, level, number, bonusLife,
+				screen.getContext().getScreenColor());
+	}
+
+	/**
+	 * Countdown to game start, in a given color.
+	 *
+	 * @param screen    Screen to draw on.
+	 * @param level     Game difficulty level.
+	 * @param number    Countdown number.
+	 * @param bonusLife Checks if a bonus life is received.
+	 * @param color     Color of the countdown.
+	 */
+	public void drawCountDown(final Screen screen, final int level,
+							  final int number, final boolean bonusLife,
+							  final Color color) {
 		int rectWidth = screen.getWidth();
 		int rectHeight = screen.getHeight() / 6;
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics.fillRect(0, screen.getHeight() / 2 - rectHeight / 2,
 				rectWidth, rectHeight);
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		int positionY = screen.getHeight() / 2 + fontBigMetrics.getHeight() / 3;
 		if (number >= 4)
 			if (!bonusLife) {
-				drawCenteredBigString(screen, "Get Ready",
-						screen.getHeight() / 2
-								+ fontBigMetrics.getHeight() / 3);
+				drawCenteredBigGlyphs(screen, "Get Ready", positionY, color);
 			} else {
-				drawCenteredBigString(screen, "Level " + level
-								+ " - Bonus life!",
-						screen.getHeight() / 2
-								+ fontBigMetrics.getHeight() / 3);
+				int positionX = screen.getWidth() / 2
+						- (glyphsBig.measureText("Level ")
+						+ glyphsBig.measureNumber(level, 0)
+						+ glyphsBig.measureText(" - Bonus life!")) / 2;
+				positionX = glyphsBig.drawText(backBufferGraphics, "Level ",
+						positionX, positionY, color);
+				positionX = glyphsBig.drawNumber(backBufferGraphics, level,
+						positionX, positionY, 0, color);
+				glyphsBig.drawText(backBufferGraphics, " - Bonus life!",
+						positionX, positionY, color);
 			}
 		else if (number != 0)
-			drawCenteredBigString(screen, Integer.toString(number),
-					screen.getHeight() / 2 + fontBigMetrics.getHeight() / 3);
+			glyphsBig.drawNumber(backBufferGraphics, number,
+					screen.getWidth() / 2
+							- glyphsBig.measureNumber(number, 0) / 2,
+					positionY, 0, color);
 		else
-			drawCenteredBigString(screen, "Let's Rock!", screen.getHeight() / 2
-					+ fontBigMetrics.getHeight() / 3);
+			drawCenteredBigGlyphs(screen, "Let's Rock!", positionY, color);
+	}
+
+	/**
+	 * Draws a centered text in big font from the glyph atlas.
+	 *
+	 * @param screen    Screen to draw on.
+	 * @param text      Text to draw.
+	 * @param positionY Baseline of the text.
+	 * @param color     Text color.
+	 */
+	private void drawCenteredBigGlyphs(final Screen screen,
+									   final CharSequence text,
+									   final int positionY, final Color color) {
+		glyphsBig.drawText(backBufferGraphics, text,
+				screen.getWidth() / 2 - glyphsBig.measureText(text) / 2,
+				positionY, color);
 	}
 
 	public int getshopgridcoordx(int c) {
@@ -1082,7 +1385,7 @@ public final class DrawManager {
 		drawCenteredBigString(screen, "Shop", 40);
 		backBufferGraphics.setColor(Color.WHITE);
 		drawimg("coin", screen.getWidth() - 100, 15, 30, 30);
-		backBufferGraphics.drawString(String.valueOf(Coin.balance), screen.getWidth() - 55, 40);
+		backBufferGraphics.drawString(String.valueOf(Coin.getBalance(screen.getContext())), screen.getWidth() - 55, 40);
 		backBufferGraphics.drawLine(0, 60, backBuffer.getWidth(), 60);
 		for (int i = 0; i < 3; i++) {
 			for (int j = 0; j < 2; j++) {
@@ -1122,17 +1425,18 @@ public final class DrawManager {
 		String bgminfo_3 = new String(
 				"<BGM 3>\n: AWESOME MUSIC\n>>> 1000 COIN");
 
-		if (selecteditem().itemid == 1000)
+		Item selected = screen.getContext().getSelectedShopItem();
+		if (selected.itemid == 1000)
 			drawmultiline(screen, shipinfo_1, 45, 390, 3);
-		else if (selecteditem().itemid == 1001)
+		else if (selected.itemid == 1001)
 			drawmultiline(screen, shipinfo_2, 45, 390, 3);
-		else if (selecteditem().itemid == 1002)
+		else if (selected.itemid == 1002)
 			drawmultiline(screen, shipinfo_3, 45, 390, 3);
-		else if (selecteditem().itemid == 2000)
+		else if (selected.itemid == 2000)
 			drawmultiline(screen, bgminfo_1, 45, 390, 3);
-		else if (selecteditem().itemid == 2001)
+		else if (selected.itemid == 2001)
 			drawmultiline(screen, bgminfo_2, 45, 390, 3);
-		else if (selecteditem().itemid == 2002)
+		else if (selected.itemid == 2002)
 			drawmultiline(screen, bgminfo_3, 45, 390, 3);
 		/**
 		 * for (int i = 0; i < Inventory.inventory.size(); i++) {
@@ -1160,16 +1464,17 @@ public final class DrawManager {
 		backBufferGraphics.drawRect(winxbase, winybase, winw, winh);
 		backBufferGraphics.drawRect(winxbase + 5, winybase + 5, winw - 10, winh - 10);
 		drawCenteredBigString(screen, item_name, winxbase + 50);
-		if (selecteditem().itemid == 1001) {
+		Item selected = screen.getContext().getSelectedShopItem();
+		if (selected.itemid == 1001) {
 			drawimg("shipr", screen.getWidth() / 2 - 40, screen.getHeight() / 2 - 60, 80, 80);
 		}
-		if (selecteditem().itemid == 1002) {
+		if (selected.itemid == 1002) {
 			drawimg("shipb", screen.getWidth() / 2 - 40, screen.getHeight() / 2 - 60, 80, 80);
 		}
-		if (selecteditem().itemid == 2001) {
+		if (selected.itemid == 2001) {
 			drawimg("bgm2", screen.getWidth() / 2 - 40, screen.getHeight() / 2 - 60, 80, 80);
 		}
-		if (selecteditem().itemid == 2002) {
+		if (selected.itemid == 2002) {
 			drawimg("bgm3", screen.getWidth() / 2 - 40, screen.getHeight() / 2 - 60, 80, 80);
 		}
 		drawCenteredRegularString(screen, "Price :" + item_price, winxbase + 80);
@@ -1254,14 +1559,14 @@ public final class DrawManager {
 		String stage4 = "4";
 		String stage5 = "5";
 
-		backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+		backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		drawCenteredBigString(screen, levelString, screen.getHeight() / 8);
 
 		backBufferGraphics.setColor(Color.GRAY);
 		drawCenteredRegularString(screen, instructionsString, screen.getHeight() / 5);
 
 		if (option == 1)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 
@@ -1273,7 +1578,7 @@ public final class DrawManager {
 		backBufferGraphics.drawString(stage5, 390, 220);
 
 		if (option == 2)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		backBufferGraphics.drawString(level2, 13, 280);
@@ -1284,7 +1589,7 @@ public final class DrawManager {
 		backBufferGraphics.drawString(stage5, 390, 280);
 
 		if (option == 3)
-			backBufferGraphics.setColor(HUDSettingScreen.getScreenColor());
+			backBufferGraphics.setColor(screen.getContext().getScreenColor());
 		else
 			backBufferGraphics.setColor(Color.WHITE);
 		backBufferGraphics.drawString(level3, 13, 340);
@@ -62,44 +62,47 @@ public final class FileManager {
 	}
 
 	/**
-	 * Loads sprites from disk.
+	 * Loads sprites from disk, from the sprite pack or, without a valid
+	 * pack, from the text sprite file.
 	 * 
-	 * @param spriteMap
-	 *            Mapping of sprite type and empty boolean matrix that will
-	 *            contain the image.
+	 * @return Mapping of sprite type and the boolean matrix of its image.
 	 * @throws IOException
 	 *             In case of loading problems.
 	 */
-	public void loadSprite(final Map<SpriteType, boolean[][]> spriteMap)
-			throws IOException {
-		InputStream inputStream = null;
-
-		try {
-			inputStream = DrawManager.class.getClassLoader()
-					.getResourceAsStream("graphics");
-			char c;
-
-			// Sprite loading.
-			for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap
-					.entrySet()) {
-				for (int i = 0; i < sprite.getValue().length; i++)
-					for (int j = 0; j < sprite.getValue()[i].length; j++) {
-						do
-							c = (char) inputStream.read();
-						while (c != '0' && c != '1');
-
-						if (c == '1')
-							sprite.getValue()[i][j] = true;
-						else
-							sprite.getValue()[i][j] = false;
-					}
-				logger.fine("Sprite " + sprite.getKey() + " loaded.");
+	public Map<SpriteType, boolean[][]> loadSprites() throws IOException {
+		byte[] pack = readResource(SpritePack.RESOURCE);
+		if (pack != null) {
+			try {
+				Map<SpriteType, boolean[][]> spriteMap = SpritePack.read(pack);
+				logger.fine(spriteMap.size() + " sprites loaded from the pack.");
+				return spriteMap;
+			} catch (IOException e) {
+				logger.warning("Could not read the sprite pack: " + e);
 			}
-			if (inputStream != null)
-				inputStream.close();
-		} finally {
-			if (inputStream != null)
-				inputStream.close();
+		}
+
+		byte[] text = readResource(SpritePack.TEXT_RESOURCE);
+		if (text == null)
+			throw new FileNotFoundException(SpritePack.TEXT_RESOURCE);
+		Map<SpriteType, boolean[][]> spriteMap = SpritePack.textLayout();
+		SpritePack.readText(text, spriteMap);
+		logger.fine(spriteMap.size() + " sprites loaded from the text file.");
+		return spriteMap;
+	}
+
+	/**
+	 * Reads a whole resource in one go.
+	 * 
+	 * @param name
+	 *            Name of the resource.
+	 * @return Content of the resource, null if it doesn't exist.
+	 * @throws IOException
+	 *             In case of loading problems.
+	 */
+	private byte[] readResource(final String name) throws IOException {
+		try (InputStream inputStream = FileManager.class.getClassLoader()
+				.getResourceAsStream(name)) {
+			return inputStream == null ? null : inputStream.readAllBytes();
 		}
 	}
 
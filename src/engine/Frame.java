@@ -1,6 +1,12 @@
 package engine;
 
+import java.awt.Canvas;
+import java.awt.DisplayMode;
+import java.awt.Graphics;
 import java.awt.Insets;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JFrame;
 
@@ -14,7 +20,10 @@ import screen.Screen;
  * 
  */
 @SuppressWarnings("serial")
-public class Frame extends JFrame {
+public class Frame extends JFrame implements RenderTarget {
+
+	/** Number of pages flipped by the buffer strategy. */
+	private static final int NUM_BUFFERS = 2;
 
 	/** Frame width. */
 	private int width;
@@ -22,6 +31,10 @@ public class Frame extends JFrame {
 	private int height;
 	/** Screen currently shown. */
 	private Screen currentScreen;
+	/** Canvas the screens are presented on. */
+	private Canvas canvas;
+	/** Page flipping strategy of the canvas. */
+	private BufferStrategy bufferStrategy;
 
 	/**
 	 * Initializes the new frame.
@@ -35,6 +48,13 @@ public class Frame extends JFrame {
 		setSize(width, height);
 		setResizable(false);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
+		setIgnoreRepaint(true);
+
+		// The canvas never takes focus, so key events keep reaching the frame.
+		this.canvas = new Canvas();
+		this.canvas.setIgnoreRepaint(true);
+		this.canvas.setFocusable(false);
+		add(this.canvas);
 
 		setLocationRelativeTo(null);
 		setVisible(true);
@@ -44,6 +64,9 @@ public class Frame extends JFrame {
 		this.height = height - insets.top + insets.bottom;
 		setTitle("Invaders");
 
+		this.canvas.createBufferStrategy(NUM_BUFFERS);
+		this.bufferStrategy = this.canvas.getBufferStrategy();
+
 		addKeyListener(Core.getInputManager());
 	}
 
@@ -60,6 +83,41 @@ public class Frame extends JFrame {
 		return currentScreen.run();
 	}
 
+	/**
+	 * Shows a finished image on the next page of the buffer strategy. The
+	 * image is blitted again if the page contents are lost or restored while
+	 * being drawn.
+	 * 
+	 * @param image
+	 *            Image to show.
+	 */
+	@Override
+	public final void present(final BufferedImage image) {
+		do {
+			do {
+				Graphics graphics = this.bufferStrategy.getDrawGraphics();
+				graphics.drawImage(image, 0, 0, null);
+				graphics.dispose();
+			} while (this.bufferStrategy.contentsRestored());
+			this.bufferStrategy.show();
+		} while (this.bufferStrategy.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	/**
+	 * Getter for the refresh rate of the display showing the frame.
+	 * 
+	 * @return Refresh rate in Hz, 0 if unknown.
+	 */
+	public final int getRefreshRate() {
+		int refreshRate = getGraphicsConfiguration().getDevice()
+				.getDisplayMode().getRefreshRate();
+		if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN)
+			return 0;
+		return refreshRate;
+	}
+
 	/**
 	 * Getter for frame width.
 	 * 
@@ -0,0 +1,115 @@
+package engine;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import screen.Screen;
+
+/**
+ * Draws frame snapshots on a dedicated render thread, so the simulation can
+ * compute the next frame while the previous one is being drawn. Snapshots
+ * are handed over through a triple buffer, and the render thread always
+ * draws the newest one. While it runs, the render thread owns the drawing
+ * state of the draw manager, and the simulation thread must not draw.
+ */
+public final class FramePipeline {
+
+	/** Screen the snapshots are drawn on. */
+	private final Screen screen;
+	/** Reused snapshots, exchanged between both threads. */
+	private final TripleBuffer<FrameSnapshot> snapshots;
+	/** Application logger. */
+	private final Logger logger;
+	/** Thread drawing the snapshots. */
+	private Thread renderThread;
+	/** If the render thread must keep running. */
+	private volatile boolean running;
+
+	/** Snapshots published. */
+	private long published;
+	/** Snapshots drawn, written by the render thread. */
+	private volatile long rendered;
+
+	/**
+	 * Constructor, prepares the snapshots.
+	 *
+	 * @param screen
+	 *            Screen the snapshots are drawn on.
+	 */
+	public FramePipeline(final Screen screen) {
+		this.screen = screen;
+		this.snapshots = new TripleBuffer<FrameSnapshot>(new FrameSnapshot(),
+				new FrameSnapshot(), new FrameSnapshot());
+		this.logger = screen.getContext().getLogger();
+	}
+
+	/**
+	 * Starts the render thread.
+	 */
+	public void start() {
+		this.running = true;
+		this.renderThread = new Thread(this::render, "Render");
+		this.renderThread.setDaemon(true);
+		this.renderThread.start();
+	}
+
+	/**
+	 * Stops the render thread, after it finishes the frame being drawn.
+	 */
+	public void stop() {
+		if (this.renderThread == null)
+			return;
+		this.running = false;
+		LockSupport.unpark(this.renderThread);
+		try {
+			this.renderThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.renderThread = null;
+		this.logger.fine("Render thread drew " + this.rendered + " of "
+				+ this.published + " published frames.");
+	}
+
+	/**
+	 * Returns the snapshot to fill with the next frame. Only call from the
+	 * simulation thread.
+	 *
+	 * @return Cleared snapshot.
+	 */
+	public FrameSnapshot beginFrame() {
+		FrameSnapshot snapshot = this.snapshots.getBack();
+		snapshot.clear();
+		return snapshot;
+	}
+
+	/**
+	 * Hands the filled snapshot to the render thread.
+	 */
+	public void publish() {
+		this.snapshots.publish();
+		this.published++;
+		LockSupport.unpark(this.renderThread);
+	}
+
+	/**
+	 * Body of the render thread, draws every new snapshot and sleeps until
+	 * another one is published.
+	 */
+	private void render() {
+		DrawManager drawManager = Core.getDrawManager();
+		while (this.running) {
+			FrameSnapshot snapshot = this.snapshots.acquire();
+			if (snapshot == null) {
+				LockSupport.park(this);
+				continue;
+			}
+			try {
+				drawManager.drawSnapshot(this.screen, snapshot);
+			} catch (RuntimeException e) {
+				this.logger.warning("Frame could not be drawn: " + e);
+			}
+			this.rendered++;
+		}
+	}
+}
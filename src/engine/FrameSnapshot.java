@@ -0,0 +1,342 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+import entity.Entity;
+
+/**
+ * Everything needed to draw one frame of the game screen, copied out of the
+ * simulation so it can be drawn on another thread. Snapshots are reused:
+ * one is cleared and filled, then left untouched once published. Values the
+ * simulation thread keeps changing, like the lives or the high score, are
+ * copied here too, so drawing a snapshot never reads them.
+ */
+public final class FrameSnapshot {
+
+	/** Entities reserved on creation. */
+	private static final int INITIAL_CAPACITY = 128;
+
+	/** Number of entities in the frame. */
+	private int entityCount;
+	/** Position in the X axis of every entity. */
+	private int[] positionsX = new int[INITIAL_CAPACITY];
+	/** Position in the Y axis of every entity. */
+	private int[] positionsY = new int[INITIAL_CAPACITY];
+	/** Sprite of every entity. */
+	private SpriteType[] spriteTypes = new SpriteType[INITIAL_CAPACITY];
+	/** Color of every entity. */
+	private Color[] colors = new Color[INITIAL_CAPACITY];
+
+	/** Current score. */
+	private int score;
+	/** Current coins. */
+	private int coin;
+	/** Lives of the left player. */
+	private int livesL;
+	/** Lives of the right player. */
+	private int livesR;
+	/** Y coordinate of the horizontal separation line. */
+	private int separatorY;
+	/** X coordinate of the vertical separation line. */
+	private int dividerX;
+	/** Highest score saved, to tell if the score is a new one. */
+	private int maxScore;
+
+	/** Lives picking the background color. */
+	private int backgroundLives;
+	/** Color of the lines and the countdown. */
+	private Color screenColor = Color.WHITE;
+
+	/** If the countdown to game start is shown. */
+	private boolean countdown;
+	/** Level shown on the countdown. */
+	private int level;
+	/** Number shown on the countdown. */
+	private int countdownNumber;
+	/** If the countdown announces a bonus life. */
+	private boolean bonusLife;
+
+	/**
+	 * Empties the snapshot to fill it again.
+	 */
+	public void clear() {
+		Arrays.fill(this.spriteTypes, 0, this.entityCount, null);
+		Arrays.fill(this.colors, 0, this.entityCount, null);
+		this.entityCount = 0;
+		this.countdown = false;
+	}
+
+	/**
+	 * Adds an entity, between its previous and current positions.
+	 *
+	 * @param entity
+	 *            Entity to add.
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current position.
+	 */
+	public void add(final Entity entity, final float alpha) {
+		add(entity.getRenderPositionX(alpha), entity.getRenderPositionY(alpha),
+				entity.getSpriteType(), entity.getColor());
+	}
+
+	/**
+	 * Adds a sprite at a given position.
+	 *
+	 * @param positionX
+	 *            Position of the sprite in the X axis.
+	 * @param positionY
+	 *            Position of the sprite in the Y axis.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 */
+	public void add(final int positionX, final int positionY,
+			final SpriteType spriteType, final Color color) {
+		if (this.entityCount == this.positionsX.length) {
+			int capacity = this.entityCount * 2;
+			this.positionsX = Arrays.copyOf(this.positionsX, capacity);
+			this.positionsY = Arrays.copyOf(this.positionsY, capacity);
+			this.spriteTypes = Arrays.copyOf(this.spriteTypes, capacity);
+			this.colors = Arrays.copyOf(this.colors, capacity);
+		}
+		this.positionsX[this.entityCount] = positionX;
+		this.positionsY[this.entityCount] = positionY;
+		this.spriteTypes[this.entityCount] = spriteType;
+		this.colors[this.entityCount] = color;
+		this.entityCount++;
+	}
+
+	/**
+	 * Sets the values shown on the top bar.
+	 *
+	 * @param score
+	 *            Current score.
+	 * @param coin
+	 *            Current coins.
+	 * @param livesL
+	 *            Lives of the left player.
+	 * @param livesR
+	 *            Lives of the right player.
+	 * @param separatorY
+	 *            Y coordinate of the horizontal separation line.
+	 * @param dividerX
+	 *            X coordinate of the vertical separation line.
+	 * @param maxScore
+	 *            Highest score saved.
+	 */
+	public void setHud(final int score, final int coin, final int livesL,
+			final int livesR, final int separatorY, final int dividerX,
+			final int maxScore) {
+		this.score = score;
+		this.coin = coin;
+		this.livesL = livesL;
+		this.livesR = livesR;
+		this.separatorY = separatorY;
+		this.dividerX = dividerX;
+		this.maxScore = maxScore;
+	}
+
+	/**
+	 * Sets the colors of the frame.
+	 *
+	 * @param backgroundLives
+	 *            Lives picking the background color.
+	 * @param screenColor
+	 *            Color of the lines and the countdown.
+	 */
+	public void setColors(final int backgroundLives, final Color screenColor) {
+		this.backgroundLives = backgroundLives;
+		this.screenColor = screenColor;
+	}
+
+	/**
+	 * Shows the countdown to game start on the frame.
+	 *
+	 * @param level
+	 *            Game difficulty level.
+	 * @param number
+	 *            Countdown number.
+	 * @param bonusLife
+	 *            Checks if a bonus life is received.
+	 */
+	public void setCountdown(final int level, final int number,
+			final boolean bonusLife) {
+		this.countdown = true;
+		this.level = level;
+		this.countdownNumber = number;
+		this.bonusLife = bonusLife;
+	}
+
+	/**
+	 * Getter for the number of entities in the frame.
+	 *
+	 * @return Number of entities.
+	 */
+	int getEntityCount() {
+		return this.entityCount;
+	}
+
+	/**
+	 * Getter for the X axis position of an entity.
+	 *
+	 * @param index
+	 *            Entity index.
+	 * @return Position of the entity in the X axis.
+	 */
+	int getPositionX(final int index) {
+		return this.positionsX[index];
+	}
+
+	/**
+	 * Getter for the Y axis position of an entity.
+	 *
+	 * @param index
+	 *            Entity index.
+	 * @return Position of the entity in the Y axis.
+	 */
+	int getPositionY(final int index) {
+		return this.positionsY[index];
+	}
+
+	/**
+	 * Getter for the sprite of an entity.
+	 *
+	 * @param index
+	 *            Entity index.
+	 * @return Sprite of the entity.
+	 */
+	SpriteType getSpriteType(final int index) {
+		return this.spriteTypes[index];
+	}
+
+	/**
+	 * Getter for the color of an entity.
+	 *
+	 * @param index
+	 *            Entity index.
+	 * @return Color of the entity.
+	 */
+	Color getColor(final int index) {
+		return this.colors[index];
+	}
+
+	/**
+	 * Getter for the score.
+	 *
+	 * @return Current score.
+	 */
+	int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Getter for the coins.
+	 *
+	 * @return Current coins.
+	 */
+	int getCoin() {
+		return this.coin;
+	}
+
+	/**
+	 * Getter for the lives of the left player.
+	 *
+	 * @return Lives of the left player.
+	 */
+	int getLivesL() {
+		return this.livesL;
+	}
+
+	/**
+	 * Getter for the lives of the right player.
+	 *
+	 * @return Lives of the right player.
+	 */
+	int getLivesR() {
+		return this.livesR;
+	}
+
+	/**
+	 * Getter for the horizontal separation line.
+	 *
+	 * @return Y coordinate of the line.
+	 */
+	int getSeparatorY() {
+		return this.separatorY;
+	}
+
+	/**
+	 * Getter for the vertical separation line.
+	 *
+	 * @return X coordinate of the line.
+	 */
+	int getDividerX() {
+		return this.dividerX;
+	}
+
+	/**
+	 * Getter for the highest score saved.
+	 *
+	 * @return Highest score saved.
+	 */
+	int getMaxScore() {
+		return this.maxScore;
+	}
+
+	/**
+	 * Getter for the lives picking the background color.
+	 *
+	 * @return Lives picking the background color.
+	 */
+	int getBackgroundLives() {
+		return this.backgroundLives;
+	}
+
+	/**
+	 * Getter for the color of the lines and the countdown.
+	 *
+	 * @return Color of the lines and the countdown.
+	 */
+	Color getScreenColor() {
+		return this.screenColor;
+	}
+
+	/**
+	 * Checks if the countdown to game start is shown.
+	 *
+	 * @return True when the countdown is shown.
+	 */
+	boolean hasCountdown() {
+		return this.countdown;
+	}
+
+	/**
+	 * Getter for the level shown on the countdown.
+	 *
+	 * @return Game difficulty level.
+	 */
+	int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Getter for the number shown on the countdown.
+	 *
+	 * @return Countdown number.
+	 */
+	int getCountdownNumber() {
+		return this.countdownNumber;
+	}
+
+	/**
+	 * Checks if the countdown announces a bonus life.
+	 *
+	 * @return True when a bonus life is received.
+	 */
+	boolean hasBonusLife() {
+		return this.bonusLife;
+	}
+}
@@ -0,0 +1,18 @@
+package engine;
+
+/**
+ * Source of the time cooldowns are measured against. Game time can follow
+ * the wall clock, a scaled wall clock or the simulation ticks.
+ */
+public interface GameClock {
+
+	/** Clock following the system time. */
+	GameClock WALL = System::currentTimeMillis;
+
+	/**
+	 * Returns the current time of the clock.
+	 *
+	 * @return Current time, in milliseconds.
+	 */
+	long millis();
+}
@@ -0,0 +1,393 @@
+package engine;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import entity.ItemPool;
+
+/**
+ * State of one running game: its difficulty, coins, inventory, settings,
+ * clock, sound, random numbers and pooled items. Every game owns its
+ * context, so many independent games can run in the same JVM, even on the
+ * same thread, without sharing anything. The context is handed to the
+ * screens and entities of the game when they are created.
+ */
+public final class GameContext {
+
+	/** Logger of the game. */
+	private final Logger logger;
+	/** Difficulty picked by the player, from 1 (easy) to 3 (hard). */
+	private int difficulty;
+	/** Coins owned by the player. */
+	private int coins;
+	/** Lives tinting the background of the screen, none by default. */
+	private int lives;
+	/** Color of the interface, from 1 (green) to 3 (blue). */
+	private int hudColor = 1;
+	/** Background music applied in the shop. */
+	private int appliedBgm;
+	/** Row of the item selected in the shop. */
+	private int shopRow;
+	/** Column of the item selected in the shop. */
+	private int shopColumn;
+
+	/** Ship skins owned by the player. */
+	private final List<Item> shipInventory = new ArrayList<Item>();
+	/** Background musics owned by the player. */
+	private final List<Item> bgmInventory = new ArrayList<Item>();
+	/** Ship skins sold in the shop. */
+	private final List<Item> shipRegistry = new ArrayList<Item>();
+	/** Background musics sold in the shop. */
+	private final List<Item> bgmRegistry = new ArrayList<Item>();
+
+	/** Clock new cooldowns are bound to, null for the default one. */
+	private GameClock clock;
+	/** Destination of the sound effects, null for the audio engine. */
+	private AudioBackend audio;
+	/** Seed of the random numbers. */
+	private long seed;
+	/** Random number streams, one per subsystem, null until seeded. */
+	private GameRandom[] randomStreams;
+	/** Items dropped by the enemies, recycled once gone. */
+	private final ItemPool itemPool = new ItemPool();
+
+	/**
+	 * Constructor, starts an empty game.
+	 *
+	 * @param logger
+	 *            Logger of the game.
+	 */
+	public GameContext(final Logger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * Getter for the logger of the game.
+	 *
+	 * @return Logger of the game.
+	 */
+	public Logger getLogger() {
+		return this.logger;
+	}
+
+	/**
+	 * Getter for the difficulty.
+	 *
+	 * @return Difficulty from 1 (easy) to 3 (hard), 0 if not picked yet.
+	 */
+	public int getDifficulty() {
+		return this.difficulty;
+	}
+
+	/**
+	 * Setter for the difficulty.
+	 *
+	 * @param difficulty
+	 *            Difficulty from 1 (easy) to 3 (hard).
+	 */
+	public void setDifficulty(final int difficulty) {
+		this.difficulty = difficulty;
+	}
+
+	/**
+	 * Getter for the coins owned by the player.
+	 *
+	 * @return Coin balance.
+	 */
+	public int getCoins() {
+		return this.coins;
+	}
+
+	/**
+	 * Gives coins to the player.
+	 *
+	 * @param amount
+	 *            Coins earned.
+	 * @return New coin balance.
+	 */
+	public int earnCoins(final int amount) {
+		this.coins += amount;
+		return this.coins;
+	}
+
+	/**
+	 * Takes coins from the player, if there are enough.
+	 *
+	 * @param amount
+	 *            Coins spent.
+	 * @return New coin balance, -1 if there weren't enough coins.
+	 */
+	public int spendCoins(final int amount) {
+		if (this.coins < amount)
+			return -1;
+		this.coins -= amount;
+		return this.coins;
+	}
+
+	/**
+	 * Getter for the lives tinting the background.
+	 *
+	 * @return Lives, 0 for a black background.
+	 */
+	public int getLives() {
+		return this.lives;
+	}
+
+	/**
+	 * Setter for the lives tinting the background.
+	 *
+	 * @param lives
+	 *            Lives, 0 for a black background.
+	 */
+	public void setLives(final int lives) {
+		this.lives = lives;
+	}
+
+	/**
+	 * Getter for the color option of the interface.
+	 *
+	 * @return Option from 1 (green) to 3 (blue).
+	 */
+	public int getHudColor() {
+		return this.hudColor;
+	}
+
+	/**
+	 * Setter for the color option of the interface.
+	 *
+	 * @param hudColor
+	 *            Option from 1 (green) to 3 (blue).
+	 */
+	public void setHudColor(final int hudColor) {
+		this.hudColor = hudColor;
+	}
+
+	/**
+	 * Getter for the color of the interface.
+	 *
+	 * @return Color of the lines and texts of the interface.
+	 */
+	public Color getScreenColor() {
+		switch (this.hudColor) {
+		case 2:
+			return Color.RED;
+		case 3:
+			return Color.BLUE;
+		default:
+			return Color.GREEN;
+		}
+	}
+
+	/**
+	 * Getter for the background music applied in the shop.
+	 *
+	 * @return Track number, 0 for the default music.
+	 */
+	public int getAppliedBgm() {
+		return this.appliedBgm;
+	}
+
+	/**
+	 * Setter for the background music applied in the shop.
+	 *
+	 * @param appliedBgm
+	 *            Track number, 0 for the default music.
+	 */
+	public void setAppliedBgm(final int appliedBgm) {
+		this.appliedBgm = appliedBgm;
+	}
+
+	/**
+	 * Getter for the row of the item selected in the shop.
+	 *
+	 * @return Item row.
+	 */
+	public int getShopRow() {
+		return this.shopRow;
+	}
+
+	/**
+	 * Getter for the column of the item selected in the shop.
+	 *
+	 * @return Item column, 0 for ships and 1 for musics.
+	 */
+	public int getShopColumn() {
+		return this.shopColumn;
+	}
+
+	/**
+	 * Selects an item of the shop.
+	 *
+	 * @param row
+	 *            Item row.
+	 * @param column
+	 *            Item column, 0 for ships and 1 for musics.
+	 */
+	public void selectShopItem(final int row, final int column) {
+		this.shopRow = row;
+		this.shopColumn = column;
+	}
+
+	/**
+	 * Getter for the item selected in the shop.
+	 *
+	 * @return Selected ship skin or background music.
+	 */
+	public Item getSelectedShopItem() {
+		if (this.shopColumn == 1)
+			return this.bgmRegistry.get(this.shopRow);
+		return this.shipRegistry.get(this.shopRow);
+	}
+
+	/**
+	 * Getter for the ship skins owned by the player.
+	 *
+	 * @return Modifiable list of ship skins.
+	 */
+	public List<Item> getShipInventory() {
+		return this.shipInventory;
+	}
+
+	/**
+	 * Getter for the background musics owned by the player.
+	 *
+	 * @return Modifiable list of background musics.
+	 */
+	public List<Item> getBgmInventory() {
+		return this.bgmInventory;
+	}
+
+	/**
+	 * Getter for the ship skins sold in the shop.
+	 *
+	 * @return Modifiable list of ship skins.
+	 */
+	public List<Item> getShipRegistry() {
+		return this.shipRegistry;
+	}
+
+	/**
+	 * Getter for the background musics sold in the shop.
+	 *
+	 * @return Modifiable list of background musics.
+	 */
+	public List<Item> getBgmRegistry() {
+		return this.bgmRegistry;
+	}
+
+	/**
+	 * Getter for the clock new cooldowns are bound to.
+	 *
+	 * @return Clock of the game, the wall clock by default.
+	 */
+	public GameClock getClock() {
+		return this.clock == null ? GameClock.WALL : this.clock;
+	}
+
+	/**
+	 * Changes the clock new cooldowns are bound to.
+	 *
+	 * @param clock
+	 *            Clock of the game, null for the wall clock.
+	 */
+	public void setClock(final GameClock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Creates a cooldown on the clock of the game.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @return A new cooldown.
+	 */
+	public Cooldown getCooldown(final int milliseconds) {
+		return new Cooldown(milliseconds, getClock());
+	}
+
+	/**
+	 * Creates a cooldown with variance on the clock of the game, varied by
+	 * its cooldown random numbers.
+	 *
+	 * @param milliseconds
+	 *            Duration of the cooldown.
+	 * @param variance
+	 *            Variation in the cooldown duration.
+	 * @return A new cooldown with variance.
+	 */
+	public Cooldown getVariableCooldown(final int milliseconds,
+			final int variance) {
+		return new Cooldown(milliseconds, variance, getClock(),
+				getRandom(GameRandom.Stream.COOLDOWNS));
+	}
+
+	/**
+	 * Getter for the destination of the sound effects.
+	 *
+	 * @return Audio backend of the game, the audio engine by default.
+	 */
+	public AudioBackend getAudio() {
+		return this.audio == null ? Core.getAudioEngine() : this.audio;
+	}
+
+	/**
+	 * Changes the destination of the sound effects.
+	 *
+	 * @param audio
+	 *            Audio backend of the game, null for the audio engine.
+	 */
+	public void setAudio(final AudioBackend audio) {
+		this.audio = audio;
+		if (audio != null)
+			audio.attach(this);
+	}
+
+	/**
+	 * Restarts every random number stream from a seed.
+	 *
+	 * @param gameSeed
+	 *            Seed of the game.
+	 */
+	public void setSeed(final long gameSeed) {
+		GameRandom.Stream[] streams = GameRandom.Stream.values();
+		GameRandom[] randoms = new GameRandom[streams.length];
+		for (GameRandom.Stream stream : streams)
+			randoms[stream.ordinal()] = GameRandom.forStream(gameSeed, stream);
+		this.seed = gameSeed;
+		this.randomStreams = randoms;
+	}
+
+	/**
+	 * Getter for the seed of the random numbers.
+	 *
+	 * @return Seed the random number streams started from.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the random number stream of a subsystem, seeded from the
+	 * time if no seed was given.
+	 *
+	 * @param stream
+	 *            Subsystem drawing the numbers.
+	 * @return Random number stream.
+	 */
+	public GameRandom getRandom(final GameRandom.Stream stream) {
+		if (this.randomStreams == null)
+			setSeed(System.nanoTime());
+		return this.randomStreams[stream.ordinal()];
+	}
+
+	/**
+	 * Getter for the pool of the items dropped in the game.
+	 *
+	 * @return Item pool.
+	 */
+	public ItemPool getItemPool() {
+		return this.itemPool;
+	}
+}
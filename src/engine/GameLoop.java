@@ -0,0 +1,175 @@
+package engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a screen with fixed simulation ticks on System.nanoTime(), and
+ * renders between them with the fraction of a tick elapsed since the last
+ * one, so positions can be interpolated. Ticks run faster or slower than
+ * real time following the time scale of the simulation, frames keep their
+ * own rate.
+ */
+public final class GameLoop {
+
+	/**
+	 * Work done by the loop.
+	 */
+	public interface Simulation {
+
+		/**
+		 * Advances the simulation one fixed tick.
+		 *
+		 * @return False to stop the loop.
+		 */
+		boolean tick();
+
+		/**
+		 * Draws the current state.
+		 *
+		 * @param alpha
+		 *            Fraction of a tick elapsed since the last tick, between
+		 *            0 and 1.
+		 */
+		void render(float alpha);
+
+		/**
+		 * Getter for the speed of the ticks, read on every iteration.
+		 *
+		 * @return Speed relative to real time.
+		 */
+		double getTimeScale();
+	}
+
+	/** Nanoseconds in a second. */
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	/** Waits shorter than this are spun instead of parked. */
+	private static final long SPIN_NANOS = 1000000L;
+	/** Ticks run in a row before the loop gives up catching up. */
+	private static final int MAX_CATCH_UP_TICKS = 5;
+
+	/** Length of a simulation tick. */
+	private final long tickNanos;
+	/** Time between two rendered frames. */
+	private final long frameNanos;
+
+	/** Ticks run. */
+	private long ticks;
+	/** Frames rendered. */
+	private long frames;
+	/** Ticks skipped because the loop fell too far behind. */
+	private long droppedTicks;
+
+	/**
+	 * Constructor, establishes the loop rates.
+	 *
+	 * @param ticksPerSecond
+	 *            Simulation ticks per second.
+	 * @param framesPerSecond
+	 *            Frames rendered per second, at least one per tick.
+	 */
+	public GameLoop(final int ticksPerSecond, final int framesPerSecond) {
+		this.tickNanos = NANOS_PER_SECOND / ticksPerSecond;
+		this.frameNanos = NANOS_PER_SECOND
+				/ Math.max(ticksPerSecond, framesPerSecond);
+	}
+
+	/**
+	 * Runs the simulation until it asks to stop or the thread is
+	 * interrupted.
+	 *
+	 * @param simulation
+	 *            Simulation to drive.
+	 * @return False if the loop was interrupted.
+	 */
+	public boolean run(final Simulation simulation) {
+		long previous = System.nanoTime();
+		long accumulator = this.tickNanos;
+		long nextFrame = previous;
+
+		while (true) {
+			long now = System.nanoTime();
+			double scale = simulation.getTimeScale();
+			accumulator += (long) ((now - previous) * scale);
+			previous = now;
+
+			// Fast-forwarding runs several ticks per frame by design.
+			int maxCatchUp = MAX_CATCH_UP_TICKS * (int) Math.ceil(scale);
+			int caughtUp = 0;
+			while (accumulator >= this.tickNanos) {
+				if (caughtUp == maxCatchUp) {
+					// Too far behind, drop the backlog instead of spiraling.
+					this.droppedTicks += accumulator / this.tickNanos;
+					accumulator %= this.tickNanos;
+					break;
+				}
+				if (!simulation.tick())
+					return true;
+				this.ticks++;
+				accumulator -= this.tickNanos;
+				caughtUp++;
+			}
+
+			if (now - nextFrame >= 0) {
+				simulation.render((float) accumulator / this.tickNanos);
+				this.frames++;
+				nextFrame += this.frameNanos;
+				if (now - nextFrame >= 0)
+					nextFrame = now + this.frameNanos;
+			}
+
+			long nextTick = now
+					+ (long) ((this.tickNanos - accumulator) / scale);
+			long deadline = nextTick - nextFrame < 0 ? nextTick : nextFrame;
+			if (!waitUntil(deadline))
+				return false;
+		}
+	}
+
+	/**
+	 * Getter for the ticks run.
+	 *
+	 * @return Ticks run.
+	 */
+	public long getTicks() {
+		return this.ticks;
+	}
+
+	/**
+	 * Getter for the frames rendered.
+	 *
+	 * @return Frames rendered.
+	 */
+	public long getFrames() {
+		return this.frames;
+	}
+
+	/**
+	 * Getter for the ticks dropped to catch up.
+	 *
+	 * @return Ticks dropped.
+	 */
+	public long getDroppedTicks() {
+		return this.droppedTicks;
+	}
+
+	/**
+	 * Parks the thread for most of the wait and spins the rest, which is
+	 * more precise than sleeping.
+	 *
+	 * @param deadline
+	 *            System.nanoTime() value to wait for.
+	 * @return False if the thread was interrupted.
+	 */
+	private static boolean waitUntil(final long deadline) {
+		long remaining = deadline - System.nanoTime();
+		while (remaining > SPIN_NANOS) {
+			LockSupport.parkNanos(remaining - SPIN_NANOS);
+			if (Thread.interrupted())
+				return false;
+			remaining = deadline - System.nanoTime();
+		}
+		while (deadline - System.nanoTime() > 0)
+			Thread.onSpinWait();
+		return true;
+	}
+}
@@ -0,0 +1,129 @@
+package engine;
+
+/**
+ * Fast random number generator for the game, a xoroshiro128** generator
+ * seeded through SplitMix64. It is not synchronized: every subsystem draws
+ * from its own stream, all derived from the seed of the game, so a whole
+ * game can be replayed from that seed.
+ */
+public final class GameRandom {
+
+	/** Step of the SplitMix64 sequence, the 64 bit golden ratio. */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	/** Scale from 53 random bits to a double in [0, 1). */
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/** Subsystems drawing random numbers, each from its own stream. */
+	public enum Stream {
+		/** Formation movement, colors, shooters and shooting patterns. */
+		FORMATION,
+		/** Lives and explosions of the enemy ships. */
+		ENEMIES,
+		/** Item drops and their effects. */
+		ITEMS,
+		/** Durations of the cooldowns with variance. */
+		COOLDOWNS,
+		/** Visual effects only, never affecting the simulation. */
+		FLICKER
+	}
+
+	/** First half of the generator state. */
+	private long state0;
+	/** Second half of the generator state. */
+	private long state1;
+
+	/**
+	 * Constructor, expands a seed into the generator state.
+	 *
+	 * @param seed
+	 *            Any value, including zero.
+	 */
+	public GameRandom(final long seed) {
+		long mix = seed;
+		mix += GOLDEN_GAMMA;
+		this.state0 = splitMix(mix);
+		mix += GOLDEN_GAMMA;
+		this.state1 = splitMix(mix);
+	}
+
+	/**
+	 * Creates the generator of one stream of a game.
+	 *
+	 * @param seed
+	 *            Seed of the game.
+	 * @param stream
+	 *            Stream to create.
+	 * @return Generator independent from the other streams.
+	 */
+	public static GameRandom forStream(final long seed, final Stream stream) {
+		return new GameRandom(splitMix(seed + (stream.ordinal() + 1)
+				* GOLDEN_GAMMA * 2));
+	}
+
+	/**
+	 * Returns 64 random bits.
+	 *
+	 * @return Next random long.
+	 */
+	public long nextLong() {
+		long s0 = this.state0;
+		long s1 = this.state1;
+		long result = Long.rotateLeft(s0 * 5, 7) * 9;
+		s1 ^= s0;
+		this.state0 = Long.rotateLeft(s0, 24) ^ s1 ^ (s1 << 16);
+		this.state1 = Long.rotateLeft(s1, 37);
+		return result;
+	}
+
+	/**
+	 * Returns a random double, uniformly distributed like Math.random().
+	 *
+	 * @return Value between 0 inclusive and 1 exclusive.
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Returns a random int in a range.
+	 *
+	 * @param bound
+	 *            Upper bound, exclusive, must be positive.
+	 * @return Value between 0 inclusive and bound exclusive.
+	 */
+	public int nextInt(final int bound) {
+		if (bound <= 0)
+			throw new IllegalArgumentException("Bound must be positive.");
+		// Lemire's multiply and shift, rejecting the biased low values.
+		long product = (nextLong() >>> 32) * bound;
+		if ((product & 0xFFFFFFFFL) < bound) {
+			long threshold = (1L << 32) % bound;
+			while ((product & 0xFFFFFFFFL) < threshold)
+				product = (nextLong() >>> 32) * bound;
+		}
+		return (int) (product >>> 32);
+	}
+
+	/**
+	 * Returns a random boolean.
+	 *
+	 * @return True or false with the same chance.
+	 */
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * One step of SplitMix64, scrambling a value into well mixed bits.
+	 *
+	 * @param value
+	 *            Value to scramble.
+	 * @return Scrambled value.
+	 */
+	private static long splitMix(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,137 @@
+package engine;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import screen.GameScreen;
+
+/**
+ * Plays levels of the game without a window, drawing or sound, as fast as
+ * the processor allows. The game screen runs its usual rules, with the keys
+ * coming from a script or a bot and the random numbers from a seed, so the
+ * same settings, seed and input always give the same game.
+ *
+ * Every level is played in a game context of its own, so simulations may
+ * run in parallel on separate threads.
+ */
+public final class GameSimulation {
+
+	/** Ticks making up a second of game time, as in the real game. */
+	private static final int TICKS_PER_SECOND = 60;
+	/** Lives of each player at the start of a game. */
+	private static final int START_LIVES = 3;
+	/** Default limit of a level, ten minutes of game time. */
+	private static final int DEFAULT_MAX_TICKS = TICKS_PER_SECOND * 600;
+	/** Logger of the simulated games, only reporting problems. */
+	private static final Logger LOGGER = Logger.getLogger(
+			GameSimulation.class.getSimpleName());
+
+	static {
+		LOGGER.setLevel(Level.WARNING);
+	}
+
+	/** Difficulty of the simulated level. */
+	private final GameSettings settings;
+	/** Seed of the random numbers of the game. */
+	private final long seed;
+	/** Keys driving the ships. */
+	private final InputSource input;
+	/** Most ticks a level may last before it is given up. */
+	private int maxTicks = DEFAULT_MAX_TICKS;
+	/** Destination of the sound effects, dropping them by default. */
+	private AudioBackend audio = AudioBackend.NONE;
+
+	/** Ticks run by the last level. */
+	private int ticks;
+	/** If the last level reached the tick limit before finishing. */
+	private boolean timedOut;
+
+	/**
+	 * Constructor, establishes what is simulated.
+	 *
+	 * @param settings
+	 *            Difficulty of the level.
+	 * @param seed
+	 *            Seed of the random numbers of the game.
+	 * @param input
+	 *            Script or bot playing the game.
+	 */
+	public GameSimulation(final GameSettings settings, final long seed,
+			final InputSource input) {
+		this.settings = settings;
+		this.seed = seed;
+		this.input = input;
+	}
+
+	/**
+	 * Plays a level from the start of a game, with full lives.
+	 *
+	 * @param level
+	 *            Number of the level.
+	 * @return State of the game once the level is over.
+	 */
+	public GameState run(final int level) {
+		return run(new GameState(level, 0, START_LIVES, START_LIVES, 0, 0, 0,
+				this.seed));
+	}
+
+	/**
+	 * Plays a level until it is cleared, both players are out of lives or
+	 * the tick limit is reached.
+	 *
+	 * @param start
+	 *            State of the game before the level.
+	 * @return State of the game once the level is over.
+	 */
+	public GameState run(final GameState start) {
+		GameContext context = new GameContext(LOGGER);
+		context.setSeed(this.seed);
+		context.setAudio(this.audio);
+		GameScreen screen = new GameScreen(context, start, this.settings,
+				false, Core.getWIDTH(), Core.getHEIGHT(), TICKS_PER_SECOND);
+		screen.setInputSource(this.input);
+		screen.initialize();
+		this.ticks = screen.simulate(this.maxTicks);
+		this.timedOut = this.ticks == this.maxTicks;
+		screen.finishLevel();
+		return screen.getGameState();
+	}
+
+	/**
+	 * Changes the tick limit of a level.
+	 *
+	 * @param limit
+	 *            Most ticks a level may last.
+	 */
+	public void setMaxTicks(final int limit) {
+		this.maxTicks = limit;
+	}
+
+	/**
+	 * Changes the destination of the sound effects, to capture them.
+	 *
+	 * @param backend
+	 *            Audio backend of the simulated games.
+	 */
+	public void setAudio(final AudioBackend backend) {
+		this.audio = backend;
+	}
+
+	/**
+	 * Getter for the ticks run by the last level.
+	 *
+	 * @return Ticks run.
+	 */
+	public int getTicks() {
+		return this.ticks;
+	}
+
+	/**
+	 * Checks if the last level was given up at the tick limit.
+	 *
+	 * @return True if the level didn't finish.
+	 */
+	public boolean isTimedOut() {
+		return this.timedOut;
+	}
+}
@@ -21,6 +21,8 @@ public class GameState {
 	private int shipsDestroyed;
 	/** Current coin. */
 	private int coin;
+	/** Seed of the random numbers of the game. */
+	private long seed;
 
 	/**
 	 * Constructor.
@@ -37,10 +39,14 @@ public class GameState {
 	 *            Bullets shot until now.
 	 * @param shipsDestroyed
 	 *            Ships destroyed until now.
+	 * @param coin
+	 *            Current coin.
+	 * @param seed
+	 *            Seed of the random numbers of the game.
 	 */
 	public GameState(final int level, final int score,
 			final int livesRemainingL, final int livesRemainingR, final int bulletsShot,
-			final int shipsDestroyed, final int coin) {
+			final int shipsDestroyed, final int coin, final long seed) {
 		this.level = level;
 		this.score = score;
 		this.livesRemainingL = livesRemainingL;
@@ -48,6 +54,7 @@ public class GameState {
 		this.bulletsShot = bulletsShot;
 		this.shipsDestroyed = shipsDestroyed;
 		this.coin = coin;
+		this.seed = seed;
 	}
 
 	/**
@@ -97,4 +104,21 @@ public class GameState {
 	 */
 	public final int getCoin() { return coin;}
 
+	/**
+	 * @return the seed
+	 */
+	public final long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Checks if the game ends after this level, which happens as soon as
+	 * either player is out of lives.
+	 *
+	 * @return True if a player has no lives left.
+	 */
+	public final boolean isGameOver() {
+		return livesRemainingL <= 0 || livesRemainingR <= 0;
+	}
+
 }
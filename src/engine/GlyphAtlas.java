@@ -0,0 +1,302 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Pre-rendered printable ASCII glyphs of one font, so text and numbers can be
+ * drawn one blit per character without building Strings or going through the
+ * font renderer every frame.
+ */
+final class GlyphAtlas {
+
+	/** First character in the atlas. */
+	private static final char FIRST_CHAR = ' ';
+	/** Last character in the atlas. */
+	private static final char LAST_CHAR = '~';
+	/** Number of characters in the atlas. */
+	private static final int CHAR_COUNT = LAST_CHAR - FIRST_CHAR + 1;
+	/** Initial number of colors reserved. */
+	private static final int INITIAL_COLOR_SLOTS = 4;
+
+	/** Metrics of the font the atlas was built from. */
+	private final FontMetrics metrics;
+	/** Horizontal advance of every character. */
+	private final int[] advances = new int[CHAR_COUNT];
+	/** Width of a glyph cell. */
+	private final int cellWidth;
+	/** Height of a glyph cell. */
+	private final int cellHeight;
+	/** Space left of the origin of every cell, for overhanging glyphs. */
+	private final int padding;
+	/** Distance from the top of a cell to the baseline. */
+	private final int baseline;
+	/** White glyphs, one cell per character. */
+	private final BufferedImage mask;
+
+	/** ARGB value of every tinted strip. */
+	private int[] colorKeys = new int[INITIAL_COLOR_SLOTS];
+	/** Glyph strips tinted per color, parallel to colorKeys. */
+	private BufferedImage[] strips = new BufferedImage[INITIAL_COLOR_SLOTS];
+	/** Number of tinted strips. */
+	private int colorCount;
+
+	/**
+	 * Constructor, renders every glyph of the font.
+	 *
+	 * @param font
+	 *            Font to render.
+	 * @param metrics
+	 *            Metrics of the font on the back buffer.
+	 */
+	GlyphAtlas(final Font font, final FontMetrics metrics) {
+		this.metrics = metrics;
+		int maxAdvance = 0;
+		for (int i = 0; i < CHAR_COUNT; i++) {
+			this.advances[i] = metrics.charWidth((char) (FIRST_CHAR + i));
+			maxAdvance = Math.max(maxAdvance, this.advances[i]);
+		}
+		this.padding = font.getSize();
+		this.cellWidth = maxAdvance + this.padding * 2;
+		this.cellHeight = metrics.getAscent() + metrics.getDescent()
+				+ this.padding * 2;
+		this.baseline = metrics.getAscent() + this.padding;
+
+		this.mask = new BufferedImage(this.cellWidth * CHAR_COUNT,
+				this.cellHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D graphics = this.mask.createGraphics();
+		graphics.setFont(font);
+		graphics.setColor(Color.WHITE);
+		char[] glyph = new char[1];
+		for (int i = 0; i < CHAR_COUNT; i++) {
+			glyph[0] = (char) (FIRST_CHAR + i);
+			graphics.drawChars(glyph, 0, 1,
+					i * this.cellWidth + this.padding, this.baseline);
+		}
+		graphics.dispose();
+	}
+
+	/**
+	 * Getter for the metrics of the font.
+	 *
+	 * @return Font metrics.
+	 */
+	FontMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Draws a text, characters outside printable ASCII are skipped.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param text
+	 *            Text to draw.
+	 * @param positionX
+	 *            Left side of the text.
+	 * @param positionY
+	 *            Baseline of the text.
+	 * @param color
+	 *            Text color.
+	 * @return Left side of the next character.
+	 */
+	int drawText(final Graphics graphics, final CharSequence text,
+			final int positionX, final int positionY, final Color color) {
+		BufferedImage strip = getStrip(color);
+		int x = positionX;
+		for (int i = 0; i < text.length(); i++)
+			x = drawGlyph(graphics, strip, text.charAt(i), x, positionY);
+		return x;
+	}
+
+	/**
+	 * Draws a number in decimal, as String.format("%0<digits>d") would.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param value
+	 *            Number to draw.
+	 * @param positionX
+	 *            Left side of the number.
+	 * @param positionY
+	 *            Baseline of the number.
+	 * @param digits
+	 *            Minimum characters, zero padded, including the sign.
+	 * @param color
+	 *            Text color.
+	 * @return Left side of the next character.
+	 */
+	int drawNumber(final Graphics graphics, final int value,
+			final int positionX, final int positionY, final int digits,
+			final Color color) {
+		BufferedImage strip = getStrip(color);
+		int x = positionX;
+		long magnitude = Math.abs((long) value);
+		int length = digitCount(magnitude);
+		int padding = digits - length;
+		if (value < 0) {
+			x = drawGlyph(graphics, strip, '-', x, positionY);
+			padding--;
+		}
+		for (int i = 0; i < padding; i++)
+			x = drawGlyph(graphics, strip, '0', x, positionY);
+
+		long divisor = 1;
+		for (int i = 1; i < length; i++)
+			divisor *= 10;
+		for (; divisor > 0; divisor /= 10)
+			x = drawGlyph(graphics, strip,
+					(char) ('0' + magnitude / divisor % 10), x, positionY);
+		return x;
+	}
+
+	/**
+	 * Measures a text.
+	 *
+	 * @param text
+	 *            Text to measure.
+	 * @return Width of the text.
+	 */
+	int measureText(final CharSequence text) {
+		int width = 0;
+		for (int i = 0; i < text.length(); i++)
+			width += advance(text.charAt(i));
+		return width;
+	}
+
+	/**
+	 * Measures a number as drawn by drawNumber.
+	 *
+	 * @param value
+	 *            Number to measure.
+	 * @param digits
+	 *            Minimum characters, zero padded, including the sign.
+	 * @return Width of the number.
+	 */
+	int measureNumber(final int value, final int digits) {
+		int length = digitCount(Math.abs((long) value));
+		int width = length * advance('0');
+		if (value < 0)
+			width += advance('-');
+		int padding = digits - length - (value < 0 ? 1 : 0);
+		if (padding > 0)
+			width += padding * advance('0');
+		return width;
+	}
+
+	/**
+	 * Draws a single glyph.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param strip
+	 *            Tinted glyphs.
+	 * @param c
+	 *            Character to draw.
+	 * @param positionX
+	 *            Left side of the character.
+	 * @param positionY
+	 *            Baseline of the character.
+	 * @return Left side of the next character.
+	 */
+	private int drawGlyph(final Graphics graphics, final BufferedImage strip,
+			final char c, final int positionX, final int positionY) {
+		if (c < FIRST_CHAR || c > LAST_CHAR)
+			return positionX;
+		int index = c - FIRST_CHAR;
+		int destinationX = positionX - this.padding;
+		int destinationY = positionY - this.baseline;
+		int sourceX = index * this.cellWidth;
+		graphics.drawImage(strip, destinationX, destinationY,
+				destinationX + this.cellWidth,
+				destinationY + this.cellHeight, sourceX, 0,
+				sourceX + this.cellWidth, this.cellHeight, null);
+		return positionX + this.advances[index];
+	}
+
+	/**
+	 * Returns the advance of a character, 0 if it isn't in the atlas.
+	 *
+	 * @param c
+	 *            Character to measure.
+	 * @return Advance of the character.
+	 */
+	private int advance(final char c) {
+		if (c < FIRST_CHAR || c > LAST_CHAR)
+			return 0;
+		return this.advances[c - FIRST_CHAR];
+	}
+
+	/**
+	 * Returns the glyphs tinted in a color, tinting them the first time the
+	 * color is requested.
+	 *
+	 * @param color
+	 *            Color of the glyphs.
+	 * @return Tinted glyph strip.
+	 */
+	private BufferedImage getStrip(final Color color) {
+		int argb = color.getRGB();
+		for (int i = 0; i < this.colorCount; i++)
+			if (this.colorKeys[i] == argb)
+				return this.strips[i];
+
+		if (this.colorCount == this.colorKeys.length) {
+			this.colorKeys = Arrays.copyOf(this.colorKeys,
+					this.colorCount * 2);
+			this.strips = Arrays.copyOf(this.strips, this.colorCount * 2);
+		}
+		BufferedImage strip = tint(argb);
+		this.colorKeys[this.colorCount] = argb;
+		this.strips[this.colorCount] = strip;
+		this.colorCount++;
+		return strip;
+	}
+
+	/**
+	 * Copies the white glyphs in another color, keeping their coverage.
+	 *
+	 * @param argb
+	 *            Color of the glyphs.
+	 * @return Tinted glyph strip.
+	 */
+	private BufferedImage tint(final int argb) {
+		int width = this.mask.getWidth();
+		int height = this.mask.getHeight();
+		BufferedImage strip = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+		int red = (argb >> 16) & 0xFF;
+		int green = (argb >> 8) & 0xFF;
+		int blue = argb & 0xFF;
+		int[] row = new int[width];
+		for (int y = 0; y < height; y++) {
+			this.mask.getRGB(0, y, width, 1, row, 0, width);
+			for (int x = 0; x < width; x++) {
+				int alpha = row[x] >>> 24;
+				row[x] = alpha == 0 ? 0
+						: (alpha << 24) | (red << 16) | (green << 8) | blue;
+			}
+			strip.setRGB(0, y, width, 1, row, 0, width);
+		}
+		return strip;
+	}
+
+	/**
+	 * Counts the decimal digits of a non-negative number.
+	 *
+	 * @param value
+	 *            Number to count.
+	 * @return Number of digits, at least 1.
+	 */
+	private static int digitCount(final long value) {
+		int count = 1;
+		for (long rest = value / 10; rest > 0; rest /= 10)
+			count++;
+		return count;
+	}
+}
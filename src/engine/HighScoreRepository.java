@@ -0,0 +1,117 @@
+package engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the high scores in memory, so they are read from disk once and only
+ * read again after new scores are saved.
+ */
+public final class HighScoreRepository {
+
+	/** Singleton instance of the class. */
+	private static HighScoreRepository instance;
+	/** Application logger. */
+	private static Logger logger;
+
+	/** Sorted high scores, null until loaded or after a save. */
+	private List<Score> highScores;
+	/** Best score of the loaded list, -1 if there is none. */
+	private int maxScore;
+	/** Number of times the scores have been read from disk. */
+	private int diskReads;
+
+	/**
+	 * Private constructor.
+	 */
+	private HighScoreRepository() {
+		logger = Core.getLogger();
+	}
+
+	/**
+	 * Returns shared instance of HighScoreRepository.
+	 *
+	 * @return Shared instance of HighScoreRepository.
+	 */
+	protected static HighScoreRepository getInstance() {
+		if (instance == null)
+			instance = new HighScoreRepository();
+		return instance;
+	}
+
+	/**
+	 * Returns the high scores, sorted from best to worst.
+	 *
+	 * @return Read-only list of high scores, empty if they couldn't be
+	 *         loaded.
+	 */
+	public List<Score> getHighScores() {
+		load();
+		return Collections.unmodifiableList(this.highScores);
+	}
+
+	/**
+	 * Returns the best score recorded.
+	 *
+	 * @return Best score, -1 if there are no high scores.
+	 */
+	public int getMaxScore() {
+		load();
+		return this.maxScore;
+	}
+
+	/**
+	 * Saves the high scores to disk, and drops the cached ones so the next
+	 * read picks up the saved file.
+	 *
+	 * @param scores
+	 *            High scores to save.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	public void saveHighScores(final List<Score> scores) throws IOException {
+		try {
+			Core.getFileManager().saveHighScores(scores);
+		} finally {
+			this.highScores = null;
+		}
+	}
+
+	/**
+	 * Getter for the number of times the scores file was read.
+	 *
+	 * @return Disk reads during this session.
+	 */
+	public int getDiskReads() {
+		return this.diskReads;
+	}
+
+	/**
+	 * Reads the high scores from disk if they are not cached.
+	 */
+	private void load() {
+		if (this.highScores != null)
+			return;
+
+		this.diskReads++;
+		List<Score> loaded;
+		try {
+			loaded = Core.getFileManager().loadHighScores();
+		} catch (NumberFormatException | IOException e) {
+			logger.warning("Couldn't load high scores!");
+			loaded = new ArrayList<Score>();
+		}
+
+		int max = -1;
+		for (Score score : loaded)
+			max = Math.max(max, score.getScore());
+
+		this.highScores = loaded;
+		this.maxScore = max;
+		logger.fine("High scores loaded from disk, read " + this.diskReads
+				+ " times this session.");
+	}
+}
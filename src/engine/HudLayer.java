@@ -0,0 +1,280 @@
+package engine;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Keeps the top bar of the game screen in an off-screen layer. Each part of
+ * the bar is only rendered again when the value it shows changes, and the
+ * whole layer is copied to the screen with a single blit. Only used by the
+ * thread drawing, every value shown is passed in.
+ */
+final class HudLayer {
+
+	/** Left player lives region. */
+	static final int LIVES_L = 0;
+	/** Right player lives region. */
+	static final int LIVES_R = 1;
+	/** Coin icon and count region. */
+	static final int COIN = 2;
+	/** Score region. */
+	static final int SCORE = 3;
+	/** Separation line region. */
+	static final int SEPARATOR = 4;
+	/** Number of regions of the layer. */
+	private static final int REGIONS = 5;
+
+	/** Right edge of the left lives row. */
+	private static final int LIVES_L_RIGHT = 165;
+	/** Right edge of the right lives row. */
+	private static final int LIVES_R_RIGHT = 300;
+	/** Distance from the right side of the screen to the coin region. */
+	private static final int COIN_OFFSET = 262;
+	/** Distance from the right side of the screen to the score region. */
+	private static final int SCORE_OFFSET = 170;
+
+	/** Draw manager that renders the contents of every region. */
+	private final DrawManager drawManager;
+	/** Cached layer, transparent where nothing is drawn. */
+	private BufferedImage layer;
+	/** Graphics context of the layer. */
+	private Graphics2D layerGraphics;
+	/** Height of the separation line the layer was built for. */
+	private int separatorY;
+
+	/** Left edge of every region. */
+	private final int[] regionX = new int[REGIONS];
+	/** Top edge of every region. */
+	private final int[] regionY = new int[REGIONS];
+	/** Width of every region. */
+	private final int[] regionWidth = new int[REGIONS];
+	/** Height of every region. */
+	private final int[] regionHeight = new int[REGIONS];
+	/** Value shown by every region when it was last rendered. */
+	private final long[] keys = new long[REGIONS];
+	/** Regions to render on the current frame. */
+	private final boolean[] dirty = new boolean[REGIONS];
+
+	/** Regions rendered on the last frame. */
+	private int lastFrameRedraws;
+	/** Regions rendered since the layer was created. */
+	private long totalRedraws;
+	/** Frames drawn since the layer was created. */
+	private long frames;
+
+	/**
+	 * Constructor, the layer itself is built on the first draw.
+	 *
+	 * @param drawManager
+	 *            Draw manager that renders the regions.
+	 */
+	HudLayer(final DrawManager drawManager) {
+		this.drawManager = drawManager;
+	}
+
+	/**
+	 * Brings the dirty regions up to date and draws the layer.
+	 *
+	 * @param target
+	 *            Graphics to draw the layer on.
+	 * @param width
+	 *            Screen width.
+	 * @param separatorY
+	 *            Y coordinate of the separation line.
+	 * @param score
+	 *            Current score.
+	 * @param coin
+	 *            Current coins.
+	 * @param livesL
+	 *            Lives of the left player.
+	 * @param livesR
+	 *            Lives of the right player.
+	 * @param maxScore
+	 *            Highest score saved, a higher score is shown as new.
+	 * @param color
+	 *            Color of the separation line.
+	 */
+	void draw(final Graphics target, final int width, final int separatorY,
+			final int score, final int coin, final int livesL,
+			final int livesR, final int maxScore, final Color color) {
+		if (this.layer == null || this.layer.getWidth() != width
+				|| this.separatorY != separatorY)
+			rebuild(width, separatorY);
+
+		int icons = this.drawManager.getLifeIconVersion();
+		boolean newScore = maxScore < score;
+
+		check(LIVES_L, ((long) icons << 32) | (livesL & 0xFFFFFFFFL));
+		check(LIVES_R, ((long) icons << 32) | (livesR & 0xFFFFFFFFL));
+		check(COIN, coin);
+		check(SCORE, ((long) score << 1) | (newScore ? 1 : 0));
+		check(SEPARATOR, color.getRGB());
+
+		// Regions sharing pixels are rendered together, so clearing one
+		// doesn't erase part of the other.
+		boolean spread = true;
+		while (spread) {
+			spread = false;
+			for (int i = 0; i < REGIONS; i++)
+				for (int j = 0; j < REGIONS; j++)
+					if (this.dirty[i] && !this.dirty[j] && overlaps(i, j)) {
+						this.dirty[j] = true;
+						spread = true;
+					}
+		}
+
+		Composite composite = this.layerGraphics.getComposite();
+		this.layerGraphics.setComposite(AlphaComposite.Clear);
+		for (int i = 0; i < REGIONS; i++)
+			if (this.dirty[i])
+				this.layerGraphics.fillRect(this.regionX[i], this.regionY[i],
+						this.regionWidth[i], this.regionHeight[i]);
+		this.layerGraphics.setComposite(composite);
+
+		int redraws = 0;
+		for (int i = 0; i < REGIONS; i++) {
+			if (!this.dirty[i])
+				continue;
+			switch (i) {
+			case LIVES_L:
+				this.drawManager.renderLives(this.layerGraphics, livesL, 0);
+				break;
+			case LIVES_R:
+				this.drawManager.renderLives(this.layerGraphics, livesR, 1);
+				break;
+			case COIN:
+				this.drawManager.renderCoin(this.layerGraphics, width, coin);
+				break;
+			case SCORE:
+				this.drawManager.renderScore(this.layerGraphics, width, score,
+						newScore);
+				break;
+			default:
+				this.drawManager.renderHorizontalLine(this.layerGraphics,
+						width, separatorY, color);
+				break;
+			}
+			this.dirty[i] = false;
+			redraws++;
+		}
+
+		this.lastFrameRedraws = redraws;
+		this.totalRedraws += redraws;
+		this.frames++;
+
+		target.drawImage(this.layer, 0, 0, null);
+	}
+
+	/**
+	 * Getter for the regions rendered on the last frame.
+	 *
+	 * @return Regions rendered on the last frame.
+	 */
+	int getLastFrameRedraws() {
+		return this.lastFrameRedraws;
+	}
+
+	/**
+	 * Getter for the regions rendered since the layer was created.
+	 *
+	 * @return Total regions rendered.
+	 */
+	long getTotalRedraws() {
+		return this.totalRedraws;
+	}
+
+	/**
+	 * Getter for the frames drawn since the layer was created.
+	 *
+	 * @return Frames drawn.
+	 */
+	long getFrames() {
+		return this.frames;
+	}
+
+	/**
+	 * Marks a region dirty if the value it shows changed.
+	 *
+	 * @param region
+	 *            Region to check.
+	 * @param key
+	 *            Value the region must show.
+	 */
+	private void check(final int region, final long key) {
+		if (this.keys[region] != key) {
+			this.keys[region] = key;
+			this.dirty[region] = true;
+		}
+	}
+
+	/**
+	 * Checks if two regions share any pixel.
+	 *
+	 * @param a
+	 *            First region.
+	 * @param b
+	 *            Second region.
+	 * @return True when the regions overlap.
+	 */
+	private boolean overlaps(final int a, final int b) {
+		return this.regionX[a] < this.regionX[b] + this.regionWidth[b]
+				&& this.regionX[b] < this.regionX[a] + this.regionWidth[a]
+				&& this.regionY[a] < this.regionY[b] + this.regionHeight[b]
+				&& this.regionY[b] < this.regionY[a] + this.regionHeight[a];
+	}
+
+	/**
+	 * Builds an empty layer for the given screen size, with every region
+	 * marked dirty.
+	 *
+	 * @param width
+	 *            Screen width.
+	 * @param separatorY
+	 *            Y coordinate of the separation line.
+	 */
+	private void rebuild(final int width, final int separatorY) {
+		if (this.layerGraphics != null)
+			this.layerGraphics.dispose();
+		this.layer = new BufferedImage(width, separatorY + 2,
+				BufferedImage.TYPE_INT_ARGB_PRE);
+		this.layerGraphics = this.layer.createGraphics();
+		this.separatorY = separatorY;
+
+		setRegion(LIVES_L, 0, 0, LIVES_L_RIGHT, separatorY);
+		setRegion(LIVES_R, LIVES_L_RIGHT, 0, LIVES_R_RIGHT - LIVES_L_RIGHT,
+				separatorY);
+		setRegion(COIN, width - COIN_OFFSET, 0, COIN_OFFSET - SCORE_OFFSET,
+				separatorY);
+		setRegion(SCORE, width - SCORE_OFFSET, 0, SCORE_OFFSET, separatorY);
+		setRegion(SEPARATOR, 0, separatorY, width, 2);
+
+		for (int i = 0; i < REGIONS; i++)
+			this.dirty[i] = true;
+	}
+
+	/**
+	 * Sets the bounds of a region.
+	 *
+	 * @param region
+	 *            Region to set.
+	 * @param x
+	 *            Left edge.
+	 * @param y
+	 *            Top edge.
+	 * @param width
+	 *            Region width.
+	 * @param height
+	 *            Region height.
+	 */
+	private void setRegion(final int region, final int x, final int y,
+			final int width, final int height) {
+		this.regionX[region] = x;
+		this.regionY[region] = y;
+		this.regionWidth[region] = width;
+		this.regionHeight[region] = height;
+	}
+}
@@ -0,0 +1,23 @@
+package engine;
+
+/**
+ * Source of the keys pressed during a game: the keyboard, a script or a bot.
+ */
+public interface InputSource {
+
+	/**
+	 * Advances the source to the next tick, before its keys are read. The
+	 * keyboard doesn't need it.
+	 */
+	default void poll() {
+	}
+
+	/**
+	 * Returns true if the provided key is currently pressed.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Key state.
+	 */
+	boolean isKeyDown(int keyCode);
+}
@@ -2,7 +2,7 @@ package engine;
 
 import screen.ShopScreen;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 import engine.Item.types;
@@ -18,44 +18,45 @@ public class Inventory {
         }
     }
 
-    public String dumpinven()
+    public String dumpinven(GameContext context)
     {
         String ret=new String();
-        for (Item item : inventory_ship) {
+        for (Item item : context.getShipInventory()) {
             ret+=Integer.toString(item.itemid)+" "+Boolean.toString(item.appliedp)+" ";
         }
         return ret;
     }
 
-    public static void parseinven(String input)
+    public static void parseinven(GameContext context, String input)
     {
         var tok=new java.util.StringTokenizer(input, " ");
         while(tok.hasMoreTokens())
         {
             int itemid=Integer.parseInt(tok.nextToken());
             Boolean appp=Boolean.parseBoolean(tok.nextToken());
-            inventory_ship.add(Item.getItembyID(itemid));
+            List<Item> inventory_ship = context.getShipInventory();
+            inventory_ship.add(Item.getItembyID(context, itemid));
             inventory_ship.get(inventory_ship.size()).appliedp=appp;
         }
     }
 
-    public static ArrayList<Item> inventory_ship;
-    public static ArrayList<Item> inventory_bgm;
-
-    public static int getcurrentship()
+    public static int getcurrentship(GameContext context)
     {
-        for (Item item : inventory_ship) {
+        // Asked by every ship on every update, so no iterator is created.
+        List<Item> inventory_ship = context.getShipInventory();
+        for (int i = 0; i < inventory_ship.size(); i++) {
+            Item item = inventory_ship.get(i);
             if(item.appliedp) return item.itemid;
         }
         return 1;
     }
 
-    public static boolean hasitem(Item itm)
+    public static boolean hasitem(GameContext context, Item itm)
     {
-        for (Item item : inventory_ship) {
+        for (Item item : context.getShipInventory()) {
             if(item==itm) return true;
         }
-        for (Item item : inventory_bgm) {
+        for (Item item : context.getBgmInventory()) {
             if(item==itm) return true;
         }
         return false;
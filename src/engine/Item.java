@@ -2,8 +2,6 @@ package engine;
 
 import screen.ShopScreen;
 
-import java.util.ArrayList;
-
 import engine.DrawManager.SpriteType;
 
 
@@ -11,8 +9,6 @@ public class Item {
     /** FileManager instance. */
     private static FileManager fileManager;
 
-    public static ArrayList<Item> itemregistry_ship;
-    public static ArrayList<Item> itemregistry_bgm;
     /** Item ID, must be associated manually! (to use with use)
     id is given at registeration time(at load, filemanager). */
     public enum types{
@@ -39,9 +35,9 @@ public class Item {
         name=pName;
         price = pPrice;
     }
-    public static Item getItembyID(int itemid)
+    public static Item getItembyID(GameContext context, int itemid)
     {
-        for (Item ite : itemregistry_ship) {
+        for (Item ite : context.getShipRegistry()) {
             if(ite.itemid==itemid) return ite;
         }
         return null;
@@ -0,0 +1,138 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Shared life icons of the applied ship skin. Every row of lives is
+ * pre-rendered, so it can be drawn with a single blit, and the rows are only
+ * rebuilt when another skin is applied.
+ */
+final class LifeIconRegistry {
+
+	/** Horizontal distance between two life icons. */
+	static final int ICON_SPACING = 35;
+	/** Skin value before any skin has been applied. */
+	private static final int NO_SKIN = Integer.MIN_VALUE;
+	/** Rows reserved when a skin is applied. */
+	private static final int INITIAL_ROWS = 4;
+
+	/** Atlas the ship sprite is taken from. */
+	private final SpriteAtlas spriteAtlas;
+	/** Item id of the applied ship skin. */
+	private int skin = NO_SKIN;
+	/** Life icon in the applied skin, null if the skin has no color. */
+	private BufferedImage icon;
+	/** Pre-rendered rows, indexed by number of lives. */
+	private BufferedImage[] rows = new BufferedImage[INITIAL_ROWS];
+	/** Times the icons have been rebuilt. */
+	private int version;
+
+	/**
+	 * Constructor, icons are built when a skin is applied.
+	 *
+	 * @param spriteAtlas
+	 *            Atlas the ship sprite is taken from.
+	 */
+	LifeIconRegistry(final SpriteAtlas spriteAtlas) {
+		this.spriteAtlas = spriteAtlas;
+	}
+
+	/**
+	 * Switches the icons to a ship skin, dropping the rows of the previous
+	 * one. Applying the current skin again does nothing.
+	 *
+	 * @param shipItemId
+	 *            Item id of the applied ship.
+	 */
+	void applySkin(final int shipItemId) {
+		if (this.skin == shipItemId)
+			return;
+
+		Color color = skinColor(shipItemId);
+		this.skin = shipItemId;
+		this.icon = color == null ? null
+				: this.spriteAtlas.getImage(SpriteType.ShipLive, color);
+		Arrays.fill(this.rows, null);
+		this.version++;
+	}
+
+	/**
+	 * Draws a row of life icons, building it the first time it is needed.
+	 *
+	 * @param graphics
+	 *            Graphics to draw on.
+	 * @param lives
+	 *            Number of icons in the row.
+	 * @param positionX
+	 *            Left side of the first icon.
+	 * @param positionY
+	 *            Upper side of the icons.
+	 */
+	void drawRow(final Graphics graphics, final int lives,
+			final int positionX, final int positionY) {
+		if (this.skin == NO_SKIN)
+			applySkin(Inventory.getcurrentship(Core.getContext()));
+		if (lives <= 0 || this.icon == null)
+			return;
+
+		if (lives >= this.rows.length)
+			this.rows = Arrays.copyOf(this.rows,
+					Math.max(lives + 1, this.rows.length * 2));
+		if (this.rows[lives] == null)
+			this.rows[lives] = buildRow(lives);
+		graphics.drawImage(this.rows[lives], positionX, positionY, null);
+	}
+
+	/**
+	 * Getter for the number of times the icons were rebuilt, changes whenever
+	 * a different skin is applied.
+	 *
+	 * @return Icon version.
+	 */
+	int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Renders a row of icons.
+	 *
+	 * @param lives
+	 *            Number of icons in the row.
+	 * @return Row image.
+	 */
+	private BufferedImage buildRow(final int lives) {
+		BufferedImage row = new BufferedImage(
+				ICON_SPACING * (lives - 1) + this.icon.getWidth(),
+				this.icon.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics graphics = row.getGraphics();
+		for (int i = 0; i < lives; i++)
+			graphics.drawImage(this.icon, ICON_SPACING * i, 0, null);
+		graphics.dispose();
+		return row;
+	}
+
+	/**
+	 * Returns the color of a ship skin.
+	 *
+	 * @param shipItemId
+	 *            Item id of the ship.
+	 * @return Skin color, null if the item is not a known ship.
+	 */
+	private static Color skinColor(final int shipItemId) {
+		switch (shipItemId) {
+		case 1000:
+			return Color.GREEN;
+		case 1001:
+			return Color.RED;
+		case 1002:
+			return Color.BLUE;
+		default:
+			return null;
+		}
+	}
+}
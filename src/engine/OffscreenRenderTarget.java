@@ -0,0 +1,144 @@
+package engine;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Keeps the presented frames in memory instead of showing them, so screens
+ * can be drawn without a display. The last frame can be saved as a PNG or
+ * reduced to a checksum for comparison against a known good one.
+ */
+public final class OffscreenRenderTarget implements RenderTarget {
+
+	/** Copy of the last presented frame. */
+	private BufferedImage image;
+	/** Pixels of the copy. */
+	private int[] pixels;
+	/** Directory every frame is saved to, null to save none. */
+	private File dumpDirectory;
+	/** Number of frames presented. */
+	private int frameCount;
+
+	/**
+	 * Constructor, establishes the frame size.
+	 * 
+	 * @param width
+	 *            Frame width.
+	 * @param height
+	 *            Frame height.
+	 */
+	public OffscreenRenderTarget(final int width, final int height) {
+		this.image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) this.image.getRaster()
+				.getDataBuffer()).getData();
+	}
+
+	/**
+	 * Copies the frame, and saves it if a dump directory is set.
+	 * 
+	 * @param frame
+	 *            Finished frame.
+	 */
+	@Override
+	public void present(final BufferedImage frame) {
+		if (frame.getWidth() != this.image.getWidth()
+				|| frame.getHeight() != this.image.getHeight()) {
+			this.image = new BufferedImage(frame.getWidth(),
+					frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+			this.pixels = ((DataBufferInt) this.image.getRaster()
+					.getDataBuffer()).getData();
+		}
+		Graphics graphics = this.image.getGraphics();
+		graphics.drawImage(frame, 0, 0, null);
+		graphics.dispose();
+		this.frameCount++;
+
+		if (this.dumpDirectory != null) {
+			try {
+				writePng(new File(this.dumpDirectory,
+						String.format("frame%05d.png", this.frameCount)));
+			} catch (IOException e) {
+				Core.getLogger().warning("Couldn't save frame "
+						+ this.frameCount + ".");
+			}
+		}
+	}
+
+	/**
+	 * Sets a directory to save every presented frame to, as numbered PNG
+	 * files.
+	 * 
+	 * @param directory
+	 *            Directory to save to, null to stop saving.
+	 */
+	public void setDumpDirectory(final File directory) {
+		this.dumpDirectory = directory;
+	}
+
+	/**
+	 * Getter for the last presented frame.
+	 * 
+	 * @return Copy of the last frame, overwritten by the next one.
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Getter for the number of frames presented.
+	 * 
+	 * @return Frames presented.
+	 */
+	public int getFrameCount() {
+		return this.frameCount;
+	}
+
+	/**
+	 * Saves the last presented frame.
+	 * 
+	 * @param file
+	 *            PNG file to write.
+	 * @throws IOException
+	 *             In case of saving problems.
+	 */
+	public void writePng(final File file) throws IOException {
+		ImageIO.write(this.image, "png", file);
+	}
+
+	/**
+	 * Computes a checksum of the last presented frame, equal for frames with
+	 * the same size and pixels.
+	 * 
+	 * @return CRC-32 of the frame size and pixels.
+	 */
+	public long checksum() {
+		CRC32 crc = new CRC32();
+		updateInt(crc, this.image.getWidth());
+		updateInt(crc, this.image.getHeight());
+		for (int pixel : this.pixels)
+			updateInt(crc, pixel & 0xFFFFFF);
+		return crc.getValue();
+	}
+
+	/**
+	 * Feeds an int to a checksum, most significant byte first.
+	 * 
+	 * @param crc
+	 *            Checksum to update.
+	 * @param value
+	 *            Value to add.
+	 */
+	private static void updateInt(final CRC32 crc, final int value) {
+		crc.update(value >>> 24);
+		crc.update(value >>> 16);
+		crc.update(value >>> 8);
+		crc.update(value);
+	}
+}
@@ -0,0 +1,156 @@
+package engine;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable objects. Free objects are kept on an array stack,
+ * so the most recently released one is handed out first, and objects
+ * released while the stack is full are left to the garbage collector.
+ *
+ * @param <T>
+ *            Type of the pooled objects.
+ */
+public final class Pool<T> {
+
+	/** Creates new objects when the pool is empty. */
+	private final Supplier<T> factory;
+	/** Cleans objects as they are released, can be null. */
+	private final Consumer<T> reset;
+	/** Free objects, from the bottom of the stack. */
+	private final Object[] free;
+	/** Number of free objects. */
+	private int freeCount;
+
+	/** Objects handed out. */
+	private long acquires;
+	/** Objects that had to be created because the pool was empty. */
+	private long misses;
+	/** Objects released while the pool was full. */
+	private long discards;
+	/** Objects handed out and not released yet. */
+	private int inUse;
+	/** Most objects handed out at the same time. */
+	private int highWaterMark;
+
+	/**
+	 * Constructor, creates the first free objects.
+	 *
+	 * @param factory
+	 *            Creates new objects.
+	 * @param reset
+	 *            Cleans objects as they are released, null if not needed.
+	 * @param capacity
+	 *            Maximum number of free objects kept.
+	 * @param prewarm
+	 *            Objects created upfront, at most the capacity.
+	 */
+	public Pool(final Supplier<T> factory, final Consumer<T> reset,
+			final int capacity, final int prewarm) {
+		this.factory = factory;
+		this.reset = reset;
+		this.free = new Object[capacity];
+		for (int i = 0; i < Math.min(prewarm, capacity); i++)
+			this.free[this.freeCount++] = factory.get();
+	}
+
+	/**
+	 * Returns a free object, a new one if there is none.
+	 *
+	 * @return Object ready to use.
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		this.acquires++;
+		this.inUse++;
+		this.highWaterMark = Math.max(this.highWaterMark, this.inUse);
+		if (this.freeCount == 0) {
+			this.misses++;
+			return this.factory.get();
+		}
+		T object = (T) this.free[--this.freeCount];
+		this.free[this.freeCount] = null;
+		return object;
+	}
+
+	/**
+	 * Gives an object back to the pool.
+	 *
+	 * @param object
+	 *            Object no longer used.
+	 * @return False if the pool was full and the object was discarded.
+	 */
+	public boolean release(final T object) {
+		if (this.inUse > 0)
+			this.inUse--;
+		if (this.freeCount == this.free.length) {
+			this.discards++;
+			return false;
+		}
+		if (this.reset != null)
+			this.reset.accept(object);
+		this.free[this.freeCount++] = object;
+		return true;
+	}
+
+	/**
+	 * Getter for the number of free objects.
+	 *
+	 * @return Objects waiting to be acquired.
+	 */
+	public int getFreeCount() {
+		return this.freeCount;
+	}
+
+	/**
+	 * Getter for the maximum number of free objects kept.
+	 *
+	 * @return Capacity of the pool.
+	 */
+	public int getCapacity() {
+		return this.free.length;
+	}
+
+	/**
+	 * Getter for the number of objects handed out.
+	 *
+	 * @return Total acquires.
+	 */
+	public long getAcquires() {
+		return this.acquires;
+	}
+
+	/**
+	 * Getter for the number of objects created because the pool was empty.
+	 *
+	 * @return Total misses.
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Getter for the number of objects released while the pool was full.
+	 *
+	 * @return Total discards.
+	 */
+	public long getDiscards() {
+		return this.discards;
+	}
+
+	/**
+	 * Getter for the most objects handed out at the same time.
+	 *
+	 * @return High-water mark of the objects in use.
+	 */
+	public int getHighWaterMark() {
+		return this.highWaterMark;
+	}
+
+	@Override
+	public String toString() {
+		return this.acquires + " acquires, " + this.misses + " misses, "
+				+ this.discards + " discards, " + this.highWaterMark
+				+ " at most in use";
+	}
+}
@@ -0,0 +1,18 @@
+package engine;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Destination of the frames drawn by the draw manager.
+ */
+public interface RenderTarget {
+
+	/**
+	 * Shows a finished frame. The image is reused for the next frame, so it
+	 * must be copied if it is kept.
+	 * 
+	 * @param image
+	 *            Finished frame.
+	 */
+	void present(BufferedImage image);
+}
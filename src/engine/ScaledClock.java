@@ -0,0 +1,75 @@
+package engine;
+
+/**
+ * Clock running a multiple of the speed of another one. Changing the scale
+ * keeps the time continuous, only its pace changes.
+ */
+public final class ScaledClock implements GameClock {
+
+	/** Slowest scale allowed. */
+	public static final double MIN_SCALE = 0.25;
+	/** Fastest scale allowed. */
+	public static final double MAX_SCALE = 16;
+
+	/** Clock being scaled. */
+	private final GameClock source;
+	/** Source time at the last scale change. */
+	private long sourceBase;
+	/** Own time at the last scale change. */
+	private long base;
+	/** Current speed, relative to the source. */
+	private double scale;
+
+	/**
+	 * Constructor, starts at the same time and speed as the source.
+	 *
+	 * @param source
+	 *            Clock to scale.
+	 */
+	public ScaledClock(final GameClock source) {
+		this.source = source;
+		this.sourceBase = source.millis();
+		this.base = this.sourceBase;
+		this.scale = 1;
+	}
+
+	@Override
+	public synchronized long millis() {
+		return this.base
+				+ (long) ((this.source.millis() - this.sourceBase) * this.scale);
+	}
+
+	/**
+	 * Changes the speed of the clock from now on.
+	 *
+	 * @param newScale
+	 *            Speed relative to the source, clamped between MIN_SCALE and
+	 *            MAX_SCALE.
+	 */
+	public synchronized void setScale(final double newScale) {
+		long now = this.source.millis();
+		this.base += (long) ((now - this.sourceBase) * this.scale);
+		this.sourceBase = now;
+		this.scale = clamp(newScale);
+	}
+
+	/**
+	 * Getter for the speed of the clock.
+	 *
+	 * @return Speed relative to the source.
+	 */
+	public synchronized double getScale() {
+		return this.scale;
+	}
+
+	/**
+	 * Limits a scale to the allowed range.
+	 *
+	 * @param scale
+	 *            Requested scale.
+	 * @return Scale between MIN_SCALE and MAX_SCALE.
+	 */
+	public static double clamp(final double scale) {
+		return Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+	}
+}
@@ -0,0 +1,107 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Draws sprites by writing pixels straight into an int raster, bypassing
+ * Java2D. Every sprite is precomputed as horizontal runs of lit pixels,
+ * already scaled to screen pixels, so drawing it is a few array fills.
+ */
+final class SoftwareBlitter {
+
+	/** Size in screen pixels of every sprite pixel. */
+	private static final int PIXEL_SCALE = SpriteAtlas.PIXEL_SCALE;
+
+	/**
+	 * Runs of every sprite type, indexed by ordinal. Each run takes three
+	 * ints: row, first column and length, all in screen pixels.
+	 */
+	private final int[][] spans;
+
+	/**
+	 * Constructor, precomputes the runs of every loaded sprite.
+	 *
+	 * @param spriteMap
+	 *            Sprite types mapped to their pixel masks.
+	 */
+	SoftwareBlitter(final Map<SpriteType, boolean[][]> spriteMap) {
+		this.spans = new int[SpriteType.values().length][];
+		for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet())
+			this.spans[sprite.getKey().ordinal()] = buildSpans(
+					sprite.getValue());
+	}
+
+	/**
+	 * Draws a sprite, clipped to the raster bounds.
+	 *
+	 * @param pixels
+	 *            Raster to draw on, one int per pixel, row by row.
+	 * @param width
+	 *            Raster width.
+	 * @param height
+	 *            Raster height.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param rgb
+	 *            Color of the lit pixels.
+	 * @param positionX
+	 *            Left side of the sprite.
+	 * @param positionY
+	 *            Upper side of the sprite.
+	 */
+	void blit(final int[] pixels, final int width, final int height,
+			final SpriteType spriteType, final int rgb, final int positionX,
+			final int positionY) {
+		int[] runs = this.spans[spriteType.ordinal()];
+		if (runs == null)
+			return;
+
+		for (int i = 0; i < runs.length; i += 3) {
+			int y = positionY + runs[i];
+			if (y < 0 || y >= height)
+				continue;
+			int from = Math.max(positionX + runs[i + 1], 0);
+			int to = Math.min(positionX + runs[i + 1] + runs[i + 2], width);
+			if (from < to) {
+				int row = y * width;
+				Arrays.fill(pixels, row + from, row + to, rgb);
+			}
+		}
+	}
+
+	/**
+	 * Turns a sprite mask into runs of lit screen pixels.
+	 *
+	 * @param mask
+	 *            Sprite pixels, indexed [x][y].
+	 * @return Runs as row, first column and length triples.
+	 */
+	private static int[] buildSpans(final boolean[][] mask) {
+		int width = mask.length;
+		int height = width > 0 ? mask[0].length : 0;
+		int[] runs = new int[width * height * 3 * PIXEL_SCALE];
+		int count = 0;
+
+		for (int j = 0; j < height; j++) {
+			int i = 0;
+			while (i < width) {
+				if (!mask[i][j]) {
+					i++;
+					continue;
+				}
+				int start = i;
+				while (i < width && mask[i][j])
+					i++;
+				for (int dy = 0; dy < PIXEL_SCALE; dy++) {
+					runs[count++] = j * PIXEL_SCALE + dy;
+					runs[count++] = start * PIXEL_SCALE;
+					runs[count++] = (i - start) * PIXEL_SCALE;
+				}
+			}
+		}
+		return Arrays.copyOf(runs, count);
+	}
+}
@@ -0,0 +1,33 @@
+package engine;
+
+/**
+ * Sound effects of the game, each decoded once from its file in Bgm/.
+ */
+public enum SoundId {
+	/** A ship shooting. */
+	BULLET("ball.wav"),
+	/** A ship exploding. */
+	EXPLOSION("bomb.wav");
+
+	/** Name of the file of the sound. */
+	private final String fileName;
+
+	/**
+	 * Constructor, establishes the file of the sound.
+	 *
+	 * @param fileName
+	 *            Name of the file in Bgm/.
+	 */
+	SoundId(final String fileName) {
+		this.fileName = fileName;
+	}
+
+	/**
+	 * Getter for the file of the sound.
+	 *
+	 * @return Name of the file in Bgm/.
+	 */
+	public String getFileName() {
+		return this.fileName;
+	}
+}
@@ -0,0 +1,131 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Caches pre-rasterized sprites, one image per sprite type and color, so an
+ * entity can be drawn with a single blit instead of one rectangle per pixel.
+ */
+final class SpriteAtlas {
+
+	/** Size in screen pixels of every sprite pixel. */
+	static final int PIXEL_SCALE = 2;
+	/** Initial number of color slots reserved per sprite type. */
+	private static final int INITIAL_COLOR_SLOTS = 4;
+
+	/** Sprite types mapped to their pixel masks. */
+	private final Map<SpriteType, boolean[][]> spriteMap;
+	/** ARGB value of every cached color, indexed by sprite type ordinal. */
+	private int[][] colorKeys;
+	/** Cached images, parallel to colorKeys. */
+	private BufferedImage[][] images;
+	/** Number of cached colors, indexed by sprite type ordinal. */
+	private int[] colorCounts;
+	/** Number of images rasterized so far. */
+	private int rasterizedCount;
+
+	/**
+	 * Constructor, prepares an empty atlas over the loaded sprites.
+	 *
+	 * @param spriteMap
+	 *            Sprite types mapped to their pixel masks.
+	 */
+	SpriteAtlas(final Map<SpriteType, boolean[][]> spriteMap) {
+		int typeCount = SpriteType.values().length;
+		this.spriteMap = spriteMap;
+		this.colorKeys = new int[typeCount][INITIAL_COLOR_SLOTS];
+		this.images = new BufferedImage[typeCount][INITIAL_COLOR_SLOTS];
+		this.colorCounts = new int[typeCount];
+	}
+
+	/**
+	 * Rasterizes every loaded sprite in each of the given colors.
+	 *
+	 * @param colors
+	 *            Colors to build ahead of time.
+	 */
+	void preload(final Color[] colors) {
+		for (SpriteType spriteType : this.spriteMap.keySet())
+			for (Color color : colors)
+				getImage(spriteType, color);
+	}
+
+	/**
+	 * Returns the image of a sprite in a given color, rasterizing it the first
+	 * time the pair is requested.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return Sprite image, or null if the sprite has no pixel data.
+	 */
+	BufferedImage getImage(final SpriteType spriteType, final Color color) {
+		int type = spriteType.ordinal();
+		int argb = color.getRGB();
+		int[] keys = this.colorKeys[type];
+		int count = this.colorCounts[type];
+
+		for (int i = 0; i < count; i++)
+			if (keys[i] == argb)
+				return this.images[type][i];
+
+		boolean[][] mask = this.spriteMap.get(spriteType);
+		if (mask == null)
+			return null;
+
+		if (count == keys.length) {
+			this.colorKeys[type] = Arrays.copyOf(keys, count * 2);
+			this.images[type] = Arrays.copyOf(this.images[type],
+					count * 2);
+		}
+		BufferedImage image = rasterize(mask, argb);
+		this.colorKeys[type][count] = argb;
+		this.images[type][count] = image;
+		this.colorCounts[type] = count + 1;
+		this.rasterizedCount++;
+		return image;
+	}
+
+	/**
+	 * Getter for the number of images built so far.
+	 *
+	 * @return Number of rasterized sprite images.
+	 */
+	int getRasterizedCount() {
+		return this.rasterizedCount;
+	}
+
+	/**
+	 * Builds a scaled, transparent image of a sprite mask.
+	 *
+	 * @param mask
+	 *            Sprite pixels, indexed [x][y].
+	 * @param argb
+	 *            Color of the lit pixels.
+	 * @return Rasterized sprite.
+	 */
+	private static BufferedImage rasterize(final boolean[][] mask,
+			final int argb) {
+		int width = mask.length;
+		int height = width > 0 ? mask[0].length : 0;
+		BufferedImage image = new BufferedImage(
+				Math.max(1, width * PIXEL_SCALE),
+				Math.max(1, height * PIXEL_SCALE),
+				BufferedImage.TYPE_INT_ARGB_PRE);
+
+		for (int i = 0; i < width; i++)
+			for (int j = 0; j < height; j++)
+				if (mask[i][j])
+					for (int dx = 0; dx < PIXEL_SCALE; dx++)
+						for (int dy = 0; dy < PIXEL_SCALE; dy++)
+							image.setRGB(i * PIXEL_SCALE + dx,
+									j * PIXEL_SCALE + dy, argb);
+		return image;
+	}
+}
@@ -0,0 +1,216 @@
+package engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Binary pack of the sprites, loaded with one read instead of parsing the
+ * text sprite file. The pack starts with a magic number and the sprite
+ * count; every sprite then has the name of its type, its two dimensions
+ * and its rows packed eight pixels a byte. Sprites are found by the name of
+ * their type, so their order in the pack doesn't matter and new sprites
+ * only need a type and an entry.
+ *
+ * Running the class converts the text sprite file into a pack.
+ *
+ * Usage: SpritePack [text sprite file] [pack file]
+ */
+public final class SpritePack {
+
+	/** Name of the pack resource. */
+	public static final String RESOURCE = "sprites.pack";
+	/** Name of the text sprite resource. */
+	public static final String TEXT_RESOURCE = "graphics";
+	/** First bytes of a pack, "SPK" and the format version. */
+	private static final int MAGIC = 0x53504B01;
+	/** Default text sprite file converted. */
+	private static final String DEFAULT_TEXT_FILE = "res/" + TEXT_RESOURCE;
+	/** Default pack file written. */
+	private static final String DEFAULT_PACK_FILE = "res/" + RESOURCE;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private SpritePack() {
+
+	}
+
+	/**
+	 * Reads the sprites of a pack.
+	 *
+	 * @param data
+	 *            Whole content of the pack.
+	 * @return Sprites by type.
+	 * @throws IOException
+	 *             If the data isn't a valid pack.
+	 */
+	public static Map<SpriteType, boolean[][]> read(final byte[] data)
+			throws IOException {
+		ByteBuffer input = ByteBuffer.wrap(data);
+		Map<SpriteType, boolean[][]> sprites =
+				new EnumMap<SpriteType, boolean[][]>(SpriteType.class);
+		try {
+			if (input.getInt() != MAGIC)
+				throw new IOException("Not a sprite pack.");
+			int count = input.getShort() & 0xFFFF;
+			for (int s = 0; s < count; s++) {
+				// Names are written by writeUTF, plain ASCII for enum names.
+				// Skipped first, so a truncated name fails like a truncated row.
+				int nameLength = input.getShort() & 0xFFFF;
+				int nameStart = input.position();
+				input.position(nameStart + nameLength);
+				String name = new String(data, nameStart, nameLength,
+						StandardCharsets.US_ASCII);
+				boolean[][] sprite = new boolean[input.get() & 0xFF][input
+						.get() & 0xFF];
+				int rowBytes = rowBytes(sprite);
+				for (boolean[] pixels : sprite) {
+					int row = input.position();
+					input.position(row + rowBytes);
+					for (int j = 0; j < pixels.length; j++)
+						pixels[j] = (data[row + (j >> 3)]
+								& (0x80 >> (j & 7))) != 0;
+				}
+				sprites.put(SpriteType.valueOf(name), sprite);
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("Invalid sprite pack: " + e);
+		}
+		return sprites;
+	}
+
+	/**
+	 * Writes sprites into a pack.
+	 *
+	 * @param sprites
+	 *            Sprites by type, none larger than 255 pixels a side.
+	 * @return Whole content of the pack.
+	 */
+	public static byte[] write(final Map<SpriteType, boolean[][]> sprites) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeInt(MAGIC);
+			output.writeShort(sprites.size());
+			for (Map.Entry<SpriteType, boolean[][]> sprite : sprites
+					.entrySet()) {
+				boolean[][] pixels = sprite.getValue();
+				output.writeUTF(sprite.getKey().name());
+				output.writeByte(pixels.length);
+				output.writeByte(pixels.length == 0 ? 0 : pixels[0].length);
+				byte[] row = new byte[rowBytes(pixels)];
+				for (boolean[] line : pixels) {
+					Arrays.fill(row, (byte) 0);
+					for (int j = 0; j < line.length; j++)
+						if (line[j])
+							row[j >> 3] |= 0x80 >> (j & 7);
+					output.write(row);
+				}
+			}
+		} catch (IOException e) {
+			// Writing to memory doesn't fail.
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Returns the sprites of the text sprite file, empty, in the order and
+	 * with the sizes the file stores them.
+	 *
+	 * @return Empty sprites by type, in file order.
+	 */
+	public static Map<SpriteType, boolean[][]> textLayout() {
+		Map<SpriteType, boolean[][]> sprites =
+				new LinkedHashMap<SpriteType, boolean[][]>();
+		sprites.put(SpriteType.Ship, new boolean[13][8]);
+		sprites.put(SpriteType.ShipDestroyed, new boolean[13][8]);
+		sprites.put(SpriteType.Bullet, new boolean[3][5]);
+		sprites.put(SpriteType.EnemyBullet, new boolean[3][5]);
+		sprites.put(SpriteType.EnemyBulletN, new boolean[5][5]);
+		sprites.put(SpriteType.EnemyBulletH, new boolean[7][5]);
+		sprites.put(SpriteType.EnemyShipA1, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipA2, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipB1, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipB2, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipC1, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipC2, new boolean[12][8]);
+		sprites.put(SpriteType.EnemyShipSpecial, new boolean[16][7]);
+		sprites.put(SpriteType.Explosion, new boolean[13][7]);
+		sprites.put(SpriteType.Explosion2, new boolean[13][7]);
+		sprites.put(SpriteType.Explosion3, new boolean[13][7]);
+		sprites.put(SpriteType.Explosion4, new boolean[13][9]);
+		sprites.put(SpriteType.Item, new boolean[9][8]);
+		sprites.put(SpriteType.ShipLive, new boolean[13][8]);
+		return sprites;
+	}
+
+	/**
+	 * Reads the text sprite format, a '0' or '1' per pixel with anything
+	 * else skipped, filling the sprites in their map order.
+	 *
+	 * @param data
+	 *            Whole content of the text sprite file.
+	 * @param sprites
+	 *            Empty sprites to fill, in file order.
+	 * @throws IOException
+	 *             If the file ends before every sprite is filled.
+	 */
+	public static void readText(final byte[] data,
+			final Map<SpriteType, boolean[][]> sprites) throws IOException {
+		int position = 0;
+		for (boolean[][] sprite : sprites.values())
+			for (boolean[] pixels : sprite)
+				for (int j = 0; j < pixels.length; j++) {
+					while (position < data.length && data[position] != '0'
+							&& data[position] != '1')
+						position++;
+					if (position == data.length)
+						throw new EOFException("Sprite file too short.");
+					pixels[j] = data[position++] == '1';
+				}
+	}
+
+	/**
+	 * Converts the text sprite file into a pack.
+	 *
+	 * @param args
+	 *            Text sprite file, then pack file.
+	 * @throws IOException
+	 *             If the files can't be read or written.
+	 */
+	public static void main(final String[] args) throws IOException {
+		Path text = Paths.get(args.length > 0 ? args[0] : DEFAULT_TEXT_FILE);
+		Path pack = Paths.get(args.length > 1 ? args[1] : DEFAULT_PACK_FILE);
+		Map<SpriteType, boolean[][]> sprites = textLayout();
+		readText(Files.readAllBytes(text), sprites);
+		byte[] data = write(sprites);
+		Files.write(pack, data);
+		System.out.printf("%d sprites, %d bytes of text packed into %d"
+				+ " bytes.%n", sprites.size(), Files.size(text), data.length);
+	}
+
+	/**
+	 * Bytes holding a packed row of a sprite.
+	 *
+	 * @param sprite
+	 *            Sprite to pack.
+	 * @return Bytes per row.
+	 */
+	private static int rowBytes(final boolean[][] sprite) {
+		return sprite.length == 0 ? 0 : (sprite[0].length + 7) >> 3;
+	}
+}
@@ -0,0 +1,51 @@
+package engine;
+
+/**
+ * Clock that only moves when the simulation ticks, a fixed step each time.
+ * Cooldowns bound to it advance with the game logic, however fast or slow
+ * the ticks are actually run.
+ */
+public final class TickClock implements GameClock {
+
+	/** Nanoseconds in a millisecond. */
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	/** Game time added on every tick. */
+	private final long tickNanos;
+	/** Game time elapsed. */
+	private long nanos;
+	/** Ticks elapsed. */
+	private long ticks;
+
+	/**
+	 * Constructor, starts the clock at zero.
+	 *
+	 * @param ticksPerSecond
+	 *            Ticks making up a second of game time.
+	 */
+	public TickClock(final int ticksPerSecond) {
+		this.tickNanos = 1000000000L / ticksPerSecond;
+	}
+
+	/**
+	 * Advances the clock one tick.
+	 */
+	public void tick() {
+		this.nanos += this.tickNanos;
+		this.ticks++;
+	}
+
+	/**
+	 * Getter for the ticks elapsed.
+	 *
+	 * @return Ticks since the clock started.
+	 */
+	public long getTicks() {
+		return this.ticks;
+	}
+
+	@Override
+	public long millis() {
+		return this.nanos / NANOS_PER_MILLI;
+	}
+}
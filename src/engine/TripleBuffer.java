@@ -0,0 +1,77 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the latest of a series of objects from one producer thread to one
+ * consumer thread without locks. The producer fills its back slot and swaps
+ * it with the shared middle slot; the consumer swaps its front slot with the
+ * middle one when it holds something new. Neither side ever waits for the
+ * other, and the consumer always gets the most recent object.
+ *
+ * @param <T>
+ *            Type of the exchanged objects.
+ */
+public final class TripleBuffer<T> {
+
+	/** Bit of the middle slot set while it holds an unread object. */
+	private static final int FRESH = 4;
+	/** Bits of the middle slot holding the slot index. */
+	private static final int INDEX_MASK = 3;
+
+	/** The three slots. */
+	private final T[] slots;
+	/** Index of the middle slot, plus the FRESH bit. */
+	private final AtomicInteger middle = new AtomicInteger(1);
+	/** Slot owned by the producer. */
+	private int back = 0;
+	/** Slot owned by the consumer. */
+	private int front = 2;
+
+	/**
+	 * Constructor, takes the three objects that will be reused.
+	 *
+	 * @param first
+	 *            First slot.
+	 * @param second
+	 *            Second slot.
+	 * @param third
+	 *            Third slot.
+	 */
+	@SuppressWarnings("unchecked")
+	public TripleBuffer(final T first, final T second, final T third) {
+		this.slots = (T[]) new Object[] { first, second, third };
+	}
+
+	/**
+	 * Returns the slot the producer may fill. Only call from the producer.
+	 *
+	 * @return Back slot.
+	 */
+	public T getBack() {
+		return this.slots[this.back];
+	}
+
+	/**
+	 * Publishes the back slot, and takes another one to fill next. Only call
+	 * from the producer.
+	 */
+	public void publish() {
+		this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Takes the most recently published slot, if there is one not yet read.
+	 * It stays owned by the consumer until the next successful call. Only
+	 * call from the consumer.
+	 *
+	 * @return Newest slot, or null if nothing was published since the last
+	 *         call.
+	 */
+	public T acquire() {
+		if ((this.middle.get() & FRESH) == 0)
+			return null;
+		this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+		return this.slots[this.front];
+	}
+}
@@ -0,0 +1,359 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.Core;
+import engine.DrawManager;
+import engine.DrawManager.SpriteType;
+import engine.FrameSnapshot;
+
+/**
+ * Keeps every bullet on screen in parallel arrays, one slot per bullet, so
+ * thousands of them can be moved and drawn without any bullet objects.
+ * Bullets are removed by moving the last one into their slot, so indexes are
+ * only stable until the next removal.
+ */
+public final class BulletStore {
+
+	/** Bullets reserved on creation. */
+	private static final int INITIAL_CAPACITY = 64;
+	/** Height of every bullet. */
+	private static final int BULLET_HEIGHT = 5 * 3;
+
+	/** Kinds of bullets, each with its own look. */
+	public enum Kind {
+		/** Thin red bullet, shot by players and by the normal formation. */
+		BULLET(3 * 2, SpriteType.EnemyBullet, Color.RED),
+		/** Wider bullet of the formation on normal difficulty. */
+		BULLET_N(5 * 2, SpriteType.EnemyBulletN, Color.WHITE),
+		/** Widest bullet of the formation on hard difficulty. */
+		BULLET_H(7 * 2, SpriteType.EnemyBulletH, Color.WHITE);
+
+		/** Width of the bullet. */
+		private final int width;
+		/** Sprite of the bullet when shot by an enemy. */
+		private final SpriteType enemySprite;
+		/** Color of the bullet. */
+		private final Color color;
+
+		/**
+		 * Constructor, sets the look of the kind.
+		 *
+		 * @param width
+		 *            Width of the bullet.
+		 * @param enemySprite
+		 *            Sprite of the bullet when shot by an enemy.
+		 * @param color
+		 *            Color of the bullet.
+		 */
+		Kind(final int width, final SpriteType enemySprite,
+				final Color color) {
+			this.width = width;
+			this.enemySprite = enemySprite;
+			this.color = color;
+		}
+
+		/**
+		 * Getter for the width of the bullet.
+		 *
+		 * @return Width of the bullet.
+		 */
+		public int getWidth() {
+			return this.width;
+		}
+	}
+
+	/** Sides that can shoot bullets. */
+	public enum Owner {
+		/** Bullet shot upwards by a player ship. */
+		PLAYER,
+		/** Bullet shot downwards by an enemy ship. */
+		ENEMY
+	}
+
+	/** Every kind, indexed by the stored ordinal. */
+	private static final Kind[] KINDS = Kind.values();
+	/** Every owner, indexed by the stored ordinal. */
+	private static final Owner[] OWNERS = Owner.values();
+
+	/** Number of bullets on screen. */
+	private int size;
+	/** Position in the X axis of every bullet. */
+	private int[] positionsX = new int[INITIAL_CAPACITY];
+	/** Position in the Y axis of every bullet. */
+	private int[] positionsY = new int[INITIAL_CAPACITY];
+	/** Position in the X axis of every bullet before the last update. */
+	private int[] previousX = new int[INITIAL_CAPACITY];
+	/** Position in the Y axis of every bullet before the last update. */
+	private int[] previousY = new int[INITIAL_CAPACITY];
+	/** Speed of every bullet, positive is down. */
+	private int[] speeds = new int[INITIAL_CAPACITY];
+	/** Sideways pattern of every bullet: 0 straight, 1 right, 2 left. */
+	private byte[] patterns = new byte[INITIAL_CAPACITY];
+	/** Kind ordinal of every bullet. */
+	private byte[] kinds = new byte[INITIAL_CAPACITY];
+	/** Owner ordinal of every bullet. */
+	private byte[] owners = new byte[INITIAL_CAPACITY];
+
+	/**
+	 * Adds a bullet.
+	 *
+	 * @param kind
+	 *            Kind of bullet.
+	 * @param owner
+	 *            Side shooting the bullet.
+	 * @param positionX
+	 *            Position in the X axis the bullet is shot from.
+	 * @param positionY
+	 *            Position in the Y axis the bullet is shot from.
+	 * @param speed
+	 *            Speed of the bullet, positive or negative depending on
+	 *            direction - positive is down.
+	 * @param pattern
+	 *            Sideways pattern: 0 straight, 1 right, 2 left.
+	 */
+	public void spawn(final Kind kind, final Owner owner, final int positionX,
+			final int positionY, final int speed, final int pattern) {
+		if (this.size == this.positionsX.length)
+			grow();
+		int i = this.size++;
+		// Only the thin bullet is centered on the shooting point.
+		int x = kind == Kind.BULLET ? positionX - kind.width / 2
+				: positionX - 1;
+		this.positionsX[i] = x;
+		this.positionsY[i] = positionY;
+		this.previousX[i] = x;
+		this.previousY[i] = positionY;
+		this.speeds[i] = speed;
+		this.patterns[i] = (byte) pattern;
+		this.kinds[i] = (byte) kind.ordinal();
+		this.owners[i] = (byte) owner.ordinal();
+	}
+
+	/**
+	 * Moves every bullet and removes the ones leaving the given band of the
+	 * screen.
+	 *
+	 * @param top
+	 *            Bullets above this Y coordinate are removed.
+	 * @param bottom
+	 *            Bullets below this Y coordinate are removed.
+	 */
+	public void update(final int top, final int bottom) {
+		for (int i = this.size - 1; i >= 0; i--) {
+			int speed = this.speeds[i];
+			int positionY = this.positionsY[i] + speed;
+			this.positionsY[i] = positionY;
+			if (speed > 0) {
+				if (this.patterns[i] == 1)
+					this.positionsX[i] += speed % 2 + 1;
+				else if (this.patterns[i] == 2)
+					this.positionsX[i] -= speed % 2 + 1;
+			}
+			if (positionY < top || positionY > bottom)
+				remove(i);
+		}
+	}
+
+	/**
+	 * Remembers the current position of every bullet, before they are
+	 * updated.
+	 */
+	public void savePositions() {
+		System.arraycopy(this.positionsX, 0, this.previousX, 0, this.size);
+		System.arraycopy(this.positionsY, 0, this.previousY, 0, this.size);
+	}
+
+	/**
+	 * Removes a bullet, moving the last one into its slot.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 */
+	public void remove(final int index) {
+		int last = --this.size;
+		if (index == last)
+			return;
+		this.positionsX[index] = this.positionsX[last];
+		this.positionsY[index] = this.positionsY[last];
+		this.previousX[index] = this.previousX[last];
+		this.previousY[index] = this.previousY[last];
+		this.speeds[index] = this.speeds[last];
+		this.patterns[index] = this.patterns[last];
+		this.kinds[index] = this.kinds[last];
+		this.owners[index] = this.owners[last];
+	}
+
+	/**
+	 * Removes every bullet.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Adds every bullet to a frame snapshot.
+	 *
+	 * @param snapshot
+	 *            Frame to add the bullets to.
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current positions.
+	 */
+	public void snapshot(final FrameSnapshot snapshot, final float alpha) {
+		for (int i = 0; i < this.size; i++)
+			snapshot.add(
+					this.previousX[i] + Math.round(
+							(this.positionsX[i] - this.previousX[i]) * alpha),
+					this.previousY[i] + Math.round(
+							(this.positionsY[i] - this.previousY[i]) * alpha),
+					getSpriteType(i), KINDS[this.kinds[i]].color);
+	}
+
+	/**
+	 * Draws every bullet at its current position.
+	 */
+	public void draw() {
+		DrawManager drawManager = Core.getDrawManager();
+		for (int i = 0; i < this.size; i++)
+			drawManager.drawSprite(getSpriteType(i),
+					KINDS[this.kinds[i]].color, this.positionsX[i],
+					this.positionsY[i]);
+	}
+
+	/**
+	 * Checks if a bullet overlaps an entity, comparing their centers.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @param entity
+	 *            Entity to check.
+	 * @return True when both are colliding.
+	 */
+	public boolean collides(final int index, final Entity entity) {
+		int width = getWidth(index);
+		int centerAX = this.positionsX[index] + width / 2;
+		int centerAY = this.positionsY[index] + BULLET_HEIGHT / 2;
+		int centerBX = entity.getPositionX() + entity.getWidth() / 2;
+		int centerBY = entity.getPositionY() + entity.getHeight() / 2;
+		int maxDistanceX = width / 2 + entity.getWidth() / 2;
+		int maxDistanceY = BULLET_HEIGHT / 2 + entity.getHeight() / 2;
+
+		return Math.abs(centerAX - centerBX) < maxDistanceX
+				&& Math.abs(centerAY - centerBY) < maxDistanceY;
+	}
+
+	/**
+	 * Getter for the number of bullets on screen.
+	 *
+	 * @return Number of bullets.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the X axis position of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Position of the bullet in the X axis.
+	 */
+	public int getPositionX(final int index) {
+		return this.positionsX[index];
+	}
+
+	/**
+	 * Getter for the Y axis position of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Position of the bullet in the Y axis.
+	 */
+	public int getPositionY(final int index) {
+		return this.positionsY[index];
+	}
+
+	/**
+	 * Getter for the width of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Width of the bullet.
+	 */
+	public int getWidth(final int index) {
+		return KINDS[this.kinds[index]].width;
+	}
+
+	/**
+	 * Getter for the height of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Height of the bullet.
+	 */
+	public int getHeight(final int index) {
+		return BULLET_HEIGHT;
+	}
+
+	/**
+	 * Getter for the speed of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Speed of the bullet, positive is down.
+	 */
+	public int getSpeed(final int index) {
+		return this.speeds[index];
+	}
+
+	/**
+	 * Getter for the kind of a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Kind of the bullet.
+	 */
+	public Kind getKind(final int index) {
+		return KINDS[this.kinds[index]];
+	}
+
+	/**
+	 * Getter for the side that shot a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Owner of the bullet.
+	 */
+	public Owner getOwner(final int index) {
+		return OWNERS[this.owners[index]];
+	}
+
+	/**
+	 * Getter for the sprite a bullet is drawn as.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return Sprite of the bullet.
+	 */
+	private SpriteType getSpriteType(final int index) {
+		if (this.owners[index] == Owner.PLAYER.ordinal())
+			return SpriteType.Bullet;
+		return KINDS[this.kinds[index]].enemySprite;
+	}
+
+	/**
+	 * Doubles the room for bullets.
+	 */
+	private void grow() {
+		int capacity = this.positionsX.length * 2;
+		this.positionsX = Arrays.copyOf(this.positionsX, capacity);
+		this.positionsY = Arrays.copyOf(this.positionsY, capacity);
+		this.previousX = Arrays.copyOf(this.previousX, capacity);
+		this.previousY = Arrays.copyOf(this.previousY, capacity);
+		this.speeds = Arrays.copyOf(this.speeds, capacity);
+		this.patterns = Arrays.copyOf(this.patterns, capacity);
+		this.kinds = Arrays.copyOf(this.kinds, capacity);
+		this.owners = Arrays.copyOf(this.owners, capacity);
+	}
+}
@@ -0,0 +1,235 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broad phase for collisions. Entities are inserted into every
+ * cell their bounding box covers, and a query returns the entities sharing a
+ * cell with the probed box, each once, for an exact check afterwards. Boxes
+ * outside the bounds of everything inserted are rejected without touching
+ * the grid.
+ *
+ * @param <T>
+ *            Type of the inserted entities.
+ */
+public final class CollisionGrid<T extends Entity> {
+
+	/** Entries reserved on creation. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Side of a cell, in pixels. */
+	private final int cellSize;
+	/** Number of cell columns. */
+	private final int columns;
+	/** Number of cell rows. */
+	private final int rows;
+	/** First node of every cell, -1 if empty. */
+	private final int[] cellHeads;
+
+	/** Inserted entities. */
+	private Entity[] entries = new Entity[INITIAL_CAPACITY];
+	/** Query that last returned every entry, to skip duplicates. */
+	private int[] stamps = new int[INITIAL_CAPACITY];
+	/** Number of inserted entities. */
+	private int entryCount;
+	/** Entry of every node. */
+	private int[] nodeEntries = new int[INITIAL_CAPACITY];
+	/** Next node in the same cell, -1 for the last one. */
+	private int[] nodeNext = new int[INITIAL_CAPACITY];
+	/** Number of nodes in use. */
+	private int nodeCount;
+	/** Current query number. */
+	private int stamp;
+
+	/** Bounds of everything inserted. */
+	private int minX;
+	private int minY;
+	private int maxX;
+	private int maxY;
+
+	/** Entities returned by the last query. */
+	private Entity[] candidates = new Entity[INITIAL_CAPACITY];
+
+	/**
+	 * Constructor, covers an area with square cells. Entities outside of it
+	 * are kept in the border cells.
+	 *
+	 * @param width
+	 *            Width of the covered area.
+	 * @param height
+	 *            Height of the covered area.
+	 * @param cellSize
+	 *            Side of a cell.
+	 */
+	public CollisionGrid(final int width, final int height,
+			final int cellSize) {
+		this.cellSize = cellSize;
+		this.columns = Math.max(1, (width + cellSize - 1) / cellSize);
+		this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+		this.cellHeads = new int[this.columns * this.rows];
+		clear();
+	}
+
+	/**
+	 * Removes every entity.
+	 */
+	public void clear() {
+		Arrays.fill(this.entries, 0, this.entryCount, null);
+		Arrays.fill(this.cellHeads, -1);
+		this.entryCount = 0;
+		this.nodeCount = 0;
+		this.minX = Integer.MAX_VALUE;
+		this.minY = Integer.MAX_VALUE;
+		this.maxX = Integer.MIN_VALUE;
+		this.maxY = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Adds an entity at its current position.
+	 *
+	 * @param entity
+	 *            Entity to add.
+	 */
+	public void insert(final T entity) {
+		if (this.entryCount == this.entries.length) {
+			this.entries = Arrays.copyOf(this.entries, this.entryCount * 2);
+			this.stamps = Arrays.copyOf(this.stamps, this.entryCount * 2);
+		}
+		int entry = this.entryCount++;
+		this.entries[entry] = entity;
+		this.stamps[entry] = this.stamp;
+
+		int left = entity.getPositionX();
+		int top = entity.getPositionY();
+		int right = left + entity.getWidth();
+		int bottom = top + entity.getHeight();
+		this.minX = Math.min(this.minX, left);
+		this.minY = Math.min(this.minY, top);
+		this.maxX = Math.max(this.maxX, right);
+		this.maxY = Math.max(this.maxY, bottom);
+
+		int lastColumn = column(right - 1);
+		int lastRow = row(bottom - 1);
+		for (int j = row(top); j <= lastRow; j++)
+			for (int i = column(left); i <= lastColumn; i++)
+				addNode(j * this.columns + i, entry);
+	}
+
+	/**
+	 * Finds the entities whose cells overlap the bounding box of an entity.
+	 * They can be read with getCandidate until the next query.
+	 *
+	 * @param entity
+	 *            Entity to probe with.
+	 * @return Number of candidates found.
+	 */
+	public int query(final Entity entity) {
+		return query(entity.getPositionX(), entity.getPositionY(),
+				entity.getWidth(), entity.getHeight());
+	}
+
+	/**
+	 * Finds the entities whose cells overlap a box. They can be read with
+	 * getCandidate until the next query.
+	 *
+	 * @param left
+	 *            Left side of the box.
+	 * @param top
+	 *            Upper side of the box.
+	 * @param width
+	 *            Width of the box.
+	 * @param height
+	 *            Height of the box.
+	 * @return Number of candidates found.
+	 */
+	public int query(final int left, final int top, final int width,
+			final int height) {
+		int right = left + width;
+		int bottom = top + height;
+		if (right <= this.minX || left >= this.maxX || bottom <= this.minY
+				|| top >= this.maxY)
+			return 0;
+
+		this.stamp++;
+		int found = 0;
+		int lastColumn = column(right - 1);
+		int lastRow = row(bottom - 1);
+		for (int j = row(top); j <= lastRow; j++)
+			for (int i = column(left); i <= lastColumn; i++)
+				for (int node = this.cellHeads[j * this.columns + i];
+						node != -1; node = this.nodeNext[node]) {
+					int entry = this.nodeEntries[node];
+					if (this.stamps[entry] == this.stamp)
+						continue;
+					this.stamps[entry] = this.stamp;
+					if (found == this.candidates.length)
+						this.candidates = Arrays.copyOf(this.candidates,
+								found * 2);
+					this.candidates[found++] = this.entries[entry];
+				}
+		return found;
+	}
+
+	/**
+	 * Returns an entity found by the last query.
+	 *
+	 * @param index
+	 *            Index of the candidate, below the number returned by query.
+	 * @return Candidate entity.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getCandidate(final int index) {
+		return (T) this.candidates[index];
+	}
+
+	/**
+	 * Getter for the number of inserted entities.
+	 *
+	 * @return Number of entities.
+	 */
+	public int size() {
+		return this.entryCount;
+	}
+
+	/**
+	 * Links an entry into a cell.
+	 *
+	 * @param cell
+	 *            Cell index.
+	 * @param entry
+	 *            Entry index.
+	 */
+	private void addNode(final int cell, final int entry) {
+		if (this.nodeCount == this.nodeEntries.length) {
+			this.nodeEntries = Arrays.copyOf(this.nodeEntries,
+					this.nodeCount * 2);
+			this.nodeNext = Arrays.copyOf(this.nodeNext, this.nodeCount * 2);
+		}
+		int node = this.nodeCount++;
+		this.nodeEntries[node] = entry;
+		this.nodeNext[node] = this.cellHeads[cell];
+		this.cellHeads[cell] = node;
+	}
+
+	/**
+	 * Returns the column of an X coordinate, clamped to the grid.
+	 *
+	 * @param x
+	 *            Coordinate.
+	 * @return Column index.
+	 */
+	private int column(final int x) {
+		return Math.min(this.columns - 1, Math.max(0, x / this.cellSize));
+	}
+
+	/**
+	 * Returns the row of a Y coordinate, clamped to the grid.
+	 *
+	 * @param y
+	 *            Coordinate.
+	 * @return Row index.
+	 */
+	private int row(final int y) {
+		return Math.min(this.rows - 1, Math.max(0, y / this.cellSize));
+	}
+}
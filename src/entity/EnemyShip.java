@@ -4,7 +4,8 @@ import java.util.Random;
 import java.awt.Color;
 
 import engine.Cooldown;
-import engine.Core;
+import engine.GameContext;
+import engine.GameRandom;
 import engine.DrawManager.SpriteType;
 
 /**
@@ -33,10 +34,16 @@ public class EnemyShip extends Entity {
 
 	/** lives of the enemyship. */
 	public int enemyLives;
+	/** Index of the ship in the grid of its formation, -1 if none. */
+	private int formationSlot = -1;
+	/** Game the ship plays in. */
+	private final GameContext context;
 
 	/**
 	 * Constructor, establishes the ship's properties.
 	 * 
+	 * @param context
+	 *            Game the ship plays in.
 	 * @param positionX
 	 *            Initial position of the ship in the X axis.
 	 * @param positionY
@@ -44,14 +51,15 @@ public class EnemyShip extends Entity {
 	 * @param spriteType
 	 *            Sprite type, image corresponding to the ship.
 	 */
-	public EnemyShip(final int positionX, final int positionY,
-			final SpriteType spriteType) {
+	public EnemyShip(final GameContext context, final int positionX,
+			final int positionY, final SpriteType spriteType) {
 		super(positionX, positionY, 12 * 2, 8 * 2, Color.WHITE);
+		this.context = context;
 
 		this.spriteType = spriteType;
-		this.animationCooldown = Core.getCooldown(500);
+		this.animationCooldown = context.getCooldown(500);
 		this.isDestroyed = false;
-		float livesRate = (float)(Math.round(Math.random()*10)/10.0);
+		float livesRate = (float)(Math.round(context.getRandom(GameRandom.Stream.ENEMIES).nextDouble()*10)/10.0);
 		if (livesRate <= 0.3) {
 			this.enemyLives = 2;
 			changeColor_G(enemyLives);
@@ -80,9 +88,13 @@ public class EnemyShip extends Entity {
 	/**
 	 * Constructor, establishes the ship's properties for a special ship, with
 	 * known starting properties.
+	 * 
+	 * @param context
+	 *            Game the ship plays in.
 	 */
-	public EnemyShip() {
+	public EnemyShip(final GameContext context) {
 		super(-32, 60, 16 * 2, 7 * 2, Color.RED);
+		this.context = context;
 
 		this.spriteType = SpriteType.EnemyShipSpecial;
 		this.isDestroyed = false;
@@ -98,6 +110,25 @@ public class EnemyShip extends Entity {
 		return this.pointValue;
 	}
 
+	/**
+	 * Getter for the index of the ship in the grid of its formation.
+	 * 
+	 * @return Grid index, -1 if the ship is not part of a formation.
+	 */
+	final int getFormationSlot() {
+		return this.formationSlot;
+	}
+
+	/**
+	 * Setter for the index of the ship in the grid of its formation.
+	 * 
+	 * @param formationSlot
+	 *            Grid index.
+	 */
+	final void setFormationSlot(final int formationSlot) {
+		this.formationSlot = formationSlot;
+	}
+
 	/** Setter enemyLives. */
 	public void setenemyLives(int life) { this.enemyLives = life;}
 	/** Getter enemyLives. */
@@ -153,7 +184,7 @@ public class EnemyShip extends Entity {
 	 */
 	public final void destroy() {
 		this.isDestroyed = true;
-		int random = (int)(Math.random()*4);
+		int random = (int)(this.context.getRandom(GameRandom.Stream.ENEMIES).nextDouble()*4);
 		switch(random) {
 			case 0 : this.spriteType = SpriteType.Explosion;
 				break;
@@ -3,12 +3,15 @@ package entity;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import engine.*;
 import screen.GameScreen;
 import screen.Screen;
 import engine.DrawManager.SpriteType;
+import entity.BulletStore.Kind;
+import entity.BulletStore.Owner;
 
 /**
  * Groups enemy ships into a formation that moves together.
@@ -52,8 +55,19 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	/** Screen to draw ships on. */
 	private Screen screen;
 
-	/** List of enemy ships forming the formation. */
-	private List<List<EnemyShip>> enemyShips;
+	/**
+	 * Enemy ships forming the formation, column by column from the top, so
+	 * the ship in a given column and row is at column * nShipsHigh + row.
+	 */
+	private EnemyShip[] enemyShips;
+	/** Ships still in every column, one bit per row. */
+	private long[] present;
+	/** Ships of every column not destroyed yet, one bit per row. */
+	private long[] alive;
+	/** Columns still in the formation, from left to right. */
+	private int[] columns;
+	/** Number of columns still in the formation. */
+	private int columnCount;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
 	/** Number of ships in the formation - horizontally. */
@@ -90,6 +104,12 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private List<EnemyShip> shooters;
 	/** Number of not destroyed ships. */
 	private int shipCount;
+	/** Game the formation plays in. */
+	private final GameContext context;
+	/** Random numbers of the formation. */
+	private final GameRandom random;
+	/** Source of the flicker of the formation. */
+	private final GameRandom flickerRandom;
 
 
 	/** Directions the formation can move. */
@@ -105,13 +125,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	/**
 	 * Constructor, sets the initial conditions.
 	 *
+	 * @param context
+	 *            Game the formation plays in.
 	 * @param gameSettings
 	 *            Current game settings.
 	 */
-	public EnemyShipFormation(final GameSettings gameSettings) {
+	public EnemyShipFormation(final GameContext context,
+			final GameSettings gameSettings) {
+		this.context = context;
+		this.random = context.getRandom(GameRandom.Stream.FORMATION);
+		this.flickerRandom = context.getRandom(GameRandom.Stream.FLICKER);
 		this.drawManager = Core.getDrawManager();
-		this.logger = Core.getLogger();
-		this.enemyShips = new ArrayList<List<EnemyShip>>();
+		this.logger = context.getLogger();
 		this.currentDirection = Direction.RIGHT;
 		this.movementInterval = 0;
 		this.nShipsWide = gameSettings.getFormationWidth();
@@ -123,17 +148,21 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.movementSpeed = this.baseSpeed;
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
-		this.shooters = new ArrayList<EnemyShip>();
 		SpriteType spriteType;
 
+		if (this.nShipsHigh > Long.SIZE)
+			throw new IllegalArgumentException("Formations can be at most "
+					+ Long.SIZE + " ships high.");
+		this.enemyShips = new EnemyShip[this.nShipsWide * this.nShipsHigh];
+		this.present = new long[this.nShipsWide];
+		this.alive = new long[this.nShipsWide];
+		this.columns = new int[this.nShipsWide];
+		this.shooters = new ArrayList<EnemyShip>(this.nShipsWide);
+
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
 				+ " ship formation in (" + positionX + "," + positionY + ")");
 
-		// Each sub-list is a column on the formation.
-		for (int i = 0; i < this.nShipsWide; i++)
-			this.enemyShips.add(new ArrayList<EnemyShip>());
-
-		for (List<EnemyShip> column : this.enemyShips) {
+		for (int column = 0; column < this.nShipsWide; column++) {
 			for (int i = 0; i < this.nShipsHigh; i++) {
 				if (i / (float) this.nShipsHigh < PROPORTION_C)
 					spriteType = SpriteType.EnemyShipC1;
@@ -143,24 +172,28 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				else
 					spriteType = SpriteType.EnemyShipA1;
 
-				column.add(new EnemyShip((SEPARATION_DISTANCE
-						* this.enemyShips.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType));
+				EnemyShip enemyShip = new EnemyShip(context, (SEPARATION_DISTANCE
+						* column) + positionX, (SEPARATION_DISTANCE * i)
+								+ positionY, spriteType);
+				enemyShip.setFormationSlot(column * this.nShipsHigh + i);
+				this.enemyShips[column * this.nShipsHigh + i] = enemyShip;
 				this.shipCount++;
 			}
+			this.present[column] = -1L >>> (Long.SIZE - this.nShipsHigh);
+			this.alive[column] = this.present[column];
+			this.columns[column] = column;
 		}
+		this.columnCount = this.nShipsWide;
 
-		this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-		this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
+		this.shipWidth = this.enemyShips[0].getWidth();
+		this.shipHeight = this.enemyShips[0].getHeight();
 
 		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
 				+ this.shipWidth;
 		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
 				+ this.shipHeight;
 
-		for (List<EnemyShip> column : this.enemyShips)
-			this.shooters.add(column.get(column.size() - 1));
+		updateShooters();
 	}
 
 	/**
@@ -186,23 +219,78 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 
 	public final void draw() {
-		Random r = new Random();
-		int var = 0;
-
-		for (int i = 1; i <= 720; i++) {
-			ArrayList ar = new ArrayList<Integer>();
-			int arrive = r.nextInt(4) + 1;
-			if (i == arrive) {
-				for (List<EnemyShip> column : this.enemyShips)
-					for (EnemyShip enemyShip : column)
-						drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
-								enemyShip.getPositionY());
-				ar.add(i);
-				var++;
-				arrive = r.nextInt(4) + 1 + i;
+		draw(1f);
+	}
+
+	/**
+	 * Draws every individual component of the formation, between their
+	 * previous and current positions.
+	 * 
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current positions.
+	 */
+	public final void draw(final float alpha) {
+		if (isShown(this.flickerRandom))
+			for (int c = 0; c < this.columnCount; c++) {
+				int column = this.columns[c];
+				for (long rows = this.present[column]; rows != 0;
+						rows &= rows - 1) {
+					EnemyShip enemyShip = getShip(column,
+							Long.numberOfTrailingZeros(rows));
+					drawManager.drawEntity(enemyShip,
+							enemyShip.getRenderPositionX(alpha),
+							enemyShip.getRenderPositionY(alpha));
+				}
+			}
+	}
+
+	/**
+	 * Adds every ship of the formation to a frame snapshot, if the formation
+	 * is shown on that frame.
+	 * 
+	 * @param snapshot
+	 *            Frame to add the ships to.
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current positions.
+	 */
+	public final void snapshot(final FrameSnapshot snapshot,
+			final float alpha) {
+		if (isShown(this.flickerRandom))
+			for (int c = 0; c < this.columnCount; c++) {
+				int column = this.columns[c];
+				for (long rows = this.present[column]; rows != 0;
+						rows &= rows - 1)
+					snapshot.add(getShip(column,
+							Long.numberOfTrailingZeros(rows)), alpha);
 			}
+	}
 
+	/**
+	 * Decides if the formation flickers in on a frame. Every one of the
+	 * first four steps shows it with a one in four chance.
+	 * 
+	 * @param random
+	 *            Source of the flicker.
+	 * @return True if the formation is drawn.
+	 */
+	private static boolean isShown(final GameRandom random) {
+		boolean shown = false;
+		for (int i = 1; i <= 4; i++)
+			if (random.nextInt(4) + 1 == i)
+				shown = true;
+		return shown;
+	}
 
+	/**
+	 * Remembers the current position of every ship, before they are updated.
+	 */
+	public final void savePositions() {
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			for (long rows = this.present[column]; rows != 0;
+					rows &= rows - 1)
+				getShip(column, Long.numberOfTrailingZeros(rows))
+						.savePosition();
 		}
 	}
 
@@ -211,8 +299,8 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	public final void update() {
 		if(this.shootingCooldown == null) {
-			this.shootingCooldown = Core.getVariableCooldown(shootingInterval,
-					shootingVariance);
+			this.shootingCooldown = this.context.getVariableCooldown(
+					shootingInterval, shootingVariance);
 			this.shootingCooldown.reset();
 		}
 
@@ -236,9 +324,12 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 			setDirection(isAtBottom, movementY);
 
-			int[] movement = xyMovement(currentDirection, movementX, movementY);
-			movementX =  movement[0];
-			movementY =  movement[1];
+			if (currentDirection == Direction.RIGHT)
+				movementX = X_SPEED;
+			else if (currentDirection == Direction.LEFT)
+				movementX = -X_SPEED;
+			else
+				movementY = Y_SPEED;
 
 			positionX += movementX;
 			positionY += movementY;
@@ -289,71 +380,70 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 	
 	private void changeEnemyShipColors(){
-		for (List<EnemyShip> column : this.enemyShips) {
-			for (EnemyShip enemyShip : column) {
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			for (long rows = this.present[column]; rows != 0; rows &= rows - 1) {
+				EnemyShip enemyShip = getShip(column, Long.numberOfTrailingZeros(rows));
 				enemyShip.setColor(Color.white); //마지막줄 남으면 더이상 색 변화 x
 				enemyShip.changeColor_G(enemyShip.getEnemyLives()); //목숨 여러개인 적 색상 변화
 			}
 		}
-		int randomPlace_r = (int) (Math.random() * enemyShips.size() - 1);
-		int randomPlace_c = (int) (Math.random() * enemyShips.get(randomPlace_r).size() - 1);
+		if (this.columnCount == 0)
+			return;
+		int randomPlace_r = (int) (this.random.nextDouble() * this.columnCount - 1);
+		int column = this.columns[randomPlace_r];
+		int randomPlace_c = (int) (this.random.nextDouble() * Long.bitCount(this.present[column]) - 1);
 		if(this.shipCount>nShipsWide) {
-			if (enemyShips.get(randomPlace_r).get(randomPlace_c) != null)
-				enemyShips.get(randomPlace_r).get(randomPlace_c).changeColor();
+			EnemyShip enemyShip = getPresentShip(column, randomPlace_c);
+			if (enemyShip != null)
+				enemyShip.changeColor();
 		}
 	}
 	
-	private int[] xyMovement(Direction currentDirection, int movementX, int movementY) {
-		if (currentDirection == Direction.RIGHT)
-			movementX = X_SPEED;
-		else if (currentDirection == Direction.LEFT)
-			movementX = -X_SPEED;
-		else
-			movementY = Y_SPEED;
-		return new int[]{movementX, movementY};
-	}
-	
 	private void explosionsClean() {
-		List<EnemyShip> destroyed;
-		for (List<EnemyShip> column : this.enemyShips) {
-			destroyed = new ArrayList<EnemyShip>();
-			for (EnemyShip ship : column) {
-				if (ship != null && ship.isDestroyed()) {
-					destroyed.add(ship);
-					this.logger.info("Removed enemy "
-							+ column.indexOf(ship) + " from column "
-							+ this.enemyShips.indexOf(column));
-				}
-			}
-			column.removeAll(destroyed);
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			long destroyed = this.present[column] & ~this.alive[column];
+			for (long rows = destroyed; rows != 0; rows &= rows - 1)
+				this.logger.info("Removed enemy "
+						+ getIndexInColumn(column,
+								Long.numberOfTrailingZeros(rows))
+						+ " from column " + c);
+			this.present[column] &= ~destroyed;
 		}
 	}
 	
 	private void enemyShipMove(boolean isAtTop, boolean isAtBottom, int movementX, int movementY) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column) {
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			long columnShips = this.present[column];
+			int columnSize = Long.bitCount(columnShips);
+			int bottomRow = Long.SIZE - 1 - Long.numberOfLeadingZeros(columnShips);
+			for (long rows = columnShips; rows != 0; rows &= rows - 1) {
+				int row = Long.numberOfTrailingZeros(rows);
+				EnemyShip enemyShip = getShip(column, row);
 				if(isLast()){
 					if(!isAtTop) {
 						movementY = -30;
 						enemyShip.move(movementX, movementY);
 					}
 					else if(!isAtBottom){
-						movementY = (int) (Math.random() * Y_SPEED + Y_SPEED);
+						movementY = (int) (this.random.nextDouble() * Y_SPEED + Y_SPEED);
 						enemyShip.move(movementX,movementY);
 					}
 				}else {
 					if (!isAtBottom) {
-						int randomPlace = (int) (Math.random() * column.size() - 1);
+						int randomPlace = (int) (this.random.nextDouble() * columnSize - 1);
 						movementY = 1;
-						if (Math.random() < 0.70) {
-							if (randomPlace < enemyShips.size()) {
-								if (enemyShips.get(randomPlace) == column && column.get(column.size() - 1) == enemyShip) {
-									movementY = (int) (Math.random() * Y_SPEED + Y_SPEED);
+						if (this.random.nextDouble() < 0.70) {
+							if (randomPlace < this.columnCount) {
+								if (randomPlace == c && row == bottomRow) {
+									movementY = (int) (this.random.nextDouble() * Y_SPEED + Y_SPEED);
 								}
 							}
 						} else {
-							if (enemyShips.get(enemyShips.size() - 1) == column && column.get(column.size() - 1) == enemyShip) {
-								movementY = (int) (Math.random() * Y_SPEED + Y_SPEED);
+							if (c == this.columnCount - 1 && row == bottomRow) {
+								movementY = (int) (this.random.nextDouble() * Y_SPEED + Y_SPEED);
 							}
 						}
 					}
@@ -361,43 +451,41 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 					enemyShip.update();
 				}
 			}
+		}
 	}
 
 	/**
 	 * Cleans empty columns, adjusts the width and height of the formation.
 	 */
 	private void cleanUp() {
-		Set<Integer> emptyColumns = new HashSet<Integer>();
 		int maxColumn = 0;
 		int minPositionY = Integer.MAX_VALUE;
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				// Height of this column
-				int columnSize = column.get(column.size() - 1).positionY
-						- this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, column.get(0)
-						.getPositionY());
-			} else {
-				// Empty column, we remove it.
-				emptyColumns.add(this.enemyShips.indexOf(column));
-			}
-		}
-		for (int index : emptyColumns) {
-			this.enemyShips.remove(index);
-			logger.info("Removed column " + index);
-		}
-
 		int leftMostPoint = 0;
 		int rightMostPoint = 0;
-
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				if (leftMostPoint == 0)
-					leftMostPoint = column.get(0).getPositionX();
-				rightMostPoint = column.get(0).getPositionX();
+		int remainingColumns = 0;
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			long columnShips = this.present[column];
+			if (columnShips == 0) {
+				// Empty column, we remove it.
+				logger.info("Removed column " + c);
+				continue;
 			}
+			EnemyShip top = getShip(column,
+					Long.numberOfTrailingZeros(columnShips));
+			EnemyShip bottom = getShip(column,
+					Long.SIZE - 1 - Long.numberOfLeadingZeros(columnShips));
+			// Height of this column
+			int columnSize = bottom.positionY - this.positionY
+					+ this.shipHeight;
+			maxColumn = Math.max(maxColumn, columnSize);
+			minPositionY = Math.min(minPositionY, top.getPositionY());
+			if (leftMostPoint == 0)
+				leftMostPoint = top.getPositionX();
+			rightMostPoint = top.getPositionX();
+			this.columns[remainingColumns++] = column;
 		}
+		this.columnCount = remainingColumns;
 
 		this.width = rightMostPoint - leftMostPoint + this.shipWidth;
 		this.height = maxColumn;
@@ -410,118 +498,118 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 * Shoots a bullet downwards.
 	 *
 	 * @param bullets
-	 *            Bullets set to add the bullet being shot.
+	 *            Bullets on screen, to add the bullet being shot.
 	 */
-	public final void shoot(final Set<Bullet> bullets) {
+	public final void shoot(final BulletStore bullets) {
 
 		// For now, only ships in the bottom row are able to shoot.
-		int index = (int) (Math.random() * this.shooters.size());
+		int index = (int) (this.random.nextDouble() * this.shooters.size());
 		EnemyShip shooter = this.shooters.get(index);
 
 		if (this.shootingCooldown.checkFinished()) {
-			new Sound().bulletsound();
+			this.context.getAudio().play(SoundId.BULLET);
 			this.shootingCooldown.reset();
-			float ShootPattern = (float)(Math.round(Math.random()*10)/10.0);
+			float ShootPattern = (float)(Math.round(this.random.nextDouble()*10)/10.0);
 			if (isLast()) { // The last enemy can get the all ShootPattern.
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,1));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,2));
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,1);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,2);
 			}
 			else if(ShootPattern<=0.4) { //The Enemy of double Bullet Type
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0));
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0);
 			}
 			else if(0.4 < ShootPattern && ShootPattern < 0.7) {//shoot double direction
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1));
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2));
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1);
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2);
 			}
 			else{
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()//general shoot
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0));
+				bullets.spawn(Kind.BULLET, Owner.ENEMY, shooter.getPositionX()//general shoot
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0);
 			}
 		}
 	}
-	public final void setShoot(final Set bullets, EnemyShip shooter, int max) {
+	public final void setShoot(final BulletStore bullets, EnemyShip shooter, int max) {
 		for(int i=0; i<=max; i++){
-			bullets.add(BulletPool.getBulletN(shooter.getPositionX()
-					+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED, i));
-			bullets.add(BulletPool.getBulletN(shooter.getPositionX()
-					+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2, i));
+			bullets.spawn(Kind.BULLET_N, Owner.ENEMY, shooter.getPositionX()
+					+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED, i);
+			bullets.spawn(Kind.BULLET_N, Owner.ENEMY, shooter.getPositionX()
+					+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2, i);
 		}
 	}
 
-	public final void shootN(final Set<BulletN> bulletsN) {
+	public final void shootN(final BulletStore bullets) {
 		// For now, only ships in the bottom row are able to shoot.
-		int index = (int) (Math.random() * this.shooters.size());
+		int index = (int) (this.random.nextDouble() * this.shooters.size());
 		EnemyShip shooter = this.shooters.get(index);
 		if (isLast()) { // The last enemy can get the all ShootPattern.
-			setShoot(bulletsN, shooter, 2);
+			setShoot(bullets, shooter, 2);
 		}
 		else if (this.shootingCooldown.checkFinished()) {
-			new Sound().bulletsound();
+			this.context.getAudio().play(SoundId.BULLET);
 			this.shootingCooldown.reset();
-			float ShootPattern = (float)(Math.round(Math.random()*10)/10.0);
+			float ShootPattern = (float)(Math.round(this.random.nextDouble()*10)/10.0);
 			if (isLast()) { // The last enemy can get the all ShootPattern.
-				setShoot(bulletsN, shooter, 2);
+				setShoot(bullets, shooter, 2);
 			}
 			else if(ShootPattern<=0.4) {//The Enemy of double Bullet Type
-				setShoot(bulletsN, shooter, 0);
+				setShoot(bullets, shooter, 0);
 			}
 			else if(0.4 < ShootPattern && ShootPattern < 0.7) {//shoot double direction
-				bulletsN.add(BulletPool.getBulletN(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,1));
-				bulletsN.add(BulletPool.getBulletN(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,2));
+				bullets.spawn(Kind.BULLET_N, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,1);
+				bullets.spawn(Kind.BULLET_N, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,2);
 			}
 			else{
-				bulletsN.add(BulletPool.getBulletN(shooter.getPositionX()//general shoot
-						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,0));
+				bullets.spawn(Kind.BULLET_N, Owner.ENEMY, shooter.getPositionX()//general shoot
+						+ shooter.width / 2, shooter.getPositionY(),BULLET_SPEED,0);
 			}
 		}
 	}
 
-	public final void shootH(final Set<BulletH> bulletsH) {
+	public final void shootH(final BulletStore bullets) {
 		// For now, only ships in the bottom row are able to shoot.
-		int index = (int) (Math.random() * this.shooters.size());
+		int index = (int) (this.random.nextDouble() * this.shooters.size());
 		EnemyShip shooter = this.shooters.get(index);
 		if (isLast()) { // The last enemy can get the all ShootPattern.
-			setShoot(bulletsH, shooter, 2);
+			setShoot(bullets, shooter, 2);
 		}
 		else if (this.shootingCooldown.checkFinished()) {
 
 			this.shootingCooldown.reset();
-			float ShootPattern = (float)(Math.round(Math.random()*10)/10.0);
+			float ShootPattern = (float)(Math.round(this.random.nextDouble()*10)/10.0);
 			if(ShootPattern<=0.4) { //The Enemy of double Bullet Type
-				new Sound().bulletsound();
-				bulletsH.add(BulletPool.getBulletH(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0));
-				bulletsH.add(BulletPool.getBulletH(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0));
+				this.context.getAudio().play(SoundId.BULLET);
+				bullets.spawn(Kind.BULLET_H, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0);
+				bullets.spawn(Kind.BULLET_H, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED * 2,0);
 			}
 			else if(0.4 < ShootPattern && ShootPattern < 0.7) {//shoot double direction
-				new Sound().bulletsound();
-				bulletsH.add(BulletPool.getBulletH(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1));
-				bulletsH.add(BulletPool.getBulletH(shooter.getPositionX()
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2));
+				this.context.getAudio().play(SoundId.BULLET);
+				bullets.spawn(Kind.BULLET_H, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,1);
+				bullets.spawn(Kind.BULLET_H, Owner.ENEMY, shooter.getPositionX()
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,2);
 			}
 			else{
-				new Sound().bulletsound();
-				bulletsH.add(BulletPool.getBulletH(shooter.getPositionX()//general shoot
-						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0));
+				this.context.getAudio().play(SoundId.BULLET);
+				bullets.spawn(Kind.BULLET_H, Owner.ENEMY, shooter.getPositionX()//general shoot
+						+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED,0);
 			}
 		}
 	}
@@ -533,92 +621,145 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *            Ship to be destroyed.
 	 */
 	public final void destroy(final EnemyShip destroyedShip) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-
-
-				if(i == 0){
-					if(shipCount <= this.nShipsWide) {
-						if (column.get(i).equals(destroyedShip)) {
-							new Sound().explosionsound();
-							column.get(i).destroy();
-							this.logger.info("Destroyed ship in ("
-									+ this.enemyShips.indexOf(column) + "," + i + ")");
-							this.shipCount--;
-						}
-					}
-				}
-				else{
-					if (column.get(i).equals(destroyedShip)) {
-						new Sound().explosionsound();
-						column.get(i).destroy();
-						this.logger.info("Destroyed ship in ("
-								+ this.enemyShips.indexOf(column) + "," + i + ")");
-						this.shipCount--;
-					}
-
-
-				}
+		int slot = destroyedShip.getFormationSlot();
+		if (slot < 0 || slot >= this.enemyShips.length
+				|| this.enemyShips[slot] != destroyedShip)
+			return;
+		int column = slot / this.nShipsHigh;
+		int row = slot % this.nShipsHigh;
+		if ((this.present[column] & 1L << row) == 0)
+			return;
+
+		// The top ship of a column holds until only a row of ships is left.
+		int index = getIndexInColumn(column, row);
+		if (index == 0 && shipCount > this.nShipsWide)
+			return;
+
+		this.context.getAudio().play(SoundId.EXPLOSION);
+		destroyedShip.destroy();
+		this.logger.info("Destroyed ship in (" + getColumnIndex(column)
+				+ "," + index + ")");
+		this.shipCount--;
+		this.alive[column] &= ~(1L << row);
 
 		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+		int shooterCount = this.shooters.size();
+		updateShooters();
+		if (this.shooters.size() < shooterCount)
+			this.logger.info("Shooters list reduced to "
+					+ this.shooters.size() + " members.");
+	}
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
+	/**
+	 * Rebuilds the list of ships that can shoot the player, the lowest ship
+	 * not destroyed of every column.
+	 */
+	private void updateShooters() {
+		this.shooters.clear();
+		for (int column = 0; column < this.nShipsWide; column++)
+			if (this.alive[column] != 0)
+				this.shooters.add(getShip(column, Long.SIZE - 1
+						- Long.numberOfLeadingZeros(this.alive[column])));
+	}
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
-			}
-		}
+	/**
+	 * Gets the ship in a given column and row of the grid.
+	 * 
+	 * @param column
+	 *            Column of the grid.
+	 * @param row
+	 *            Row of the grid.
+	 * @return Ship in that place.
+	 */
+	private EnemyShip getShip(final int column, final int row) {
+		return this.enemyShips[column * this.nShipsHigh + row];
+	}
 
+	/**
+	 * Gets a ship among the ones still in a column.
+	 * 
+	 * @param column
+	 *            Column of the grid.
+	 * @param index
+	 *            Index of the ship among the ones in the column, from the top.
+	 * @return Ship at that index, null if there is none.
+	 */
+	private EnemyShip getPresentShip(final int column, final int index) {
+		if (index < 0)
+			return null;
+		long rows = this.present[column];
+		for (int i = 0; i < index && rows != 0; i++)
+			rows &= rows - 1;
+		if (rows == 0)
+			return null;
+		return getShip(column, Long.numberOfTrailingZeros(rows));
+	}
 
+	/**
+	 * Gets the index of a ship among the ones still in its column.
+	 * 
+	 * @param column
+	 *            Column of the grid.
+	 * @param row
+	 *            Row of the grid.
+	 * @return Number of ships above it in the column.
+	 */
+	private int getIndexInColumn(final int column, final int row) {
+		return Long.bitCount(this.present[column] & ((1L << row) - 1));
 	}
 
 	/**
-	 * Gets the ship on a given column that will be in charge of shooting.
+	 * Gets the index of a column among the ones still in the formation.
 	 * 
 	 * @param column
-	 *            Column to search.
-	 * @return New shooter ship.
+	 *            Column of the grid.
+	 * @return Index from the left, -1 if the column was removed.
 	 */
-	public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-		Iterator<EnemyShip> iterator = column.iterator();
-		EnemyShip nextShooter = null;
-		while (iterator.hasNext()) {
-			EnemyShip checkShip = iterator.next();
-			if (checkShip != null && !checkShip.isDestroyed())
-				nextShooter = checkShip;
-		}
+	private int getColumnIndex(final int column) {
+		for (int c = 0; c < this.columnCount; c++)
+			if (this.columns[c] == column)
+				return c;
+		return -1;
+	}
 
-		return nextShooter;
+	/**
+	 * Inserts every ship not yet destroyed into a collision grid.
+	 * 
+	 * @param grid
+	 *            Cleared grid to fill.
+	 */
+	public final void fillGrid(final CollisionGrid<EnemyShip> grid) {
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			for (long rows = this.alive[column]; rows != 0; rows &= rows - 1)
+				grid.insert(getShip(column, Long.numberOfTrailingZeros(rows)));
+		}
 	}
 
 	/**
-	 * Returns an iterator over the ships in the formation.
+	 * Returns a new iterator over the ships in the formation.
 	 * 
 	 * @return Iterator over the enemy ships.
 	 */
 	@Override
 	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
-
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				enemyShipsList.add(enemyShip);
+		return new ShipIterator();
+	}
 
-		return enemyShipsList.iterator();
+	/**
+	 * Performs an action on every ship in the formation, column by column,
+	 * without allocating an iterator.
+	 * 
+	 * @param action
+	 *            Action to perform on each ship.
+	 */
+	@Override
+	public final void forEach(final Consumer<? super EnemyShip> action) {
+		for (int c = 0; c < this.columnCount; c++) {
+			int column = this.columns[c];
+			for (long rows = this.present[column]; rows != 0; rows &= rows - 1)
+				action.accept(getShip(column, Long.numberOfTrailingZeros(rows)));
+		}
 	}
 
 	/**
@@ -638,4 +779,39 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	public final boolean isLast() {
 		return this.shipCount == 0;
 	}
+
+	/**
+	 * Iterates over the ships still in the formation, column by column.
+	 */
+	private final class ShipIterator implements Iterator<EnemyShip> {
+
+		/** Index of the current column among the remaining ones. */
+		private int columnIndex;
+		/** Rows of the current column not returned yet. */
+		private long rows;
+
+		/**
+		 * Constructor, starts from the first column.
+		 */
+		ShipIterator() {
+			this.columnIndex = 0;
+			this.rows = columnCount > 0 ? present[columns[0]] : 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (this.rows == 0 && this.columnIndex + 1 < columnCount)
+				this.rows = present[columns[++this.columnIndex]];
+			return this.rows != 0;
+		}
+
+		@Override
+		public EnemyShip next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			int row = Long.numberOfTrailingZeros(this.rows);
+			this.rows &= this.rows - 1;
+			return getShip(columns[this.columnIndex], row);
+		}
+	}
 }
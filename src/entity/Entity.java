@@ -16,6 +16,10 @@ public class Entity {
 	protected int positionX;
 	/** Position in the y-axis of the upper left corner of the entity. */
 	protected int positionY;
+	/** Position in the x-axis at the end of the previous update. */
+	private int previousPositionX;
+	/** Position in the y-axis at the end of the previous update. */
+	private int previousPositionY;
 	/** Width of the entity. */
 	protected int width;
 	/** Height of the entity. */
@@ -43,6 +47,8 @@ public class Entity {
 			final int height, final Color color) {
 		this.positionX = positionX;
 		this.positionY = positionY;
+		this.previousPositionX = positionX;
+		this.previousPositionY = positionY;
 		this.width = width;
 		this.height = height;
 		this.color = color;
@@ -89,6 +95,7 @@ public class Entity {
 	 */
 	public final void setPositionX(final int positionX) {
 		this.positionX = positionX;
+		this.previousPositionX = positionX;
 	}
 
 	/**
@@ -99,6 +106,42 @@ public class Entity {
 	 */
 	public final void setPositionY(final int positionY) {
 		this.positionY = positionY;
+		this.previousPositionY = positionY;
+	}
+
+	/**
+	 * Remembers the current position as the one of the previous update, to
+	 * interpolate from when drawing.
+	 */
+	public final void savePosition() {
+		this.previousPositionX = this.positionX;
+		this.previousPositionY = this.positionY;
+	}
+
+	/**
+	 * Getter for the X axis position to draw the entity at, between the
+	 * previous and the current update.
+	 * 
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current position.
+	 * @return Interpolated position of the entity in the X axis.
+	 */
+	public final int getRenderPositionX(final float alpha) {
+		return this.previousPositionX
+				+ Math.round((this.positionX - this.previousPositionX) * alpha);
+	}
+
+	/**
+	 * Getter for the Y axis position to draw the entity at, between the
+	 * previous and the current update.
+	 * 
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current position.
+	 * @return Interpolated position of the entity in the Y axis.
+	 */
+	public final int getRenderPositionY(final float alpha) {
+		return this.previousPositionY
+				+ Math.round((this.positionY - this.previousPositionY) * alpha);
 	}
 
 	/**
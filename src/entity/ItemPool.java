@@ -1,25 +1,24 @@
 package entity;
 
-import java.util.HashSet;
-import java.util.Set;
+import engine.Pool;
 
 /**
- * Implements a pool of recyclable items.
+ * Implements a pool of recyclable items. Every game owns its pool.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
  */
 public final class ItemPool {
 
-    /** Set of already created items. */
-    private static Set<Item> pool = new HashSet<Item>();
+    /** Free items kept at most. */
+    private static final int CAPACITY = 64;
+    /** Items created upfront. */
+    private static final int PREWARM = 16;
 
-    /**
-     * Constructor, not called.
-     */
-    private ItemPool() {
-
-    }
+    /** Already created items. */
+    private final Pool<Item> pool = new Pool<Item>(
+            () -> new Item(0, 0, 0), item -> item.setSpeed(0),
+            CAPACITY, PREWARM);
 
     /**
      * Returns a item from the pool if one is available, a new one if there
@@ -34,30 +33,32 @@ public final class ItemPool {
      *            on direction - positive is down.
      * @return Requested item.
      */
-    public static Item getItem(final int positionX,
-                               final int positionY, final int speed) {
-        Item item;
-        if (!pool.isEmpty()) {
-            item = pool.iterator().next();
-            pool.remove(item);
-            item.setPositionX(positionX - item.getWidth() / 2);
-            item.setPositionY(positionY);
-            item.setSpeed(speed);
-            item.setSprite();
-        } else {
-            item = new Item(positionX, positionY, speed);
-            item.setPositionX(positionX - item.getWidth() / 2);
-        }
+    public Item getItem(final int positionX,
+                        final int positionY, final int speed) {
+        Item item = this.pool.acquire();
+        item.setPositionX(positionX - item.getWidth() / 2);
+        item.setPositionY(positionY);
+        item.setSpeed(speed);
+        item.setSprite();
         return item;
     }
 
     /**
-     * Adds one or more items to the list of available ones.
+     * Adds an item to the list of available ones.
      *
      * @param item
-     *            Items to recycle.
+     *            Item to recycle.
+     */
+    public void recycle(final Item item) {
+        this.pool.release(item);
+    }
+
+    /**
+     * Getter for the pool usage counters.
+     *
+     * @return Pool of items.
      */
-    public static void recycle(final Set<Item> item) {
-        pool.addAll(item);
+    public Pool<Item> getPool() {
+        return this.pool;
     }
-}
\ No newline at end of file
+}
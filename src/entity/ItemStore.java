@@ -0,0 +1,128 @@
+package entity;
+
+import java.util.Arrays;
+
+import engine.FrameSnapshot;
+
+/**
+ * Keeps the items falling on screen in an array. Items picked up or falling
+ * off screen are given back to the item pool, and the remaining ones are
+ * compacted in place, keeping their order, all in the same pass.
+ */
+public final class ItemStore {
+
+	/** Items reserved on creation. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** Items on screen. */
+	private Item[] items = new Item[INITIAL_CAPACITY];
+	/** If every item was picked up and must be removed. */
+	private boolean[] collected = new boolean[INITIAL_CAPACITY];
+	/** Number of items on screen. */
+	private int size;
+	/** Pool the items removed are given back to. */
+	private final ItemPool pool;
+
+	/**
+	 * Constructor, sets where removed items go.
+	 *
+	 * @param pool
+	 *            Pool the items removed are given back to.
+	 */
+	public ItemStore(final ItemPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Adds an item.
+	 *
+	 * @param item
+	 *            Item to add, usually from the item pool.
+	 */
+	public void add(final Item item) {
+		if (this.size == this.items.length) {
+			this.items = Arrays.copyOf(this.items, this.size * 2);
+			this.collected = Arrays.copyOf(this.collected, this.size * 2);
+		}
+		this.items[this.size] = item;
+		this.collected[this.size] = false;
+		this.size++;
+	}
+
+	/**
+	 * Marks an item as picked up. It is removed on the next update.
+	 *
+	 * @param index
+	 *            Index of the item.
+	 */
+	public void collect(final int index) {
+		this.collected[index] = true;
+	}
+
+	/**
+	 * Removes the items picked up, moves the others and removes the ones
+	 * falling below the given line.
+	 *
+	 * @param bottom
+	 *            Items below this Y coordinate are removed.
+	 */
+	public void update(final int bottom) {
+		int kept = 0;
+		for (int i = 0; i < this.size; i++) {
+			Item item = this.items[i];
+			if (!this.collected[i]) {
+				item.update();
+				if (item.getPositionY() <= bottom) {
+					this.items[kept] = item;
+					this.collected[kept] = false;
+					kept++;
+					continue;
+				}
+			}
+			this.pool.recycle(item);
+		}
+		Arrays.fill(this.items, kept, this.size, null);
+		this.size = kept;
+	}
+
+	/**
+	 * Remembers the current position of every item, before they are updated.
+	 */
+	public void savePositions() {
+		for (int i = 0; i < this.size; i++)
+			this.items[i].savePosition();
+	}
+
+	/**
+	 * Adds every item to a frame snapshot.
+	 *
+	 * @param snapshot
+	 *            Frame to add the items to.
+	 * @param alpha
+	 *            Fraction of an update elapsed since the current positions.
+	 */
+	public void snapshot(final FrameSnapshot snapshot, final float alpha) {
+		for (int i = 0; i < this.size; i++)
+			snapshot.add(this.items[i], alpha);
+	}
+
+	/**
+	 * Getter for the number of items on screen.
+	 *
+	 * @return Number of items.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for an item.
+	 *
+	 * @param index
+	 *            Index of the item.
+	 * @return Item at that index.
+	 */
+	public Item get(final int index) {
+		return this.items[index];
+	}
+}
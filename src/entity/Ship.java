@@ -2,13 +2,14 @@ package entity;
 
 import java.awt.Color;
 import java.util.Arrays;
-import java.util.Set;
 
 import engine.Cooldown;
-import engine.Core;
+import engine.GameContext;
 import engine.Inventory;
 import engine.DrawManager.SpriteType;
-import engine.Sound;
+import engine.SoundId;
+import entity.BulletStore.Kind;
+import entity.BulletStore.Owner;
 
 /**
  * Implements a ship, to be controlled by the player.
@@ -43,9 +44,13 @@ public class Ship extends Entity {
 	private int frameCnt = 0;
 
 	private boolean getItem=false;
+	/** Game the ship plays in. */
+	private final GameContext context;
 	/**
 	 * Constructor, establishes the ship's properties.
 	 * 
+	 * @param context
+	 *                  Game the ship plays in.
 	 * @param positionX
 	 *                  Initial position of the ship in the X axis.
 	 * @param positionY
@@ -54,17 +59,19 @@ public class Ship extends Entity {
 
 	private Color baseColor=Color.green;
 
-	public Ship(final int positionX, final int positionY, Color color) {
+	public Ship(final GameContext context, final int positionX,
+			final int positionY, Color color) {
 		super(positionX, positionY, 13 * 2, 8 * 2, color);
+		this.context = context;
 		imagep = false;
 		this.spriteType = SpriteType.Ship;
 		if (positionY == 0) {
 			this.spriteType = SpriteType.ShipLive;
 		}
-		this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL);
-		this.itemCooldown = Core.getCooldown(300);
-		this.destructionCooldown = Core.getCooldown(destructCool);
-		switch (Core.getDiff()) {
+		this.shootingCooldown = context.getCooldown(SHOOTING_INTERVAL);
+		this.itemCooldown = context.getCooldown(300);
+		this.destructionCooldown = context.getCooldown(destructCool);
+		switch (context.getDifficulty()) {
 			case 0:
 				this.SPEED = 2;
 				break;
@@ -103,12 +110,12 @@ public class Ship extends Entity {
 	 *                List of bullets on screen, to add the new bullet.
 	 * @return Checks if the bullet was shot correctly.
 	 */
-	public final boolean shoot(final Set<Bullet> bullets) {
+	public final boolean shoot(final BulletStore bullets) {
 		if (this.shootingCooldown.checkFinished()) {
-			new Sound().bulletsound();
+			this.context.getAudio().play(SoundId.BULLET);
 			this.shootingCooldown.reset();
-			bullets.add(BulletPool.getBullet(positionX + this.width / 2,
-					positionY, BULLET_SPEED, 0));
+			bullets.spawn(Kind.BULLET, Owner.PLAYER, positionX + this.width / 2,
+					positionY, BULLET_SPEED, 0);
 			return true;
 		}
 		return false;
@@ -120,7 +127,7 @@ public class Ship extends Entity {
 	private Color[] rainbowEffect = {Color.RED, Color.ORANGE, Color.YELLOW, Color.green, Color.blue, new Color(0, 0, 128), new Color(139, 0, 255)};
 	public final void update() {
 
-		switch (Inventory.getcurrentship()) {
+		switch (Inventory.getcurrentship(this.context)) {
 			case 1000 -> setBaseColor(Color.GREEN);
 			case 1001 -> setBaseColor(Color.RED);
 			case 1002 -> setBaseColor(Color.BLUE);
@@ -175,10 +182,8 @@ public class Ship extends Entity {
 	 * Switches the ship to its destroyed state.
 	 */
 	public final void destroy() {
-		new Sound().explosionsound();
+		this.context.getAudio().play(SoundId.EXPLOSION);
 		this.destructionCooldown.reset();
-
-		new Sound().explosionsound();
 	}
 
 	/**
@@ -216,7 +221,7 @@ public class Ship extends Entity {
 	}
 
 	public void setSHOOTING_COOLDOWN(int SHOOTING_INTERVAL) {
-		this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL);
+		this.shootingCooldown = this.context.getCooldown(SHOOTING_INTERVAL);
 	}
 
 	public void setSHOOTING_INTERVAL(int SHOOTING_INTERVAL) {
@@ -1,10 +1,7 @@
 package screen;
 
-import java.util.Random;
 import java.awt.Color;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
-import java.util.Set;
 
 import engine.*;
 import engine.DrawManager.SpriteType;
@@ -53,6 +50,10 @@ public class GameScreen extends Screen {
 	 * Height of the interface separation line.
 	 */
 	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/**
+	 * Side of a cell of the collision grid.
+	 */
+	private static final int GRID_CELL_SIZE = 32;
 
 
 	private static final int SEPARATION_LINE_WIDTH = Core.getWIDTH() / 2;
@@ -76,6 +77,14 @@ public class GameScreen extends Screen {
 	 * Player's ship.
 	 */
 	private Ship ship;
+	/**
+	 * Game time, advanced once per update.
+	 */
+	private TickClock clock;
+	/**
+	 * Keys driving the ships, the keyboard unless simulated.
+	 */
+	private InputSource input;
 
 	private Ship shipR;
 
@@ -101,29 +110,27 @@ public class GameScreen extends Screen {
 	 */
 	private Cooldown screenFinishedCooldown;
 	/**
-	 * Set of all bullets fired by on screen ships.
+	 * All bullets fired by on screen ships.
 	 */
-	private Set<Bullet> bullets;
-
-	private Set<BulletN> bulletsN;
-
-	private Set<BulletH> bulletsH;
+	private BulletStore bullets;
 
 
 	/** Current score. */
 	private int score;
 	/** Current coin. */
 	private int coin;
-	/** Player lives left. */
-	public static int lives;
-
-	public static int livesL;
-
-	public static int livesR;
+	/** Left player lives left. */
+	private int livesL;
+	/** Right player lives left. */
+	private int livesR;
 	/**
 	 * Total bullets shot by the player.
 	 */
 	private int bulletsShot;
+	/**
+	 * Seed of the random numbers of the game.
+	 */
+	private long seed;
 	/**
 	 * Total ships destroyed by the player.
 	 */
@@ -143,14 +150,21 @@ public class GameScreen extends Screen {
 
 	public int enemyLives;
 	/**
-	 * Set of all items dropped by on screen enemyships.
+	 * All items dropped by on screen enemyships.
 	 */
-
-	private Set<entity.Item> items;
+	private ItemStore items;
+	/** Broad phase of the collisions between bullets and the formation. */
+	private CollisionGrid<EnemyShip> enemyGrid;
+	/** Snapshot drawn when rendering on this thread. */
+	private FrameSnapshot renderSnapshot = new FrameSnapshot();
+	/** Render thread drawing the published snapshots, if pipelined. */
+	private FramePipeline framePipeline;
 
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 *
+	 * @param context
+	 *                     Game the screen belongs to.
 	 * @param gameState
 	 *                     Current game state.
 	 * @param gameSettings
@@ -164,10 +178,10 @@ public class GameScreen extends Screen {
 	 * @param fps
 	 *                     Frames per second, frame rate at which the game is run.
 	 */
-	public GameScreen(final GameState gameState,
+	public GameScreen(final GameContext context, final GameState gameState,
 			final GameSettings gameSettings, final boolean bonusLife,
 			final int width, final int height, final int fps) {
-		super(width, height, fps);
+		super(context, width, height, fps);
 
 		this.gameSettings = gameSettings;
 		this.bonusLife = bonusLife;
@@ -179,6 +193,8 @@ public class GameScreen extends Screen {
 		this.coin = gameState.getCoin();
 		this.bulletsShot = gameState.getBulletsShot();
 		this.shipsDestroyed = gameState.getShipsDestroyed();
+		this.seed = gameState.getSeed();
+		this.input = this.inputManager;
 	}
 
 	/**
@@ -186,7 +202,11 @@ public class GameScreen extends Screen {
 	 */
 	public final void initialize() {
 		super.initialize();
-		enemyShipFormation = new EnemyShipFormation(this.gameSettings);
+		// Everything created from here on runs on simulation time.
+		this.clock = new TickClock(this.fps);
+		this.context.setClock(this.clock);
+		enemyShipFormation = new EnemyShipFormation(this.context,
+				this.gameSettings);
 		enemyShipFormation.attach(this);
 		/**
 		 * enemyShipFormationL = new EnemyShipFormation(this.gameSettings);
@@ -195,24 +215,27 @@ public class GameScreen extends Screen {
 		 * enemyShipFormation.attach(this);
 		 * */
 		/** You can add your Ship to the code below. */
-		this.shipL = new Ship(this.width / 4, this.height - 30, Color.RED);
-		this.shipR = new Ship(this.width / 4 * 3, this.height - 30, Color.BLUE);
+		this.shipL = new Ship(this.context, this.width / 4, this.height - 30,
+				Color.RED);
+		this.shipR = new Ship(this.context, this.width / 4 * 3,
+				this.height - 30, Color.BLUE);
 
 		// Appears each 10-30 seconds.
-		this.enemyShipSpecialCooldown = Core.getVariableCooldown(
+		this.enemyShipSpecialCooldown = this.context.getVariableCooldown(
 				BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE);
 		this.enemyShipSpecialCooldown.reset();
-		this.enemyShipSpecialExplosionCooldown = Core
+		this.enemyShipSpecialExplosionCooldown = this.context
 				.getCooldown(BONUS_SHIP_EXPLOSION);
-		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
-		this.bulletsN = new HashSet<BulletN>();
-		this.bulletsH = new HashSet<BulletH>();
-		this.items = new HashSet<entity.Item>();
+		this.screenFinishedCooldown = this.context
+				.getCooldown(SCREEN_CHANGE_INTERVAL);
+		this.bullets = new BulletStore();
+		this.items = new ItemStore(this.context.getItemPool());
+		this.enemyGrid = new CollisionGrid<EnemyShip>(this.width,
+				this.height, GRID_CELL_SIZE);
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
-		this.inputDelay = Core.getCooldown(INPUT_DELAY);
+		this.gameStartTime = this.clock.millis();
+		this.inputDelay = this.context.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 	}
 
@@ -222,19 +245,45 @@ public class GameScreen extends Screen {
 	 * @return Next screen code.
 	 */
 	public final int run() {
-		super.run();
+		if (Core.isPipelinedRendering()) {
+			this.framePipeline = new FramePipeline(this);
+			this.framePipeline.start();
+		}
+		try {
+			super.run();
+		} finally {
+			if (this.framePipeline != null)
+				this.framePipeline.stop();
+			this.context.setClock(null);
+		}
 
-		this.score += LIFE_SCORE * (this.livesL + this.livesR - 1);
-		this.logger.info("Screen cleared with a score of " + this.score);
+		finishLevel();
+		this.logger.fine("HUD regions rendered: "
+				+ drawManager.getHudRedrawsTotal() + " in "
+				+ drawManager.getHudFrames() + " frames.");
+		this.logger.fine("Item pool: "
+				+ this.context.getItemPool().getPool());
 
 		return this.returnCode;
 	}
 
+	/**
+	 * Closes the level once it is over, adding the bonus of the lives left to
+	 * the score. Called once, after the level was played or simulated.
+	 */
+	public final void finishLevel() {
+		this.score += LIFE_SCORE * (this.livesL + this.livesR - 1);
+		this.logger.info("Screen cleared with a score of " + this.score);
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected final void update() {
 		super.update();
+		this.clock.tick();
+		this.input.poll();
+		savePositions();
 
 		if (this.inputDelay.checkFinished() && !this.levelFinished) {
 
@@ -245,30 +294,80 @@ public class GameScreen extends Screen {
 			//this.enemyShipFormationL.update();
 			//this.enemyShipFormationR.update();
 
-			this.enemyShipFormation.shootH(this.bulletsH);
-			//this.enemyShipFormationL.shootH(this.bulletsH);
-			//this.enemyShipFormationR.shootH(this.bulletsH);
+			this.enemyShipFormation.shootH(this.bullets);
+			//this.enemyShipFormationL.shootH(this.bullets);
+			//this.enemyShipFormationR.shootH(this.bullets);
 
 
 		}
 		manageCollisions();
-		manageCollisionsN();
-		manageCollisionsH();
 		cleanBullets();
-		cleanBulletsN();
-		cleanBulletsH();
 		manageCollisionsItem();
 		cleanItems();
-		draw();
 		level_finish();
+
+		if (this.framePipeline != null) {
+			snapshot(this.framePipeline.beginFrame(), 1f);
+			this.framePipeline.publish();
+		}
+	}
+
+	/**
+	 * Remembers where every entity was before the update, so it can be drawn
+	 * moving smoothly towards its new position.
+	 */
+	private void savePositions() {
+		this.shipR.savePosition();
+		this.shipL.savePosition();
+		if (this.enemyShipSpecial != null)
+			this.enemyShipSpecial.savePosition();
+		this.enemyShipFormation.savePositions();
+		this.bullets.savePositions();
+		this.items.savePositions();
+	}
+
+	/**
+	 * The game runs at the game speed.
+	 *
+	 * @return Speed relative to real time.
+	 */
+	@Override
+	protected final double getTimeScale() {
+		return Core.getTimeScale();
+	}
+
+	/**
+	 * Pipelined frames are published by the updates, so the loop renders
+	 * no more than once per update.
+	 *
+	 * @return Frames per second.
+	 */
+	@Override
+	protected final int getRenderRate() {
+		return Core.isPipelinedRendering() ? this.fps : super.getRenderRate();
+	}
+
+	/**
+	 * Draws the screen between updates.
+	 *
+	 * @param alpha
+	 *            Fraction of an update elapsed since the last one.
+	 */
+	@Override
+	protected final void render(final float alpha) {
+		if (this.framePipeline != null)
+			return;
+		this.renderSnapshot.clear();
+		snapshot(this.renderSnapshot, alpha);
+		drawManager.drawSnapshot(this, this.renderSnapshot);
 	}
 
 	private void move(){
 		if (!this.shipL.isDestroyed() && !this.shipR.isDestroyed()) {
-			boolean moveRightL = inputManager.isKeyDown(KeyEvent.VK_D);
-			boolean moveLeftL = inputManager.isKeyDown(KeyEvent.VK_A);
-			boolean moveRightR = inputManager.isKeyDown(KeyEvent.VK_RIGHT);
-			boolean moveLeftR = inputManager.isKeyDown(KeyEvent.VK_LEFT);
+			boolean moveRightL = this.input.isKeyDown(KeyEvent.VK_D);
+			boolean moveLeftL = this.input.isKeyDown(KeyEvent.VK_A);
+			boolean moveRightR = this.input.isKeyDown(KeyEvent.VK_RIGHT);
+			boolean moveLeftR = this.input.isKeyDown(KeyEvent.VK_LEFT);
 			boolean isMiddleLine_shipL = this.shipL.getPositionX()
 					+ this.shipL.getWidth() + this.shipL.getSpeed() > this.width / 2 - 1;
 			boolean isLeftBorder_shipL = this.shipL.getPositionX()
@@ -297,23 +396,23 @@ public class GameScreen extends Screen {
 	}
 
 	private void shoot(){
-		if (inputManager.isKeyDown(KeyEvent.VK_SPACE))
+		if (this.input.isKeyDown(KeyEvent.VK_SPACE))
 			if (this.shipL.shoot(this.bullets))
 				this.bulletsShot++;
 
-		if (inputManager.isKeyDown(KeyEvent.VK_UP))
+		if (this.input.isKeyDown(KeyEvent.VK_UP))
 			if (this.shipR.shoot(this.bullets))
 				this.bulletsShot++;
 	}
 
 	private void animctr(){
-		if (inputManager.isKeyDown(KeyEvent.VK_LEFT)) {
+		if (this.input.isKeyDown(KeyEvent.VK_LEFT)) {
 			shipR.animctr = 2;
-		} else if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)) {
+		} else if (this.input.isKeyDown(KeyEvent.VK_RIGHT)) {
 			shipR.animctr = 3;
-		} else if (inputManager.isKeyDown(KeyEvent.VK_A)) {
+		} else if (this.input.isKeyDown(KeyEvent.VK_A)) {
 			shipL.animctr = 2;
-		} else if (inputManager.isKeyDown(KeyEvent.VK_D)) {
+		} else if (this.input.isKeyDown(KeyEvent.VK_D)) {
 			shipL.animctr = 3;
 		} else {
 			shipR.animctr = 1;
@@ -356,120 +455,72 @@ public class GameScreen extends Screen {
 	}
 
 	/**
-	 * Draws the elements associated with the screen.
-	 */
-	private void draw() {
-		drawManager.initDrawing(this);
-		drawManager.drawEntity(this.shipR, this.shipR.getPositionX(), this.shipR.getPositionY());
-		drawManager.drawEntity(this.shipL, this.shipL.getPositionX(), this.shipL.getPositionY());
+	 * Copies the elements associated with the screen into a frame snapshot.
+	 *
+	 * @param snapshot
+	 *            Cleared snapshot to fill.
+	 * @param alpha
+	 *            Fraction of an update elapsed since the last one, to
+	 *            interpolate positions with.
+	 */
+	private void snapshot(final FrameSnapshot snapshot, final float alpha) {
+		snapshot.add(this.shipR, alpha);
+		snapshot.add(this.shipL, alpha);
 		if (this.enemyShipSpecial != null)
-			drawManager.drawEntity(this.enemyShipSpecial,
-					this.enemyShipSpecial.getPositionX(),
-					this.enemyShipSpecial.getPositionY());
-
-		enemyShipFormation.draw();
-
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+			snapshot.add(this.enemyShipSpecial, alpha);
 
-		for (BulletN bulletN : this.bulletsN)
-			drawManager.drawEntity(bulletN, bulletN.getPositionX(),
-					bulletN.getPositionY());
+		enemyShipFormation.snapshot(snapshot, alpha);
 
-		for (BulletH bulletH : this.bulletsH)
-			drawManager.drawEntity(bulletH, bulletH.getPositionX(),
-					bulletH.getPositionY());
+		this.bullets.snapshot(snapshot, alpha);
 
-		for (entity.Item item : this.items)
-			drawManager.drawEntity(item, item.getPositionX(),
-					item.getPositionY());
+		this.items.snapshot(snapshot, alpha);
 
 		// Interface.
-		drawManager.drawScore(this, this.score);
-		drawManager.drawLives(this, this.livesL, 0);
-		drawManager.drawLives(this, this.livesR, 1);
-		drawManager.drawHorizontalLine(this, SEPARATION_LINE_HEIGHT - 1);
-		drawManager.drawVerticalLine(this, SEPARATION_LINE_WIDTH - 1);
-		drawManager.drawCoin(this, this.coin);
+		snapshot.setHud(this.score, this.coin, this.livesL, this.livesR,
+				SEPARATION_LINE_HEIGHT - 1, SEPARATION_LINE_WIDTH - 1,
+				Core.getHighScoreRepository().getMaxScore());
+		snapshot.setColors(this.context.getLives(),
+				this.context.getScreenColor());
 
 		// Countdown to game start.
 		if (!this.inputDelay.checkFinished()) {
 			int countdown = (int) ((INPUT_DELAY
-					- (System.currentTimeMillis()
-							- this.gameStartTime))
+					- (this.clock.millis() - this.gameStartTime))
 					/ 1000);
-			drawManager.drawCountDown(this, this.level, countdown,
-					this.bonusLife);
-			drawManager.drawHorizontalLine(this, this.height / 2 - this.height
-					/ 12);
-			drawManager.drawHorizontalLine(this, this.height / 2 + this.height
-					/ 12);
+			snapshot.setCountdown(this.level, countdown, this.bonusLife);
 		}
-
-		drawManager.completeDrawing(this);
 	}
 
 	/**
 	 * Cleans bullets that go off screen.
 	 */
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
-	}
-
-	private void cleanBulletsN() {
-		Set<BulletN> recyclable = new HashSet<BulletN>();
-		for (BulletN bulletN : this.bulletsN) {
-			bulletN.update();
-			if (bulletN.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bulletN.getPositionY() > this.height)
-				recyclable.add(bulletN);
-		}
-		this.bulletsN.removeAll(recyclable);
-		BulletPool.recycleN(recyclable);
-	}
-
-	private void cleanBulletsH() {
-		Set<BulletH> recyclable = new HashSet<BulletH>();
-		for (BulletH bulletH : this.bulletsH) {
-			bulletH.update();
-			if (bulletH.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bulletH.getPositionY() > this.height)
-				recyclable.add(bulletH);
-		}
-		this.bulletsH.removeAll(recyclable);
-		BulletPool.recycleH(recyclable);
+		this.bullets.update(SEPARATION_LINE_HEIGHT, this.height);
 	}
 
+	/**
+	 * Moves the items and recycles the ones picked up or off screen.
+	 */
 	private void cleanItems() {
-		Set<entity.Item> recyclable = new HashSet<entity.Item>();
-		for (entity.Item item : this.items) {
-			item.update();
-			if (item.getPositionY() > this.height)
-				recyclable.add(item);
-		}
-		this.items.removeAll(recyclable);
-		ItemPool.recycle(recyclable);
+		this.items.update(this.height);
 	}
 
 	/**
 	 * Manages collisions between bullets and ships.
 	 */
 	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets)
-			if (bullet.getSpeed() > 0) {
+		// The formation doesn't move while collisions are checked, so its
+		// grid is built once for every bullet.
+		this.enemyGrid.clear();
+		this.enemyShipFormation.fillGrid(this.enemyGrid);
+
+		// Backwards, so removing a bullet only moves an already checked one.
+		for (int b = this.bullets.size() - 1; b >= 0; b--) {
+			boolean recyclable = false;
+			if (this.bullets.getOwner(b) == BulletStore.Owner.ENEMY) {
 				// ship -> shipL, shipR
-				if (checkCollision(bullet, this.shipL) && !this.levelFinished) {
-					recyclable.add(bullet);
+				if (this.bullets.collides(b, this.shipL) && !this.levelFinished) {
+					recyclable = true;
 					if (!this.shipL.isDestroyed()) {
 						// Ship이 destroy 되었을 때 처리
 						this.shipL.destroy();
@@ -483,8 +534,8 @@ public class GameScreen extends Screen {
 					}
 				}
 
-				if (checkCollision(bullet, this.shipR) && !this.levelFinished) {
-					recyclable.add(bullet);
+				if (this.bullets.collides(b, this.shipR) && !this.levelFinished) {
+					recyclable = true;
 					if (!this.shipR.isDestroyed()) {
 						// Ship이 destroy 되었을 때 처리
 						this.shipR.destroy();
@@ -499,191 +550,59 @@ public class GameScreen extends Screen {
 				}
 
 			} else {
-				for (EnemyShip enemyShip : this.enemyShipFormation)
+				int candidates = this.enemyGrid.query(
+						this.bullets.getPositionX(b), this.bullets.getPositionY(b),
+						this.bullets.getWidth(b), this.bullets.getHeight(b));
+				for (int i = 0; i < candidates; i++) {
+					EnemyShip enemyShip = this.enemyGrid.getCandidate(i);
 					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
+							&& this.bullets.collides(b, enemyShip)) {
 						enemyLives = enemyShip.getEnemyLives();
 						if (enemyLives == 1) {
 							this.score += enemyShip.getPointValue();
 							this.shipsDestroyed++;
-							Random random = new Random();
-							int per = random.nextInt(3);
+							int per = this.context.getRandom(GameRandom.Stream.ITEMS).nextInt(3);
 							if (per == 0) {
-								items.add(ItemPool.getItem(enemyShip.getPositionX() + enemyShip.getWidth() / 2,
+								items.add(this.context.getItemPool().getItem(enemyShip.getPositionX() + enemyShip.getWidth() / 2,
 										enemyShip.getPositionY(), ITEM_SPEED));
 							}
 							this.enemyShipFormation.destroy(enemyShip);
 							this.coin += enemyShip.getPointValue() / 10;
-							Coin.balance += enemyShip.getPointValue() / 10;
-							recyclable.add(bullet);
+							this.context.earnCoins(enemyShip.getPointValue() / 10);
+							recyclable = true;
 						}
 						else {
 							enemyLives--;
 							enemyShip.setenemyLives(enemyLives);
-							recyclable.add(bullet);
+							recyclable = true;
 						}
 					}
-				if (this.enemyShipSpecial != null
-						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
-					this.score += this.enemyShipSpecial.getPointValue();
-					this.shipsDestroyed++;
-					this.enemyShipSpecial.destroy();
-					this.enemyShipSpecialExplosionCooldown.reset();
-					this.coin += this.enemyShipSpecial.getPointValue() / 10;
-					Coin.balance += this.enemyShipSpecial.getPointValue() / 10;
-					recyclable.add(bullet);
 				}
-			}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
-	}
-
-	private void manageCollisionsN() {
-		Set<BulletN> recyclable = new HashSet<BulletN>();
-		for (BulletN bullet : this.bulletsN)
-			if (bullet.getSpeed() > 0) {
-				// ship -> shipL, shipR
-				if (checkCollision(bullet, this.shipL) && !this.levelFinished) {
-					recyclable.add(bullet);
-					if (!this.shipL.isDestroyed()) {
-						this.shipL.destroy();
-						if(this.livesL > 0) this.livesL--;
-						else{
-							this.shipL.setSPEED(0);
-							this.shipL.setSHOOTING_COOLDOWN(2147483647);
-						}
-						this.logger.info("Hit on player ship, " + this.livesL
-								+ " lives remaining.");
-					}
-				}
-				if (checkCollision(bullet, this.shipR) && !this.levelFinished) {
-					recyclable.add(bullet);
-					if (!this.shipR.isDestroyed()) {
-						this.shipR.destroy();
-						if(this.livesR > 0) this.livesR--;
-						else{
-							this.shipR.setSPEED(0);
-							this.shipR.setSHOOTING_COOLDOWN(2147483647);
-						}
-						this.logger.info("Hit on player ship, " + this.livesR
-								+ " lives remaining.");
-					}
-				}
-			} else {
-				for (EnemyShip enemyShip : this.enemyShipFormation)
-					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
-						this.score += enemyShip.getPointValue();
-						this.shipsDestroyed++;
-						Random random = new Random();
-						int per = random.nextInt(2);
-						if(per == 0){
-							items.add(ItemPool.getItem(enemyShip.getPositionX() + enemyShip.getWidth() / 2,
-									enemyShip.getPositionY(), ITEM_SPEED));
-						}
-						this.enemyShipFormation.destroy(enemyShip);
-						recyclable.add(bullet);
-					}
-				if (this.enemyShipSpecial != null
-						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
-					this.score += this.enemyShipSpecial.getPointValue();
-					this.shipsDestroyed++;
-					this.enemyShipSpecial.destroy();
-					this.enemyShipSpecialExplosionCooldown.reset();
-					recyclable.add(bullet);
-				}
-			}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycleN(recyclable);
-	}
-
-	private void manageCollisionsH() {
-		Set<BulletH> recyclable = new HashSet<BulletH>();
-		for (BulletH bullet : this.bulletsH) {
-			if (bullet.getSpeed() > 0) {
-				if (checkCollision(bullet, this.shipL) && !this.levelFinished) {
-					recyclable.add(bullet);
-					if (!this.shipL.isDestroyed()) {
-						this.shipL.destroy();
-						if(this.livesL > 0) this.livesL--;
-						else{
-							this.shipL.setSPEED(0);
-							this.shipL.setSHOOTING_COOLDOWN(2147483647);
-						}
-						this.logger.info("Hit on player ship, " + this.livesL
-								+ " lives remaining.");
-					}
-				}
-			} else {
-				for (EnemyShip enemyShip : this.enemyShipFormation)
-					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
-						this.score += enemyShip.getPointValue();
-						this.shipsDestroyed++;
-						Random random = new Random();
-						int per = random.nextInt(2);
-						if (per == 0) {
-							items.add(ItemPool.getItem(enemyShip.getPositionX() + enemyShip.getWidth() / 2,
-									enemyShip.getPositionY(), ITEM_SPEED));
-						}
-						this.enemyShipFormation.destroy(enemyShip);
-						recyclable.add(bullet);
-					}
 				if (this.enemyShipSpecial != null
 						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
+						&& this.bullets.collides(b, this.enemyShipSpecial)) {
 					this.score += this.enemyShipSpecial.getPointValue();
 					this.shipsDestroyed++;
 					this.enemyShipSpecial.destroy();
 					this.enemyShipSpecialExplosionCooldown.reset();
-					recyclable.add(bullet);
-				}
-			}
-			if(bullet.getSpeed() > 0){
-				if (checkCollision(bullet, this.shipR) && !this.levelFinished) {
-					recyclable.add(bullet);
-					if (!this.shipR.isDestroyed()) {
-						this.shipR.destroy();
-						if(this.livesR > 0) this.livesR--;
-						else{
-							this.shipR.setSPEED(0);
-							this.shipR.setSHOOTING_COOLDOWN(2147483647);
-						}
-						this.logger.info("Hit on player ship, " + this.livesR
-								+ " lives remaining.");
-					}
-				}
-			} else {
-				for (EnemyShip enemyShip : this.enemyShipFormation)
-					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
-						this.score += enemyShip.getPointValue();
-						this.shipsDestroyed++;
-						Random random = new Random();
-						int per = random.nextInt(2);
-						if (per == 0) {
-							items.add(ItemPool.getItem(enemyShip.getPositionX() + enemyShip.getWidth() / 2,
-									enemyShip.getPositionY(), ITEM_SPEED));
-						}
-						this.enemyShipFormation.destroy(enemyShip);
-						recyclable.add(bullet);
-					}
-				if (this.enemyShipSpecial != null
-						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
-					this.score += this.enemyShipSpecial.getPointValue();
-					this.shipsDestroyed++;
-					this.enemyShipSpecial.destroy();
-					this.enemyShipSpecialExplosionCooldown.reset();
-					recyclable.add(bullet);
+					this.coin += this.enemyShipSpecial.getPointValue() / 10;
+					this.context.earnCoins(this.enemyShipSpecial.getPointValue() / 10);
+					recyclable = true;
 				}
 			}
+			if (recyclable)
+				this.bullets.remove(b);
 		}
+	}
 
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycleH(recyclable);
+	/**
+	 * Changes the keys driving the ships, to let a script or a bot play.
+	 *
+	 * @param inputSource
+	 *            New source of the keys.
+	 */
+	public final void setInputSource(final InputSource inputSource) {
+		this.input = inputSource;
 	}
 
 	/**
@@ -693,7 +612,7 @@ public class GameScreen extends Screen {
 	 */
 	public final GameState getGameState() {
 		return new GameState(this.level, this.score, this.livesL, this.livesR,
-				this.bulletsShot, this.shipsDestroyed, this.coin);
+				this.bulletsShot, this.shipsDestroyed, this.coin, this.seed);
 	}
 
 	/**
@@ -701,12 +620,11 @@ public class GameScreen extends Screen {
 	 */
 
 	private void manageCollisionsItem() {
-		Set<entity.Item> recyclable = new HashSet<entity.Item>(); // ItemPool
-		for (entity.Item item : this.items) {
+		for (int n = 0; n < this.items.size(); n++) {
+			entity.Item item = this.items.get(n);
 			if (checkCollision(item, this.shipL) && !this.levelFinished) {
-				recyclable.add(item);
-				Random random = new Random();
-				int per = random.nextInt(6);
+				this.items.collect(n);
+				int per = this.context.getRandom(GameRandom.Stream.ITEMS).nextInt(6);
 
 				if (per == 0) {
 					if (this.livesL < 3) {
@@ -748,32 +666,43 @@ public class GameScreen extends Screen {
 					this.shipL.item_number = 3;
 					this.shipL.itemimgGet();
 				}else if (per == 3) {
-					bullets.add(BulletPool.getBullet(shipL.getPositionX(),
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth/2,
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth,
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX(),
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth/2,
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth,
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
 					this.logger.info("Three bullets");
 				}else if (per == 4) {
-					bullets.add(BulletPool.getBullet(shipL.getPositionX()+shipWidth/2,
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth/2,
-							shipL.getPositionY()+shipWidth/2, shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth/2,
-							shipL.getPositionY()+shipWidth, shipL.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX()+shipWidth/2,
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth/2,
+							shipL.getPositionY()+shipWidth/2, shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth/2,
+							shipL.getPositionY()+shipWidth, shipL.getBULLET_SPEED(), 0);
 					this.logger.info("Three bullets");
 				}else {
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() - shipWidth / 2,
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX(),
-							shipL.getPositionY() - shipWidth / 3, shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth / 2,
-							shipL.getPositionY() - shipWidth / 2, shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth,
-							shipL.getPositionY() - shipWidth / 3, shipL.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipL.getPositionX() + shipWidth + shipWidth / 2,
-							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() - shipWidth / 2,
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX(),
+							shipL.getPositionY() - shipWidth / 3, shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth / 2,
+							shipL.getPositionY() - shipWidth / 2, shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth,
+							shipL.getPositionY() - shipWidth / 3, shipL.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipL.getPositionX() + shipWidth + shipWidth / 2,
+							shipL.getPositionY(), shipL.getBULLET_SPEED(), 0);
 					this.logger.info("Five bullets");
 				}
 				this.shipL.getItem();
@@ -784,9 +713,8 @@ public class GameScreen extends Screen {
 
 
 			if (checkCollision(item, this.shipR) && !this.levelFinished) {
-				recyclable.add(item);
-				Random random = new Random();
-				int per = random.nextInt(6);
+				this.items.collect(n);
+				int per = this.context.getRandom(GameRandom.Stream.ITEMS).nextInt(6);
 
 				if (per == 0) {
 					if (this.livesR < 3) {
@@ -828,39 +756,48 @@ public class GameScreen extends Screen {
 					this.shipR.item_number = 3;
 					this.shipR.itemimgGet();
 				}else if (per == 3) {
-					bullets.add(BulletPool.getBullet(shipR.getPositionX(),
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth/2,
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth,
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX(),
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth/2,
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth,
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
 					this.logger.info("Three bullets");
 				}else if (per == 4) {
-					bullets.add(BulletPool.getBullet(shipR.getPositionX()+shipWidth/2,
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth/2,
-							shipR.getPositionY()+shipWidth/2, shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth/2,
-							shipR.getPositionY()+shipWidth, shipR.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX()+shipWidth/2,
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth/2,
+							shipR.getPositionY()+shipWidth/2, shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth/2,
+							shipR.getPositionY()+shipWidth, shipR.getBULLET_SPEED(), 0);
 					this.logger.info("Three bullets");
 				}else {
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() - shipWidth / 2,
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX(),
-							shipR.getPositionY() - shipWidth / 3, shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth / 2,
-							shipR.getPositionY() - shipWidth / 2, shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth,
-							shipR.getPositionY() - shipWidth / 3, shipR.getBULLET_SPEED(), 0));
-					bullets.add(BulletPool.getBullet(shipR.getPositionX() + shipWidth + shipWidth / 2,
-							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0));
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() - shipWidth / 2,
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX(),
+							shipR.getPositionY() - shipWidth / 3, shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth / 2,
+							shipR.getPositionY() - shipWidth / 2, shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth,
+							shipR.getPositionY() - shipWidth / 3, shipR.getBULLET_SPEED(), 0);
+					bullets.spawn(BulletStore.Kind.BULLET, BulletStore.Owner.PLAYER,
+							shipR.getPositionX() + shipWidth + shipWidth / 2,
+							shipR.getPositionY(), shipR.getBULLET_SPEED(), 0);
 					this.logger.info("Five bullets");
 				}
 				this.shipR.getItem();
 			}
 		}
-		this.items.removeAll(recyclable);
-		ItemPool.recycle(recyclable);
 	}
 
 	/**
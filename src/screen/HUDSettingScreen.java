@@ -1,9 +1,8 @@
 package screen;
 
-import java.awt.*;
 import java.awt.event.KeyEvent;
 import engine.Cooldown;
-import engine.Core;
+import engine.GameContext;
 
 
 /**
@@ -12,9 +11,9 @@ import engine.Core;
 
 public class HUDSettingScreen extends Screen {
     /**
-     * Screen change parameter
+     * Color option selected, kept in the game.
      */
-    public static int colorchange;
+    private int colorchange;
     /** Milliseconds between changes in user selection. */
     private static final int SELECTION_TIME = 200;
 
@@ -24,6 +23,8 @@ public class HUDSettingScreen extends Screen {
     /**
      * Constructor, establishes the properties of the screen.
      *
+     * @param context
+     *            Game the screen belongs to.
      * @param width
      *            Screen width.
      * @param height
@@ -31,12 +32,14 @@ public class HUDSettingScreen extends Screen {
      * @param fps
      *            Frames per second, frame rate at which the game is run.
      */
-    public HUDSettingScreen(final int width, final int height, final int fps) {
-        super(width, height, fps);
+    public HUDSettingScreen(final GameContext context, final int width,
+            final int height, final int fps) {
+        super(context, width, height, fps);
         this.colorchange = 1;
+        this.context.setHudColor(this.colorchange);
         this.returnCode = 4;
 
-        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+        this.selectionCooldown = context.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
     }
 
@@ -88,6 +91,7 @@ public class HUDSettingScreen extends Screen {
             this.colorchange = 3;
         else
             this.colorchange++;
+        this.context.setHudColor(this.colorchange);
     }
 
     private void previousItem(){
@@ -99,6 +103,7 @@ public class HUDSettingScreen extends Screen {
             this.colorchange = 1;
         else
             this.colorchange--;
+        this.context.setHudColor(this.colorchange);
     }
 
     /**
@@ -109,24 +114,4 @@ public class HUDSettingScreen extends Screen {
         drawManager.drawHUDSettingMenu(this, this.colorchange);
         drawManager.completeDrawing(this);
     }
-
-    /**
-     * Exchange colors according to 'colorchange' parameter
-     * 
-     * @return Color information
-     */
-    public static Color getScreenColor(){
-        if(HUDSettingScreen.colorchange == 1){
-            return Color.GREEN;
-        }
-        else if(HUDSettingScreen.colorchange == 2){
-            return Color.RED;
-        }
-        else if(HUDSettingScreen.colorchange == 3){
-            return Color.BLUE;
-        }
-        else{
-            return Color.GREEN;
-        }
-    }
 }
\ No newline at end of file
@@ -5,13 +5,15 @@ import java.io.IOException;
 import java.util.List;
 
 import engine.Core;
+import engine.GameContext;
 import engine.Score;
 
 public class HelpScreen extends Screen{
 
 
-    public HelpScreen(final int width, final int height, final int fps){
-        super(width, height, fps);
+    public HelpScreen(final GameContext context, final int width,
+            final int height, final int fps){
+        super(context, width, height, fps);
 
         this.returnCode = 4;
     }
@@ -1,10 +1,10 @@
 package screen;
 
 import java.awt.event.KeyEvent;
-import java.io.IOException;
 import java.util.List;
 
 import engine.Core;
+import engine.GameContext;
 import engine.Score;
 
 /**
@@ -21,6 +21,8 @@ public class HighScoreScreen extends Screen {
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 * 
+	 * @param context
+	 *            Game the screen belongs to.
 	 * @param width
 	 *            Screen width.
 	 * @param height
@@ -28,16 +30,13 @@ public class HighScoreScreen extends Screen {
 	 * @param fps
 	 *            Frames per second, frame rate at which the game is run.
 	 */
-	public HighScoreScreen(final int width, final int height, final int fps) {
-		super(width, height, fps);
+	public HighScoreScreen(final GameContext context, final int width,
+			final int height, final int fps) {
+		super(context, width, height, fps);
 
 		this.returnCode = 1;
 
-		try {
-			this.highScores = Core.getFileManager().loadHighScores();
-		} catch (NumberFormatException | IOException e) {
-			logger.warning("Couldn't load high scores!");
-		}
+		this.highScores = Core.getHighScoreRepository().getHighScores();
 	}
 
 	/**
@@ -3,7 +3,7 @@ package screen;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import engine.Cooldown;
-import engine.Core;
+import engine.GameContext;
 
 
 /**
@@ -25,14 +25,16 @@ public class LevelMenuScreen extends Screen {
     /**
      * Constructor, establishes the properties of the screen.
      *
+     * @param context Game the screen belongs to.
      * @param width  Screen width.
      * @param height Screen height.
      * @param fps    Frames per second, frame rate at which the game is run.
      */
-    public LevelMenuScreen(final int width, final int height, final int fps) {
-        super(width, height, fps);
+    public LevelMenuScreen(final GameContext context, final int width,
+            final int height, final int fps) {
+        super(context, width, height, fps);
         this.returnCode = 101;
-        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+        this.selectionCooldown = context.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
     }
 
@@ -3,7 +3,7 @@ package screen;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import engine.Cooldown;
-import engine.Core;
+import engine.GameContext;
 
 
 /**
@@ -28,14 +28,16 @@ public class LevelScreen extends Screen {
     /**
      * Constructor, establishes the properties of the screen.
      *
+     * @param context Game the screen belongs to.
      * @param width  Screen width.
      * @param height Screen height.
      * @param fps    Frames per second, frame rate at which the game is run.
      */
-    public LevelScreen(final int width, final int height, final int fps) {
-        super(width, height, fps);
+    public LevelScreen(final GameContext context, final int width,
+            final int height, final int fps) {
+        super(context, width, height, fps);
         this.returnCode = 101;
-        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+        this.selectionCooldown = context.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
     }
 
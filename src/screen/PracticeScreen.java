@@ -2,19 +2,16 @@ package screen;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
-import java.util.Set;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.GameContext;
 import engine.GameSettings;
 import engine.GameState;
 import engine.Inventory;
-import entity.Bullet;
-import entity.BulletPool;
+import entity.BulletStore;
 import entity.EnemyShip;
 import entity.EnemyShipFormation;
-import entity.Entity;
 import entity.Ship;
 
 
@@ -51,14 +48,16 @@ public class PracticeScreen extends Screen {
 	private Cooldown enemyShipSpecialExplosionCooldown;
 	/** Time from finishing the level to screen change. */
 	private Cooldown screenFinishedCooldown;
-	/** Set of all bullets fired by on screen ships. */
-	private Set<Bullet> bullets;
+	/** All bullets fired by on screen ships. */
+	private BulletStore bullets;
 	/** Current score. */
 	private int score;
 	/** Player lives left. */
 	private int lives;
 	/** Total bullets shot by the player. */
 	private int bulletsShot;
+	/** Seed of the random numbers of the game. */
+	private long seed;
 	/** Total ships destroyed by the player. */
 	private int shipsDestroyed;
 	/** Moment the game starts. */
@@ -71,6 +70,8 @@ public class PracticeScreen extends Screen {
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 * 
+	 * @param context
+	 *            Game the screen belongs to.
 	 * @param gameState
 	 *            Current game state.
 	 * @param gameSettings
@@ -84,10 +85,11 @@ public class PracticeScreen extends Screen {
 	 * @param fps
 	 *            Frames per second, frame rate at which the game is run.
 	 */
-	public PracticeScreen(final GameState gameState,
-			final GameSettings gameSettings, final boolean bonusLife,
-			final int width, final int height, final int fps) {
-		super(width, height, fps);
+	public PracticeScreen(final GameContext context,
+			final GameState gameState, final GameSettings gameSettings,
+			final boolean bonusLife, final int width, final int height,
+			final int fps) {
+		super(context, width, height, fps);
 
 		this.gameSettings = gameSettings;
 		this.bonusLife = bonusLife;
@@ -98,6 +100,7 @@ public class PracticeScreen extends Screen {
 			this.lives++;
 		this.bulletsShot = gameState.getBulletsShot();
 		this.shipsDestroyed = gameState.getShipsDestroyed();
+		this.seed = gameState.getSeed();
 	}
 
 	/**
@@ -105,27 +108,31 @@ public class PracticeScreen extends Screen {
 	 */
 	public final void initialize() {
 		super.initialize();
+		// Practice runs at the game speed, like the game.
+		this.context.setClock(Core.getScaledClock());
 
-		enemyShipFormation = new EnemyShipFormation(this.gameSettings);
+		enemyShipFormation = new EnemyShipFormation(this.context,
+				this.gameSettings);
 		enemyShipFormation.attach(this);
 		//this.ship = new Ship(this.width / 2, this.height - 30);
-		switch (Inventory.getcurrentship()) {
-			case 1000 -> this.ship = new Ship(this.width / 2, this.height - 30, Color.GREEN);
-			case 1001 -> this.ship = new Ship(this.width / 2, this.height - 30, Color.RED);
-			case 1002 -> this.ship = new Ship(this.width / 2, this.height - 30, Color.BLUE);
+		switch (Inventory.getcurrentship(this.context)) {
+			case 1000 -> this.ship = new Ship(this.context, this.width / 2, this.height - 30, Color.GREEN);
+			case 1001 -> this.ship = new Ship(this.context, this.width / 2, this.height - 30, Color.RED);
+			case 1002 -> this.ship = new Ship(this.context, this.width / 2, this.height - 30, Color.BLUE);
 		}
 		// Appears each 10-30 seconds.
-		this.enemyShipSpecialCooldown = Core.getVariableCooldown(
+		this.enemyShipSpecialCooldown = this.context.getVariableCooldown(
 				BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE);
 		this.enemyShipSpecialCooldown.reset();
-		this.enemyShipSpecialExplosionCooldown = Core
+		this.enemyShipSpecialExplosionCooldown = this.context
 				.getCooldown(BONUS_SHIP_EXPLOSION);
-		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
+		this.screenFinishedCooldown = this.context
+				.getCooldown(SCREEN_CHANGE_INTERVAL);
+		this.bullets = new BulletStore();
 
 		// Special input delay / countdown.
 		this.gameStartTime = System.currentTimeMillis();
-		this.inputDelay = Core.getCooldown(INPUT_DELAY);
+		this.inputDelay = this.context.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 	}
 
@@ -135,7 +142,11 @@ public class PracticeScreen extends Screen {
 	 * @return Next screen code.
 	 */
 	public final int run() {
-		super.run();
+		try {
+			super.run();
+		} finally {
+			this.context.setClock(null);
+		}
 
 		this.score += LIFE_SCORE * (this.lives - 1);
 		this.logger.info("Screen cleared with a score of " + this.score);
@@ -143,6 +154,16 @@ public class PracticeScreen extends Screen {
 		return this.returnCode;
 	}
 
+	/**
+	 * Practice runs at the game speed.
+	 *
+	 * @return Speed relative to real time.
+	 */
+	@Override
+	protected final double getTimeScale() {
+		return Core.getTimeScale();
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
@@ -190,7 +211,7 @@ public class PracticeScreen extends Screen {
 			}
 			if (this.enemyShipSpecial == null
 					&& this.enemyShipSpecialCooldown.checkFinished()) {
-				this.enemyShipSpecial = new EnemyShip();
+				this.enemyShipSpecial = new EnemyShip(this.context);
 				this.enemyShipSpecialCooldown.reset();
 				this.logger.info("A special ship appears");
 			}
@@ -235,9 +256,7 @@ public class PracticeScreen extends Screen {
 
 		enemyShipFormation.draw();
 
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+		this.bullets.draw();
 
 		// Interface.
 		drawManager.drawScore(this, this.score);
@@ -264,26 +283,19 @@ public class PracticeScreen extends Screen {
 	 * Cleans bullets that go off screen.
 	 */
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+		this.bullets.update(SEPARATION_LINE_HEIGHT, this.height);
 	}
 
 	/**
 	 * Manages collisions between bullets and ships.
 	 */
 	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets)
-			if (bullet.getSpeed() > 0) {
-				if (checkCollision(bullet, this.ship) && !this.levelFinished) {
-					recyclable.add(bullet);
+		// Backwards, so removing a bullet only moves an already checked one.
+		for (int b = this.bullets.size() - 1; b >= 0; b--) {
+			boolean recyclable = false;
+			if (this.bullets.getOwner(b) == BulletStore.Owner.ENEMY) {
+				if (this.bullets.collides(b, this.ship) && !this.levelFinished) {
+					recyclable = true;
 					if (!this.ship.isDestroyed()) {
 						//  
 						this.ship.destroy();
@@ -294,49 +306,25 @@ public class PracticeScreen extends Screen {
 			} else {
 				for (EnemyShip enemyShip : this.enemyShipFormation)
 					if (!enemyShip.isDestroyed()
-							&& checkCollision(bullet, enemyShip)) {
+							&& this.bullets.collides(b, enemyShip)) {
 						this.score += enemyShip.getPointValue();
 						this.shipsDestroyed++;
 						this.enemyShipFormation.destroy(enemyShip);
-						recyclable.add(bullet);
+						recyclable = true;
 					}
 				if (this.enemyShipSpecial != null
 						&& !this.enemyShipSpecial.isDestroyed()
-						&& checkCollision(bullet, this.enemyShipSpecial)) {
+						&& this.bullets.collides(b, this.enemyShipSpecial)) {
 					this.score += this.enemyShipSpecial.getPointValue();
 					this.shipsDestroyed++;
 					this.enemyShipSpecial.destroy();
 					this.enemyShipSpecialExplosionCooldown.reset();
-					recyclable.add(bullet);
+					recyclable = true;
 				}
 			}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
-	}
-
-	/**
-	 * Checks if two entities are colliding.
-	 * 
-	 * @param a
-	 *            First entity, the bullet.
-	 * @param b
-	 *            Second entity, the ship.
-	 * @return Result of the collision test.
-	 */
-	private boolean checkCollision(final Entity a, final Entity b) {
-		// Calculate center point of the entities in both axis.
-		int centerAX = a.getPositionX() + a.getWidth() / 2;
-		int centerAY = a.getPositionY() + a.getHeight() / 2;
-		int centerBX = b.getPositionX() + b.getWidth() / 2;
-		int centerBY = b.getPositionY() + b.getHeight() / 2;
-		// Calculate maximum distance without collision.
-		int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
-		int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
-		// Calculates distance.
-		int distanceX = Math.abs(centerAX - centerBX);
-		int distanceY = Math.abs(centerAY - centerBY);
-
-		return distanceX < maxDistanceX && distanceY < maxDistanceY;
+			if (recyclable)
+				this.bullets.remove(b);
+		}
 	}
 
 	/**
@@ -346,6 +334,6 @@ public class PracticeScreen extends Screen {
 	 */
 	public final GameState getGameState() {
 		return new GameState(this.level, this.score, this.lives, this.lives,
-				this.bulletsShot, this.shipsDestroyed, 0);
+				this.bulletsShot, this.shipsDestroyed, 0, this.seed);
 	}
 }
\ No newline at end of file
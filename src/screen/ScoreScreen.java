@@ -2,11 +2,13 @@ package screen;
 
 import java.awt.event.KeyEvent;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.GameContext;
 import engine.GameState;
 import engine.Score;
 
@@ -53,6 +55,8 @@ public class ScoreScreen extends Screen {
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 *
+	 * @param context
+	 *            Game the screen belongs to.
 	 * @param width
 	 *            Screen width.
 	 * @param height
@@ -62,9 +66,9 @@ public class ScoreScreen extends Screen {
 	 * @param gameState
 	 *            Current game state.
 	 */
-	public ScoreScreen(final int width, final int height, final int fps,
-					   final GameState gameState) {
-		super(width, height, fps);
+	public ScoreScreen(final GameContext context, final int width,
+			final int height, final int fps, final GameState gameState) {
+		super(context, width, height, fps);
 
 		this.score = gameState.getScore();
 		this.stage = gameState.getLevel();
@@ -76,19 +80,15 @@ public class ScoreScreen extends Screen {
 		this.isNewRecord = false;
 		this.name = "AAA".toCharArray();
 		this.nameCharSelected = 0;
-		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+		this.selectionCooldown = context.getCooldown(SELECTION_TIME);
 		this.selectionCooldown.reset();
 
-		try {
-			this.highScores = Core.getFileManager().loadHighScores();
-			if (highScores.size() < MAX_HIGH_SCORE_NUM
-					|| highScores.get(highScores.size() - 1).getScore()
-					< this.score)
-				this.isNewRecord = true;
-
-		} catch (IOException e) {
-			logger.warning("Couldn't load high scores!");
-		}
+		this.highScores = new ArrayList<Score>(
+				Core.getHighScoreRepository().getHighScores());
+		if (highScores.size() < MAX_HIGH_SCORE_NUM
+				|| highScores.get(highScores.size() - 1).getScore()
+				< this.score)
+			this.isNewRecord = true;
 	}
 
 	/**
@@ -164,7 +164,7 @@ public class ScoreScreen extends Screen {
 			highScores.remove(highScores.size() - 1);
 
 		try {
-			Core.getFileManager().saveHighScores(highScores);
+			Core.getHighScoreRepository().saveHighScores(highScores);
 		} catch (IOException e) {
 			logger.warning("Couldn't load high scores!");
 		}
@@ -1,12 +1,13 @@
 package screen;
 
 import java.awt.Insets;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
+import engine.GameContext;
+import engine.GameLoop;
 import engine.InputManager;
 
 /**
@@ -24,8 +25,10 @@ public class Screen {
 	protected DrawManager drawManager;
 	/** Input Manager instance. */
 	protected InputManager inputManager;
-	/** Application logger. */
+	/** Logger of the game. */
 	protected Logger logger;
+	/** Game the screen belongs to. */
+	protected GameContext context;
 
 	/** Screen width. */
 	protected int width;
@@ -46,6 +49,8 @@ public class Screen {
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 * 
+	 * @param context
+	 *            Game the screen belongs to.
 	 * @param width
 	 *            Screen width.
 	 * @param height
@@ -53,15 +58,17 @@ public class Screen {
 	 * @param fps
 	 *            Frames per second, frame rate at which the game is run.
 	 */
-	public Screen(final int width, final int height, final int fps) {
+	public Screen(final GameContext context, final int width,
+			final int height, final int fps) {
 		this.width = width;
 		this.height = height;
 		this.fps = fps;
 
 		this.drawManager = Core.getDrawManager();
 		this.inputManager = Core.getInputManager();
-		this.logger = Core.getLogger();
-		this.inputDelay = Core.getCooldown(INPUT_DELAY);
+		this.logger = context.getLogger();
+		this.context = context;
+		this.inputDelay = context.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 		this.returnCode = 0;
 	}
@@ -81,30 +88,92 @@ public class Screen {
 	public int run() {
 		this.isRunning = true;
 
-		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+		GameLoop gameLoop = new GameLoop(this.fps, getRenderRate());
+		gameLoop.run(new GameLoop.Simulation() {
+			@Override
+			public boolean tick() {
+				update();
+				return isRunning;
+			}
 
-			update();
+			@Override
+			public void render(final float alpha) {
+				Screen.this.render(alpha);
+			}
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(time);
-				} catch (InterruptedException e) {
-					return 0;
-				}
+			@Override
+			public double getTimeScale() {
+				return Screen.this.getTimeScale();
 			}
-		}
+		});
 
 		return 0;
 	}
 
+	/**
+	 * Getter for the speed the screen updates at. Menus run in real time,
+	 * whatever the game speed.
+	 *
+	 * @return Speed relative to real time.
+	 */
+	protected double getTimeScale() {
+		return 1;
+	}
+
+	/**
+	 * Getter for the frames drawn per second while the screen runs.
+	 *
+	 * @return Frames per second, at least one per update.
+	 */
+	protected int getRenderRate() {
+		return Core.getRenderRate();
+	}
+
+	/**
+	 * Runs updates back to back without drawing anything, as fast as
+	 * possible, until the screen finishes or the tick limit is reached.
+	 *
+	 * @param maxTicks
+	 *            Most updates to run.
+	 * @return Updates run.
+	 */
+	public final int simulate(final int maxTicks) {
+		this.isRunning = true;
+		int ticks = 0;
+		while (this.isRunning && ticks < maxTicks) {
+			update();
+			ticks++;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Runs a single update and draws its result right away, without pacing.
+	 * Lets a screen be driven frame by frame outside of its loop, for
+	 * example to render it off-screen.
+	 */
+	public final void step() {
+		update();
+		render(1f);
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected void update() {
 	}
 
+	/**
+	 * Draws the screen between updates. Screens that draw on every update
+	 * don't need to override it.
+	 * 
+	 * @param alpha
+	 *            Fraction of an update elapsed since the last one, to
+	 *            interpolate positions with.
+	 */
+	protected void render(final float alpha) {
+	}
+
 	/**
 	 * Getter for screen width.
 	 * 
@@ -122,4 +191,13 @@ public class Screen {
 	public final int getHeight() {
 		return this.height;
 	}
+
+	/**
+	 * Getter for the game the screen belongs to.
+	 * 
+	 * @return Game context of the screen.
+	 */
+	public final GameContext getContext() {
+		return this.context;
+	}
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package screen;
 
 import java.awt.event.KeyEvent;
 import java.awt.*;
+import engine.AudioBus;
 import engine.Cooldown;
 import engine.Core;
+import engine.GameContext;
 /**
  * Implements the setting screen, it shows setting menu.
  *
@@ -16,6 +18,10 @@ public class SettingScreen extends Screen {
      * Milliseconds between changes in user selection.
      */
     private static final int SELECTION_TIME = 200;
+    /**
+     * Volume of each sound option, from option 1 to 5, as drawn.
+     */
+    private static final int[] VOLUME_PERCENTS = { 25, 50, 75, 100, 0 };
     /**
      * Time between changes in user selection.
      */
@@ -23,7 +29,7 @@ public class SettingScreen extends Screen {
     /**
      * Screen Change settings.
      */
-    private static int Screenchange;
+    private int Screenchange;
     /**
      * Get screen size
      */
@@ -31,31 +37,36 @@ public class SettingScreen extends Screen {
     /**
      * MasterSound change settings.
      */
-    private static int MasterSoundchange;
+    private int MasterSoundchange;
     /**
      * MusicSound change settings.
      */
-    private static int MusicSoundchange;
+    private int MusicSoundchange;
     /**
      * EffectSound change settings.
      */
-    private static int EffectSoundchange;
+    private int EffectSoundchange;
 
 
 
     /**
      * Constructor, establishes the properties of the screen.
      *
+     * @param context Game the screen belongs to.
      * @param width  Screen width.
      * @param height Screen height.
      * @param fps    Frames per second, frame rate at which the game is run.
      */
-    public SettingScreen(final int width, final int height, final int fps) {
-        super(width, height, fps);
+    public SettingScreen(final GameContext context, final int width,
+            final int height, final int fps) {
+        super(context, width, height, fps);
 
         this.returnCode = 400010;
         this.Screenchange = 1;
-        this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+        this.MasterSoundchange = volumeOption(AudioBus.MASTER);
+        this.MusicSoundchange = volumeOption(AudioBus.MUSIC);
+        this.EffectSoundchange = volumeOption(AudioBus.EFFECTS);
+        this.selectionCooldown = context.getCooldown(SELECTION_TIME);
         this.selectionCooldown.reset();
     }
 
@@ -135,51 +146,30 @@ public class SettingScreen extends Screen {
         // 1 = exit
         if (this.returnCode == 400010) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400020;
         }
         else if (this.returnCode == 400020) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400030;
         }
         else if (this.returnCode == 400030) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400040;
         }
         else if (this.returnCode == 400040) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400050;
         }
         else if (this.returnCode == 400050) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400060;
         }
         else if (this.returnCode == 400060) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 1;
         }
         else if (this.returnCode == 1) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400010;
         }
     }
@@ -198,51 +188,30 @@ public class SettingScreen extends Screen {
         // 1 = exit
         if (this.returnCode == 1){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400060;
         }
         else if (this.returnCode == 400060){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400050;
         }
         else if (this.returnCode == 400050){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400040;
         }
         else if (this.returnCode == 400040){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400030;
         }
         else if (this.returnCode == 400030) {
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400020;
         }
         else if (this.returnCode == 400020){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 400010;
         }
         else if (this.returnCode == 400010){
             this.Screenchange = 1;
-            this.MasterSoundchange = 1;
-            this.EffectSoundchange = 1;
-            this.MusicSoundchange = 1;
             this.returnCode = 1;
         }
     }
@@ -287,6 +256,7 @@ public class SettingScreen extends Screen {
             else
                 this.EffectSoundchange++;
         }
+        changeVolume();
     }
 
     /**
@@ -329,6 +299,39 @@ public class SettingScreen extends Screen {
             else
                 this.EffectSoundchange--;
         }
+        changeVolume();
+    }
+
+    /**
+     * Finds the sound option matching the current volume of a bus.
+     *
+     * @param bus Bus to read.
+     * @return Option from 1 to 5, the closest to the volume of the bus.
+     */
+    private static int volumeOption(final AudioBus bus) {
+        int volume = Core.getAudioEngine().getVolume(bus);
+        int option = 0;
+        for (int i = 1; i < VOLUME_PERCENTS.length; i++)
+            if (Math.abs(VOLUME_PERCENTS[i] - volume)
+                    < Math.abs(VOLUME_PERCENTS[option] - volume))
+                option = i;
+        return option + 1;
+    }
+
+    /**
+     * Applies the sound option being changed to the audio engine, heard
+     * from its next buffer.
+     */
+    private void changeVolume() {
+        if (this.returnCode == 400020)
+            Core.getAudioEngine().setVolume(AudioBus.MASTER,
+                    VOLUME_PERCENTS[this.MasterSoundchange - 1]);
+        else if (this.returnCode == 400030)
+            Core.getAudioEngine().setVolume(AudioBus.MUSIC,
+                    VOLUME_PERCENTS[this.MusicSoundchange - 1]);
+        else if (this.returnCode == 400040)
+            Core.getAudioEngine().setVolume(AudioBus.EFFECTS,
+                    VOLUME_PERCENTS[this.EffectSoundchange - 1]);
     }
 
 
@@ -21,8 +21,6 @@ public class ShopScreen extends Screen {
 
 	/** Time between changes in user selection. */
 	private Cooldown selectionCooldown;
-	/** Buffer Graphics. */
-	private static Graphics backBufferGraphics;
 	private boolean modalp;
 
 
@@ -30,6 +28,8 @@ public class ShopScreen extends Screen {
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 * 
+	 * @param context
+	 *               Game the screen belongs to.
 	 * @param width
 	 *               Screen width.
 	 * @param height
@@ -37,10 +37,13 @@ public class ShopScreen extends Screen {
 	 * @param fps
 	 *               Frames per second, frame rate at which the game is run.
 	 */
-	public ShopScreen(final int width, final int height, final int fps, final int retpos) {
-		super(width, height, fps);
+	public ShopScreen(final GameContext context, final int width,
+			final int height, final int fps, final int retpos) {
+		super(context, width, height, fps);
 		this.returnCode = retpos;
-		this.selectionCooldown = Core.getCooldown(SELECTION_TIME);
+		this.invrow = context.getShopRow();
+		this.invcol = context.getShopColumn();
+		this.selectionCooldown = context.getCooldown(SELECTION_TIME);
 		this.selectionCooldown.reset();
 	}
 
@@ -51,9 +54,11 @@ public class ShopScreen extends Screen {
 	 */
 	public final int run() {
 		this.state = shopstates.SHOP_INVEN;
-		default_ship=engine.Inventory.getcurrentship()-1000;
-		default_bgm=apply_bgm;
+		default_ship=engine.Inventory.getcurrentship(this.context)-1000;
+		default_bgm=this.context.getAppliedBgm();
 		super.run();
+		Core.getBgmManager().stop();
+		drawManager.applyShipSkin(engine.Inventory.getcurrentship(this.context));
 		return this.returnCode;
 	}
 
@@ -65,11 +70,10 @@ public class ShopScreen extends Screen {
 	}
 
 	shopstates state;
-	static int invrow = 0;
-	static int invcol = 0;
-	static int apply_bgm = 0;
-	static int ship_icon = 0;
-	static int bgm_icon = 0;
+	/** Row of the selected item, kept in the game. */
+	int invrow = 0;
+	/** Column of the selected item, kept in the game. */
+	int invcol = 0;
 
 	shopmodaltype modaltype;
 	int modaloption = 0;
@@ -80,6 +84,8 @@ public class ShopScreen extends Screen {
 
 	protected final void update() {
 		super.update();
+		// Previews the applied music, crossfading when it changes.
+		Core.getBgmManager().playTrack(this.context.getAppliedBgm());
 
 		draw();
 		switch (state) {
@@ -92,6 +98,7 @@ public class ShopScreen extends Screen {
 							invrow = 0;
 						else
 							invrow--;
+						this.context.selectShopItem(invrow, invcol);
 						this.selectionCooldown.reset();
 					} else if (inputManager.isKeyDown(KeyEvent.VK_RIGHT)
 							|| inputManager.isKeyDown(KeyEvent.VK_D)) {
@@ -99,6 +106,7 @@ public class ShopScreen extends Screen {
 							invrow = 2;
 						else
 							invrow++;
+						this.context.selectShopItem(invrow, invcol);
 						this.selectionCooldown.reset();
 					} else if (inputManager.isKeyDown(KeyEvent.VK_UP)
 							|| inputManager.isKeyDown(KeyEvent.VK_W)) {
@@ -106,6 +114,7 @@ public class ShopScreen extends Screen {
 							invcol = 0;
 						else
 							invcol--;
+						this.context.selectShopItem(invrow, invcol);
 						this.selectionCooldown.reset();
 					} else if (inputManager.isKeyDown(KeyEvent.VK_DOWN)
 							|| inputManager.isKeyDown(KeyEvent.VK_S)) {
@@ -113,64 +122,65 @@ public class ShopScreen extends Screen {
 							invcol = 1;
 						else
 							invcol++;
+						this.context.selectShopItem(invrow, invcol);
 						this.selectionCooldown.reset();
 					}
 					else if (inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
-						if (Inventory.hasitem(selecteditem())) {
+						if (Inventory.hasitem(this.context, selecteditem())) {
 							if (selecteditem().itemid == 1000) {
 								default_ship = 0;
-								if (Inventory.inventory_ship.size() == 2) {
-									Inventory.inventory_ship.get(0).appliedp = true;
-									Inventory.inventory_ship.get(1).appliedp = false;
+								if (this.context.getShipInventory().size() == 2) {
+									this.context.getShipInventory().get(0).appliedp = true;
+									this.context.getShipInventory().get(1).appliedp = false;
 								}
-								else if (Inventory.inventory_ship.size() == 3) {
-									Inventory.inventory_ship.get(0).appliedp = true;
-									Inventory.inventory_ship.get(1).appliedp = false;
-									Inventory.inventory_ship.get(2).appliedp = false;
+								else if (this.context.getShipInventory().size() == 3) {
+									this.context.getShipInventory().get(0).appliedp = true;
+									this.context.getShipInventory().get(1).appliedp = false;
+									this.context.getShipInventory().get(2).appliedp = false;
 								}
-								else if (Inventory.inventory_ship.size() == 1) {
-									Inventory.inventory_ship.get(0).appliedp = true;
+								else if (this.context.getShipInventory().size() == 1) {
+									this.context.getShipInventory().get(0).appliedp = true;
 								}
 								this.selectionCooldown.reset();
 							}
 							else if (selecteditem().itemid == 1001) {
 								default_ship = 1;
-								if (Inventory.inventory_ship.size() == 2) {
-									Inventory.inventory_ship.get(0).appliedp = false;
-									Inventory.inventory_ship.get(1).appliedp = true;
+								if (this.context.getShipInventory().size() == 2) {
+									this.context.getShipInventory().get(0).appliedp = false;
+									this.context.getShipInventory().get(1).appliedp = true;
 								}
-								else if (Inventory.inventory_ship.size() == 3) {
-									Inventory.inventory_ship.get(0).appliedp = false;
-									Inventory.inventory_ship.get(1).appliedp = true;
-									Inventory.inventory_ship.get(2).appliedp = false;
+								else if (this.context.getShipInventory().size() == 3) {
+									this.context.getShipInventory().get(0).appliedp = false;
+									this.context.getShipInventory().get(1).appliedp = true;
+									this.context.getShipInventory().get(2).appliedp = false;
 								}
 								this.selectionCooldown.reset();
 							}
 							else if (selecteditem().itemid == 1002) {
 								default_ship = 2;
-								if (Inventory.inventory_ship.size() == 2) {
-									Inventory.inventory_ship.get(0).appliedp = false;
-									Inventory.inventory_ship.get(1).appliedp = true;
+								if (this.context.getShipInventory().size() == 2) {
+									this.context.getShipInventory().get(0).appliedp = false;
+									this.context.getShipInventory().get(1).appliedp = true;
 								}
-								else if (Inventory.inventory_ship.size() == 3) {
-									Inventory.inventory_ship.get(0).appliedp = false;
-									Inventory.inventory_ship.get(1).appliedp = false;
-									Inventory.inventory_ship.get(2).appliedp = true;
+								else if (this.context.getShipInventory().size() == 3) {
+									this.context.getShipInventory().get(0).appliedp = false;
+									this.context.getShipInventory().get(1).appliedp = false;
+									this.context.getShipInventory().get(2).appliedp = true;
 								}
 								this.selectionCooldown.reset();
 							}
 							else if (selecteditem().itemid == 2000) {
 								default_bgm = 0;
-								apply_bgm = 0;
+								this.context.setAppliedBgm(0);
 								this.selectionCooldown.reset();
 							}
 							else if (selecteditem().itemid == 2001) {
-								apply_bgm = 1;
+								this.context.setAppliedBgm(1);
 								default_bgm = 1;
 								this.selectionCooldown.reset();
 							}
 							else if (selecteditem().itemid == 2002) {
-								apply_bgm = 2;
+								this.context.setAppliedBgm(2);
 								default_bgm = 2;
 								this.selectionCooldown.reset();
 							}
@@ -213,41 +223,41 @@ public class ShopScreen extends Screen {
 								this.state = shopstates.SHOP_CHECK;
 								if (selecteditem().itemid == 1001) {
 									default_ship = 1;
-									engine.Inventory.inventory_ship.add(selecteditem());
-									if (Inventory.inventory_ship.size() == 2) {
-										Inventory.inventory_ship.get(0).appliedp = false;
-										Inventory.inventory_ship.get(1).appliedp = true;
+									this.context.getShipInventory().add(selecteditem());
+									if (this.context.getShipInventory().size() == 2) {
+										this.context.getShipInventory().get(0).appliedp = false;
+										this.context.getShipInventory().get(1).appliedp = true;
 									}
-									else if (Inventory.inventory_ship.size() == 3) {
-										Inventory.inventory_ship.get(0).appliedp = false;
-										Inventory.inventory_ship.get(1).appliedp = false;
-										Inventory.inventory_ship.get(2).appliedp = true;
+									else if (this.context.getShipInventory().size() == 3) {
+										this.context.getShipInventory().get(0).appliedp = false;
+										this.context.getShipInventory().get(1).appliedp = false;
+										this.context.getShipInventory().get(2).appliedp = true;
 									}
 									this.selectionCooldown.reset();
 								}
 								else if (selecteditem().itemid == 1002) {
 									default_ship = 2;
-									engine.Inventory.inventory_ship.add(selecteditem());
-									if (Inventory.inventory_ship.size() == 2) {
-										Inventory.inventory_ship.get(0).appliedp = false;
-										Inventory.inventory_ship.get(1).appliedp = true;
+									this.context.getShipInventory().add(selecteditem());
+									if (this.context.getShipInventory().size() == 2) {
+										this.context.getShipInventory().get(0).appliedp = false;
+										this.context.getShipInventory().get(1).appliedp = true;
 									}
-									else if (Inventory.inventory_ship.size() == 3) {
-										Inventory.inventory_ship.get(0).appliedp = false;
-										Inventory.inventory_ship.get(1).appliedp = false;
-										Inventory.inventory_ship.get(2).appliedp = true;
+									else if (this.context.getShipInventory().size() == 3) {
+										this.context.getShipInventory().get(0).appliedp = false;
+										this.context.getShipInventory().get(1).appliedp = false;
+										this.context.getShipInventory().get(2).appliedp = true;
 									}
 									this.selectionCooldown.reset();
 								}
 								else if (selecteditem().itemid == 2001) {
-									engine.Inventory.inventory_bgm.add(selecteditem());
-									apply_bgm = 1;
+									this.context.getBgmInventory().add(selecteditem());
+									this.context.setAppliedBgm(1);
 									default_bgm = 1;
 									this.selectionCooldown.reset();
 								}
 								else if (selecteditem().itemid == 2002) {
-									engine.Inventory.inventory_bgm.add(selecteditem());
-									apply_bgm = 2;
+									this.context.getBgmInventory().add(selecteditem());
+									this.context.setAppliedBgm(2);
 									default_bgm = 2;
 									this.selectionCooldown.reset();
 								}
@@ -363,11 +373,11 @@ public class ShopScreen extends Screen {
 		drawManager.drawshop(this, invrow, invcol, this.state);
 		if (this.state == shopstates.SHOP_MODAL) {
 			if (invrow == 0 || invrow == 1 || invrow == 2) {
-				drawManager.drawShopModal(this, Item.itemregistry_ship.get(invrow).name, String.valueOf(Item.itemregistry_ship.get(invrow).price), shopmodaltype.SM_YESNO, modaloption);
+				drawManager.drawShopModal(this, this.context.getShipRegistry().get(invrow).name, String.valueOf(this.context.getShipRegistry().get(invrow).price), shopmodaltype.SM_YESNO, modaloption);
 			}
 			if (invcol == 1) {
 				if (invrow == 0 || invrow == 1 || invrow == 2)
-					drawManager.drawShopModal(this, Item.itemregistry_bgm.get(invrow).name, String.valueOf(Item.itemregistry_bgm.get(invrow).price), shopmodaltype.SM_YESNO, modaloption);
+					drawManager.drawShopModal(this, this.context.getBgmRegistry().get(invrow).name, String.valueOf(this.context.getBgmRegistry().get(invrow).price), shopmodaltype.SM_YESNO, modaloption);
 			}
 		}
 
@@ -422,7 +432,7 @@ public class ShopScreen extends Screen {
 	}
 
 	public boolean purchase(engine.Item item, int qty) {
-		return (engine.Coin.spend(item.price * qty) == -1) ? true : false;
+		return (engine.Coin.spend(this.context, item.price * qty) == -1) ? true : false;
 	}
 
 	/**
@@ -431,14 +441,8 @@ public class ShopScreen extends Screen {
 		engine.Item.itemregistry.size();
 	}*/
 
-	public static engine.Item selecteditem()
+	public engine.Item selecteditem()
 	{
-		if (invcol == 1) {
-			return Item.itemregistry_bgm.get(invrow);
-		}
-		return Item.itemregistry_ship.get(invrow);
-	}
-	public static int getApply_bgm() {
-		return apply_bgm;
+		return this.context.getSelectedShopItem();
 	}
 }
@@ -2,6 +2,8 @@ package screen;
 
 import java.awt.event.KeyEvent;
 
+import engine.GameContext;
+
 
 /**
  * Implements the Store screen, it shows store menu.
@@ -12,6 +14,8 @@ public class StoreScreen extends Screen {
     /**
      * Constructor, establishes the properties of the screen.
      *
+     * @param context
+     *            Game the screen belongs to.
      * @param width
      *            Screen width.
      * @param height
@@ -19,8 +23,9 @@ public class StoreScreen extends Screen {
      * @param fps
      *            Frames per second, frame rate at which the game is run.
      */
-    public StoreScreen(final int width, final int height, final int fps) {
-        super(width, height, fps);
+    public StoreScreen(final GameContext context, final int width,
+            final int height, final int fps) {
+        super(context, width, height, fps);
 
         this.returnCode = 1;
     }
@@ -0,0 +1,86 @@
+package engine;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioEngineTest {
+
+    private static final int BUFFER_BYTES = AudioEngine.BUFFER_FRAMES * AudioEngine.CHANNELS * 2;
+
+    @Test
+    void decodesEveryEffectToTheMixFormat() throws Exception {
+        for (SoundId id : SoundId.values()) {
+            short[] samples = AudioEngine.decode(new File("Bgm/" + id.getFileName()));
+            assertTrue(samples.length > 0, id.toString());
+            assertEquals(0, samples.length % AudioEngine.CHANNELS);
+        }
+    }
+
+    @Test
+    void monoIsUpsampledToStereo() {
+        // Two mono frames at a quarter of the mix rate.
+        byte[] mono = { 0, 0, 0, 4 };
+        short[] stereo = AudioEngine.resample(mono, 1, AudioEngine.SAMPLE_RATE / 4f);
+        assertEquals(16, stereo.length);
+        assertEquals(stereo[2], stereo[3]);
+        assertEquals(256, stereo[2]);
+    }
+
+    @Test
+    void voicesAreMixedAndStolen() {
+        AudioEngine engine = new AudioEngine(2);
+        short[] tone = new short[AudioEngine.BUFFER_FRAMES * AudioEngine.CHANNELS * 3];
+        Arrays.fill(tone, (short) 1000);
+        engine.load(SoundId.BULLET, tone);
+        engine.load(SoundId.EXPLOSION, tone);
+        byte[] out = new byte[BUFFER_BYTES];
+
+        engine.request(SoundId.BULLET);
+        engine.request(SoundId.BULLET);
+        engine.request(SoundId.EXPLOSION);
+        engine.mix(out);
+        assertEquals(2, engine.getActiveVoices());
+        assertEquals(2000, (short) ((out[0] & 0xFF) | (out[1] << 8)));
+
+        // A new shot needs a third voice, so the oldest one is stolen.
+        engine.request(SoundId.BULLET);
+        engine.mix(out);
+        assertEquals(2, engine.getActiveVoices());
+        assertEquals(1, engine.getSteals());
+
+        for (int i = 0; i < 3; i++)
+            engine.mix(out);
+        assertEquals(0, engine.getActiveVoices());
+        assertEquals(0, out[0]);
+    }
+
+    @Test
+    void busGainsScaleTheMixLive() {
+        AudioEngine engine = new AudioEngine(4);
+        short[] tone = new short[AudioEngine.BUFFER_FRAMES * AudioEngine.CHANNELS * 4];
+        Arrays.fill(tone, (short) 20000);
+        engine.load(SoundId.BULLET, tone);
+        byte[] out = new byte[BUFFER_BYTES];
+
+        engine.request(SoundId.BULLET);
+        engine.mix(out);
+        assertEquals(20000, (short) ((out[0] & 0xFF) | (out[1] << 8)));
+
+        engine.setVolume(AudioBus.EFFECTS, 50);
+        engine.mix(out);
+        assertEquals(10000, (short) ((out[0] & 0xFF) | (out[1] << 8)));
+
+        engine.setVolume(AudioBus.MASTER, 50);
+        engine.mix(out);
+        assertEquals(5000, (short) ((out[0] & 0xFF) | (out[1] << 8)));
+        assertEquals(50, engine.getVolume(AudioBus.MASTER));
+
+        engine.setVolume(AudioBus.MASTER, 0);
+        engine.mix(out);
+        assertEquals(0, (short) ((out[0] & 0xFF) | (out[1] << 8)));
+    }
+}
@@ -0,0 +1,118 @@
+package engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BgmManagerTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(AudioEngine.SAMPLE_RATE, 16,
+            AudioEngine.CHANNELS, true, false);
+    private static final int FADE_BUFFERS = BgmManager.FADE_FRAMES / AudioEngine.BUFFER_FRAMES + 1;
+
+    /** Writes a quarter second of a constant sample, so tracks loop often. */
+    private static File tone(final short level) throws Exception {
+        int frames = AudioEngine.SAMPLE_RATE / 4;
+        byte[] bytes = new byte[frames * FORMAT.getFrameSize()];
+        for (int i = 0; i < bytes.length; i += 2) {
+            bytes[i] = (byte) level;
+            bytes[i + 1] = (byte) (level >> 8);
+        }
+        File file = File.createTempFile("tone", ".wav");
+        file.deleteOnExit();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(bytes), FORMAT, frames),
+                AudioFileFormat.Type.WAVE, file);
+        return file;
+    }
+
+    /** Reads what the loader thread would, then mixes a buffer. */
+    private static int[] mix(final BgmManager music) {
+        music.load();
+        int[] mix = new int[AudioEngine.BUFFER_FRAMES * AudioEngine.CHANNELS];
+        music.mix(mix, AudioEngine.UNITY);
+        assertTrue(music.getBufferedBytes() <= music.getMemoryCeiling());
+        return mix;
+    }
+
+    @Test
+    void fadesInAndLoops() throws Exception {
+        BgmManager music = new BgmManager(FORMAT);
+        music.play(tone((short) 10000));
+        // Picks the track up, silent until the loader reads it.
+        assertEquals(0, mix(music)[0]);
+
+        int[] first = mix(music);
+        assertEquals(0, first[0]);
+        assertTrue(first[first.length - 1] > 0);
+
+        // Fades in, then plays several loops of the track at full volume.
+        for (int i = 0; i < FADE_BUFFERS; i++)
+            mix(music);
+        for (int i = 0; i < 300; i++) {
+            int[] mix = mix(music);
+            assertEquals(10000, mix[0]);
+            assertEquals(10000, mix[mix.length - 1]);
+        }
+    }
+
+    @Test
+    void crossfadeKeepsTheLevelAndStopFadesOut() throws Exception {
+        BgmManager music = new BgmManager(FORMAT);
+        music.play(tone((short) 8000));
+        for (int i = 0; i < FADE_BUFFERS; i++)
+            mix(music);
+
+        music.play(tone((short) 8000));
+        for (int i = 0; i < FADE_BUFFERS; i++) {
+            int[] mix = mix(music);
+            assertTrue(Math.abs(mix[0] - 8000) <= 2, "level " + mix[0]);
+        }
+
+        music.stop();
+        for (int i = 0; i < FADE_BUFFERS; i++)
+            mix(music);
+        assertEquals(0, mix(music)[0]);
+        assertEquals(0, music.getBufferedBytes());
+    }
+
+    @Test
+    void missingTrackStaysSilent() {
+        BgmManager music = new BgmManager(FORMAT);
+        music.play(new File("Bgm/missing.wav"));
+        assertEquals(0, mix(music)[0]);
+    }
+
+    @Test
+    void mixOnlyPlaysWhatTheLoaderRead() throws Exception {
+        int bufferBytes = AudioEngine.BUFFER_FRAMES * FORMAT.getFrameSize();
+        BgmManager music = new BgmManager(FORMAT);
+        music.play(tone((short) 10000));
+        mix(music);
+        // Each load reads one chunk, both are read before the first buffer.
+        music.load();
+        mix(music);
+        assertEquals(BgmManager.STREAM_BUFFER_BYTES - bufferBytes, music.getBufferedBytes());
+
+        // Without the loader, the read chunks run out instead of blocking on disk.
+        int[] mix = null;
+        for (int i = 0; i < BgmManager.STREAM_BUFFER_BYTES / bufferBytes; i++) {
+            mix = new int[AudioEngine.BUFFER_FRAMES * AudioEngine.CHANNELS];
+            music.mix(mix, AudioEngine.UNITY);
+        }
+        assertEquals(0, music.getBufferedBytes());
+        assertEquals(0, mix[mix.length - 1]);
+        assertEquals(1, music.getUnderruns());
+
+        // The loader catches up and the track plays on.
+        int[] resumed = mix(music);
+        assertTrue(resumed[resumed.length - 1] > 0);
+    }
+}
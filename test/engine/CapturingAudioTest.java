@@ -0,0 +1,55 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapturingAudioTest {
+
+    private static final GameSettings SETTINGS = new GameSettings(5, 4, 58, 2000);
+
+    @Test
+    void ringKeepsTheLatestSounds() {
+        CapturingAudio audio = new CapturingAudio(3);
+        audio.play(SoundId.BULLET);
+        audio.play(SoundId.BULLET);
+        audio.play(SoundId.EXPLOSION);
+        audio.play(SoundId.EXPLOSION);
+
+        assertEquals(3, audio.size());
+        assertEquals(4, audio.getRecorded());
+        assertEquals(SoundId.BULLET, audio.getSound(0));
+        assertEquals(SoundId.EXPLOSION, audio.getSound(2));
+        assertEquals(1, audio.count(SoundId.BULLET));
+        assertEquals(CapturingAudio.NO_TICK, audio.getTick(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> audio.getSound(3));
+
+        audio.clear();
+        assertEquals(0, audio.size());
+    }
+
+    @Test
+    void simulationCapturesSoundsByTick() {
+        CapturingAudio first = new CapturingAudio(4096);
+        CapturingAudio second = new CapturingAudio(4096);
+        GameSimulation a = new GameSimulation(SETTINGS, 3, new BotInput(3));
+        GameSimulation b = new GameSimulation(SETTINGS, 3, new BotInput(3));
+        a.setAudio(first);
+        b.setAudio(second);
+        a.setMaxTicks(1200);
+        b.setMaxTicks(1200);
+        a.run(1);
+        b.run(1);
+
+        // The bot always shoots, so shots are heard, in tick order.
+        assertTrue(first.count(SoundId.BULLET) > 0);
+        assertEquals(first.getRecorded(), second.getRecorded());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.getSound(i), second.getSound(i));
+            assertEquals(first.getTick(i), second.getTick(i));
+            assertTrue(first.getTick(i) >= 1 && first.getTick(i) <= a.getTicks());
+            if (i > 0)
+                assertTrue(first.getTick(i) >= first.getTick(i - 1));
+        }
+    }
+}
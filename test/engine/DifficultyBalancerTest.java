@@ -0,0 +1,44 @@
+package engine;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifficultyBalancerTest {
+
+    @Test
+    void parallelGamesMatchSequentialOnes() {
+        GameSettings settings = Core.getDefaultSettings().get(0);
+        ForkJoinPool sequential = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            DifficultyBalancer.LevelStats expected =
+                    new DifficultyBalancer(sequential, 24).evaluate(settings, 1);
+            DifficultyBalancer.LevelStats actual =
+                    new DifficultyBalancer(parallel, 24).evaluate(settings, 1);
+            assertEquals(24, actual.getGames());
+            assertEquals(expected.getClearRate(), actual.getClearRate());
+            assertEquals(expected.getAverageLivesLost(), actual.getAverageLivesLost());
+            assertEquals(expected.getAverageClearSeconds(), actual.getAverageClearSeconds());
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void levelIsOnlyClearedWithBothPlayersAlive() {
+        DifficultyBalancer.LevelStats stats = new DifficultyBalancer.LevelStats();
+        stats.add(new GameState(1, 0, 2, 3, 0, 0, 0, 1), 600, false);
+        // The right player died, so the game ends after the level.
+        stats.add(new GameState(1, 0, 3, 0, 0, 0, 0, 2), 900, false);
+        stats.add(new GameState(1, 0, 3, 3, 0, 0, 0, 3), 36000, true);
+
+        assertEquals(3, stats.getGames());
+        assertEquals(1.0 / 3, stats.getClearRate());
+        assertEquals(10, stats.getAverageClearSeconds());
+        assertEquals(4.0 / 3, stats.getAverageLivesLost());
+    }
+}
@@ -0,0 +1,48 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    @Test
+    void cooldownFollowsTicks() {
+        TickClock clock = new TickClock(100);
+        Cooldown cooldown = new Cooldown(50, clock);
+        assertTrue(cooldown.checkFinished());
+        cooldown.reset();
+        for (int i = 0; i < 5; i++) {
+            assertFalse(cooldown.checkFinished());
+            clock.tick();
+        }
+        clock.tick();
+        assertTrue(cooldown.checkFinished());
+    }
+
+    @Test
+    void scaledClockStaysContinuous() {
+        long[] now = { 1000 };
+        ScaledClock clock = new ScaledClock(() -> now[0]);
+        now[0] += 100;
+        assertEquals(1100, clock.millis());
+        clock.setScale(4);
+        assertEquals(1100, clock.millis());
+        now[0] += 100;
+        assertEquals(1500, clock.millis());
+        clock.setScale(100);
+        assertEquals(ScaledClock.MAX_SCALE, clock.getScale());
+        assertEquals(1500, clock.millis());
+    }
+
+    @Test
+    void menusIgnoreTheGameSpeed() {
+        Core.setTimeScale(4);
+        try {
+            GameContext context = new GameContext(java.util.logging.Logger.getGlobal());
+            assertSame(GameClock.WALL, context.getClock());
+        } finally {
+            Core.setTimeScale(1);
+        }
+    }
+}
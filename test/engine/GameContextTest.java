@@ -0,0 +1,79 @@
+package engine;
+
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+import screen.GameScreen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameContextTest {
+
+    private static final GameSettings SETTINGS = new GameSettings(5, 4, 58, 2000);
+    private static final int TICKS = 900;
+
+    private static GameScreen game(final GameContext context, final long seed) {
+        context.setSeed(seed);
+        context.setAudio(new CapturingAudio(4096));
+        GameScreen screen = new GameScreen(context, new GameState(1, 0, 3, 3, 0, 0, 0, seed),
+                SETTINGS, false, Core.getWIDTH(), Core.getHEIGHT(), 60);
+        screen.setInputSource(new BotInput(seed));
+        screen.initialize();
+        return screen;
+    }
+
+    @Test
+    void coinsStayInTheirGame() {
+        GameContext first = new GameContext(Logger.getGlobal());
+        GameContext second = new GameContext(Logger.getGlobal());
+        first.earnCoins(50);
+        assertEquals(-1, second.spendCoins(10));
+        assertEquals(40, first.spendCoins(10));
+        assertEquals(0, second.getCoins());
+    }
+
+    @Test
+    void simulationLeavesCurrentGameAlone() {
+        GameContext context = Core.getContext();
+        int coins = context.getCoins();
+        long seed = context.getSeed();
+        new GameSimulation(Core.getDefaultSettings().get(0), 3, new BotInput(3)).run(1);
+        assertEquals(coins, context.getCoins());
+        assertEquals(seed, context.getSeed());
+    }
+
+    @Test
+    void gamesOnOneThreadStayApart() {
+        GameContext alone = new GameContext(Logger.getGlobal());
+        GameScreen reference = game(alone, 5);
+        assertEquals(TICKS, reference.simulate(TICKS));
+
+        // The same game, stepped in turns with another one on this thread.
+        GameContext first = new GameContext(Logger.getGlobal());
+        GameContext second = new GameContext(Logger.getGlobal());
+        GameScreen a = game(first, 5);
+        GameScreen b = game(second, 6);
+        for (int i = 0; i < TICKS; i++) {
+            a.simulate(1);
+            b.simulate(1);
+        }
+
+        GameState expected = reference.getGameState();
+        GameState actual = a.getGameState();
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getBulletsShot(), actual.getBulletsShot());
+        assertEquals(expected.getShipsDestroyed(), actual.getShipsDestroyed());
+        assertEquals(alone.getCoins(), first.getCoins());
+
+        CapturingAudio heard = (CapturingAudio) alone.getAudio();
+        CapturingAudio heardInTurns = (CapturingAudio) first.getAudio();
+        assertTrue(heard.getRecorded() > 0);
+        assertEquals(heard.getRecorded(), heardInTurns.getRecorded());
+        for (int i = 0; i < heard.size(); i++) {
+            assertEquals(heard.getSound(i), heardInTurns.getSound(i));
+            assertEquals(heard.getTick(i), heardInTurns.getTick(i));
+        }
+        assertNotSame(first.getItemPool(), second.getItemPool());
+    }
+}
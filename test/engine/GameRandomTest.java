@@ -0,0 +1,40 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRandomTest {
+
+    @Test
+    void sameSeedSameSequence() {
+        GameRandom first = GameRandom.forStream(42, GameRandom.Stream.FORMATION);
+        GameRandom second = GameRandom.forStream(42, GameRandom.Stream.FORMATION);
+        for (int i = 0; i < 1000; i++)
+            assertEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    void streamsAreIndependent() {
+        GameRandom formation = GameRandom.forStream(42, GameRandom.Stream.FORMATION);
+        GameRandom items = GameRandom.forStream(42, GameRandom.Stream.ITEMS);
+        int equal = 0;
+        for (int i = 0; i < 1000; i++)
+            if (formation.nextInt(6) == items.nextInt(6))
+                equal++;
+        assertTrue(equal < 250, equal + " equal draws");
+    }
+
+    @Test
+    void valuesStayInRange() {
+        GameRandom random = new GameRandom(0);
+        int[] counts = new int[6];
+        for (int i = 0; i < 60000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+            counts[random.nextInt(6)]++;
+        }
+        for (int count : counts)
+            assertTrue(Math.abs(count - 10000) < 500, count + " draws");
+    }
+}
@@ -0,0 +1,60 @@
+package engine;
+
+/**
+ * Measures how many ticks per second a simulated game runs on one core.
+ * Every level of the normal difficulty is played by a bot, with a new seed
+ * on every game. The target is well above 5000 ticks per second.
+ *
+ * Run with the compiled sources and res on the classpath, no arguments
+ * needed.
+ */
+public final class GameSimulationBenchmark {
+
+	/** Games played per level, after warming up. */
+	private static final int GAMES = 20;
+
+	/** Settings of the normal difficulty, as in Core. */
+	private static final GameSettings[] LEVELS = {
+			new GameSettings(6, 4, 38, 1500), new GameSettings(6, 5, 34, 1400),
+			new GameSettings(7, 5, 30, 1300), new GameSettings(8, 6, 26, 1200),
+			new GameSettings(9, 6, 22, 1100) };
+
+	private GameSimulationBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+		for (int pass = 0; pass < 2; pass++)
+			for (int level = 0; level < LEVELS.length; level++)
+				run(level, pass == 1);
+	}
+
+	/**
+	 * Measures one level.
+	 *
+	 * @param level
+	 *            Index of the level.
+	 * @param print
+	 *            If the results are printed, false while warming up.
+	 */
+	private static void run(final int level, final boolean print) {
+		long ticks = 0;
+		int cleared = 0;
+		long start = System.nanoTime();
+		for (int game = 0; game < GAMES; game++) {
+			GameSimulation simulation = new GameSimulation(LEVELS[level],
+					game, new BotInput(game));
+			GameState state = simulation.run(level + 1);
+			ticks += simulation.getTicks();
+			if (!simulation.isTimedOut() && (state.getLivesRemainingL() > 0
+					|| state.getLivesRemainingR() > 0))
+				cleared++;
+		}
+		long elapsed = System.nanoTime() - start;
+
+		if (print)
+			System.out.printf("level %d: %6d ticks/game, %8.0f ticks/s,"
+					+ " %2d/%d cleared%n", level + 1, ticks / GAMES,
+					ticks / (elapsed / 1e9), cleared, GAMES);
+	}
+}
@@ -0,0 +1,43 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulationTest {
+
+    private static final GameSettings SETTINGS = new GameSettings(5, 4, 58, 2000);
+
+    @Test
+    void sameSeedSameGame() {
+        GameSimulation first = new GameSimulation(SETTINGS, 7, new BotInput(7));
+        GameSimulation second = new GameSimulation(SETTINGS, 7, new BotInput(7));
+        GameState a = first.run(1);
+        GameState b = second.run(1);
+        assertEquals(first.getTicks(), second.getTicks());
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getLivesRemainingL(), b.getLivesRemainingL());
+        assertEquals(a.getLivesRemainingR(), b.getLivesRemainingR());
+        assertEquals(a.getBulletsShot(), b.getBulletsShot());
+        assertEquals(a.getShipsDestroyed(), b.getShipsDestroyed());
+    }
+
+    @Test
+    void levelEndsWithinLimit() {
+        GameSimulation simulation = new GameSimulation(SETTINGS, 1, new BotInput(1));
+        simulation.setMaxTicks(100);
+        simulation.run(1);
+        assertEquals(100, simulation.getTicks());
+        assertTrue(simulation.isTimedOut());
+    }
+
+    @Test
+    void levelEndAddsTheLifeBonus() {
+        GameSimulation simulation = new GameSimulation(SETTINGS, 1, new BotInput(1));
+        simulation.setMaxTicks(1);
+        GameState state = simulation.run(1);
+        // Nothing can be shot in one tick, so the score is the bonus of the
+        // six lives left, as in GameScreen.run.
+        assertEquals(100 * (3 + 3 - 1), state.getScore());
+    }
+}
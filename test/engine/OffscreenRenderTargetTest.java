@@ -0,0 +1,106 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import screen.GameScreen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffscreenRenderTargetTest {
+
+    private static final GameSettings SETTINGS = new GameSettings(5, 4, 58, 2000);
+
+    /** Plays a seeded game headless, drawing every tick off-screen. */
+    private static long renderGame(final int ticks) {
+        Logger logger = Logger.getLogger("offscreen");
+        logger.setLevel(Level.WARNING);
+        GameContext context = new GameContext(logger);
+        context.setSeed(4);
+        GameScreen screen = new GameScreen(context, new GameState(1, 0, 3, 3, 0, 0, 0, 4),
+                SETTINGS, false, Core.getWIDTH(), Core.getHEIGHT(), 60);
+        screen.setInputSource(new BotInput(4));
+        screen.initialize();
+
+        OffscreenRenderTarget target = new OffscreenRenderTarget(screen.getWidth(),
+                screen.getHeight());
+        DrawManager drawManager = Core.getDrawManager();
+        drawManager.setRenderTarget(target);
+        try {
+            for (int i = 0; i < ticks; i++)
+                screen.step();
+        } finally {
+            drawManager.setRenderTarget(null);
+        }
+        assertEquals(ticks, target.getFrameCount());
+        return target.checksum();
+    }
+
+    private static BufferedImage frame(Color color) {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(8, 8, 16, 16);
+        graphics.dispose();
+        return image;
+    }
+
+    @Test
+    void presentCopiesFrame() {
+        OffscreenRenderTarget target = new OffscreenRenderTarget(64, 48);
+        BufferedImage image = frame(Color.GREEN);
+        target.present(image);
+        image.setRGB(10, 10, Color.RED.getRGB());
+
+        assertEquals(1, target.getFrameCount());
+        assertEquals(Color.GREEN.getRGB(), target.getImage().getRGB(10, 10));
+    }
+
+    @Test
+    void checksum() {
+        OffscreenRenderTarget target = new OffscreenRenderTarget(64, 48);
+        target.present(frame(Color.GREEN));
+        long green = target.checksum();
+        target.present(frame(Color.GREEN));
+        assertEquals(green, target.checksum());
+
+        BufferedImage changed = frame(Color.GREEN);
+        changed.setRGB(40, 40, Color.WHITE.getRGB());
+        target.present(changed);
+        assertNotEquals(green, target.checksum());
+    }
+
+    @Test
+    void writePng() throws IOException {
+        OffscreenRenderTarget target = new OffscreenRenderTarget(64, 48);
+        target.present(frame(Color.BLUE));
+        File file = Files.createTempFile("frame", ".png").toFile();
+        try {
+            target.writePng(file);
+            BufferedImage read = ImageIO.read(file);
+            assertEquals(64, read.getWidth());
+            assertEquals(48, read.getHeight());
+            assertEquals(Color.BLUE.getRGB(), read.getRGB(10, 10));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void seededGameRendersTheSameFrames() {
+        long first = renderGame(600);
+        assertEquals(first, renderGame(600));
+        // Ten seconds in, the frame isn't the one drawn earlier on.
+        assertNotEquals(renderGame(300), first);
+    }
+}
@@ -0,0 +1,52 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolTest {
+
+    @Test
+    void prewarmedObjectsAreReused() {
+        Pool<StringBuilder> pool = new Pool<StringBuilder>(StringBuilder::new,
+                null, 4, 2);
+        assertEquals(2, pool.getFreeCount());
+
+        StringBuilder first = pool.acquire();
+        pool.acquire();
+        assertEquals(0, pool.getMisses());
+        pool.acquire();
+        assertEquals(1, pool.getMisses());
+        assertEquals(3, pool.getAcquires());
+
+        pool.release(first);
+        assertSame(first, pool.acquire());
+    }
+
+    @Test
+    void resetRunsOnRelease() {
+        Pool<StringBuilder> pool = new Pool<StringBuilder>(StringBuilder::new,
+                builder -> builder.setLength(0), 4, 0);
+        StringBuilder builder = pool.acquire();
+        builder.append("used");
+        pool.release(builder);
+        assertEquals(0, pool.acquire().length());
+    }
+
+    @Test
+    void fullPoolDiscards() {
+        Pool<Object> pool = new Pool<Object>(Object::new, null, 2, 0);
+        List<Object> objects = new ArrayList<Object>();
+        for (int i = 0; i < 5; i++)
+            objects.add(pool.acquire());
+        for (Object object : objects)
+            pool.release(object);
+
+        assertEquals(2, pool.getFreeCount());
+        assertEquals(3, pool.getDiscards());
+        assertEquals(5, pool.getHighWaterMark());
+    }
+}
@@ -0,0 +1,104 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Compares the two sprite backends of the draw manager: Java2D blits of the
+ * sprite atlas against run writes straight into the back buffer pixels.
+ * Both must leave the same pixels on screen.
+ *
+ * Run with the compiled sources on the classpath, no arguments needed.
+ */
+public final class SoftwareBlitterBenchmark {
+
+	/** Entities drawn per frame, roughly a full hard formation with bullets. */
+	private static final int ENTITIES = 400;
+	/** Frames drawn before measuring. */
+	private static final int WARMUP_FRAMES = 200;
+	/** Frames measured. */
+	private static final int FRAMES = 600;
+	/** Back buffer width. */
+	private static final int WIDTH = 1280;
+	/** Back buffer height. */
+	private static final int HEIGHT = 720;
+
+	private SoftwareBlitterBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+		Map<SpriteType, boolean[][]> spriteMap =
+				SpriteAtlasBenchmark.randomSprites(new Random(7));
+		SpriteAtlas atlas = new SpriteAtlas(spriteMap);
+		SoftwareBlitter blitter = new SoftwareBlitter(spriteMap);
+		SpriteType[] types = spriteMap.keySet().toArray(new SpriteType[0]);
+		Color[] colors = {Color.WHITE, Color.RED, Color.GREEN, Color.GRAY};
+
+		BufferedImage java2dBuffer = new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics graphics = java2dBuffer.getGraphics();
+		BufferedImage softwareBuffer = new BufferedImage(WIDTH, HEIGHT,
+				BufferedImage.TYPE_INT_RGB);
+		int[] pixels = ((DataBufferInt) softwareBuffer.getRaster()
+				.getDataBuffer()).getData();
+
+		// Some entities hang off every edge, to exercise clipping.
+		Random random = new Random(42);
+		int[] x = new int[ENTITIES];
+		int[] y = new int[ENTITIES];
+		SpriteType[] sprite = new SpriteType[ENTITIES];
+		Color[] color = new Color[ENTITIES];
+		for (int i = 0; i < ENTITIES; i++) {
+			x[i] = random.nextInt(WIDTH + 40) - 20;
+			y[i] = random.nextInt(HEIGHT + 40) - 20;
+			sprite[i] = types[random.nextInt(types.length)];
+			color[i] = colors[random.nextInt(colors.length)];
+		}
+
+		long java2d = 0;
+		long software = 0;
+		for (int frame = 0; frame < WARMUP_FRAMES + FRAMES; frame++) {
+			long start = System.nanoTime();
+			graphics.setColor(Color.BLACK);
+			graphics.fillRect(0, 0, WIDTH, HEIGHT);
+			for (int i = 0; i < ENTITIES; i++)
+				graphics.drawImage(atlas.getImage(sprite[i], color[i]), x[i],
+						y[i], null);
+			long middle = System.nanoTime();
+			Arrays.fill(pixels, 0);
+			for (int i = 0; i < ENTITIES; i++)
+				blitter.blit(pixels, WIDTH, HEIGHT, sprite[i],
+						color[i].getRGB(), x[i], y[i]);
+			long end = System.nanoTime();
+			if (frame >= WARMUP_FRAMES) {
+				java2d += middle - start;
+				software += end - middle;
+			}
+		}
+		graphics.dispose();
+
+		int mismatches = 0;
+		for (int j = 0; j < HEIGHT; j++)
+			for (int i = 0; i < WIDTH; i++)
+				if (java2dBuffer.getRGB(i, j) != softwareBuffer.getRGB(i, j))
+					mismatches++;
+
+		System.out.printf("%d entities per frame, %d frames%n", ENTITIES,
+				FRAMES);
+		System.out.printf("JAVA2D atlas blit:   %8.1f us/frame%n",
+				java2d / 1000.0 / FRAMES);
+		System.out.printf("SOFTWARE span fill:  %8.1f us/frame%n",
+				software / 1000.0 / FRAMES);
+		System.out.printf("speedup:             %8.1fx%n",
+				(double) java2d / software);
+		System.out.printf("mismatched pixels:   %8d%n", mismatches);
+	}
+}
@@ -0,0 +1,117 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Compares drawing entities one rectangle per sprite pixel against a single
+ * blit from the sprite atlas.
+ *
+ * Run with the compiled sources on the classpath, no arguments needed.
+ */
+public final class SpriteAtlasBenchmark {
+
+	/** Entities drawn per frame, roughly a full hard formation with bullets. */
+	private static final int ENTITIES = 400;
+	/** Frames drawn before measuring. */
+	private static final int WARMUP_FRAMES = 200;
+	/** Frames measured. */
+	private static final int FRAMES = 600;
+
+	private SpriteAtlasBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+		Map<SpriteType, boolean[][]> spriteMap = randomSprites(new Random(7));
+		SpriteAtlas atlas = new SpriteAtlas(spriteMap);
+		SpriteType[] types = spriteMap.keySet().toArray(new SpriteType[0]);
+		Color[] colors = {Color.WHITE, Color.RED, Color.GREEN, Color.GRAY};
+
+		BufferedImage backBuffer = new BufferedImage(1280, 720,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics graphics = backBuffer.getGraphics();
+
+		Random random = new Random(42);
+		int[] x = new int[ENTITIES];
+		int[] y = new int[ENTITIES];
+		SpriteType[] sprite = new SpriteType[ENTITIES];
+		Color[] color = new Color[ENTITIES];
+		for (int i = 0; i < ENTITIES; i++) {
+			x[i] = random.nextInt(1240);
+			y[i] = random.nextInt(680);
+			sprite[i] = types[random.nextInt(types.length)];
+			color[i] = colors[random.nextInt(colors.length)];
+		}
+
+		for (int pass = 0; pass < 2; pass++) {
+			long perPixel = 0;
+			long atlasBlit = 0;
+			for (int frame = 0; frame < WARMUP_FRAMES + FRAMES; frame++) {
+				long start = System.nanoTime();
+				for (int i = 0; i < ENTITIES; i++) {
+					boolean[][] image = spriteMap.get(sprite[i]);
+					graphics.setColor(color[i]);
+					for (int px = 0; px < image.length; px++)
+						for (int py = 0; py < image[px].length; py++)
+							if (image[px][py])
+								graphics.drawRect(x[i] + px * 2,
+										y[i] + py * 2, 1, 1);
+				}
+				long middle = System.nanoTime();
+				for (int i = 0; i < ENTITIES; i++)
+					graphics.drawImage(atlas.getImage(sprite[i], color[i]),
+							x[i], y[i], null);
+				long end = System.nanoTime();
+				if (frame >= WARMUP_FRAMES) {
+					perPixel += middle - start;
+					atlasBlit += end - middle;
+				}
+			}
+			if (pass == 1) {
+				System.out.printf("%d entities per frame, %d frames%n",
+						ENTITIES, FRAMES);
+				System.out.printf("per-pixel drawRect: %8.1f us/frame%n",
+						perPixel / 1000.0 / FRAMES);
+				System.out.printf("atlas drawImage:    %8.1f us/frame%n",
+						atlasBlit / 1000.0 / FRAMES);
+				System.out.printf("speedup:            %8.1fx%n",
+						(double) perPixel / atlasBlit);
+			}
+		}
+		graphics.dispose();
+	}
+
+	/**
+	 * Builds sprite masks with the same sizes as the game sprites and about
+	 * half of their pixels lit.
+	 *
+	 * @param random
+	 *            Source of the pixel pattern.
+	 * @return Sprite types mapped to their pixel masks.
+	 */
+	static Map<SpriteType, boolean[][]> randomSprites(final Random random) {
+		Map<SpriteType, boolean[][]> spriteMap =
+				new LinkedHashMap<SpriteType, boolean[][]>();
+		spriteMap.put(SpriteType.Ship, new boolean[13][8]);
+		spriteMap.put(SpriteType.Bullet, new boolean[3][5]);
+		spriteMap.put(SpriteType.EnemyBullet, new boolean[3][5]);
+		spriteMap.put(SpriteType.EnemyBulletH, new boolean[7][5]);
+		spriteMap.put(SpriteType.EnemyShipA1, new boolean[12][8]);
+		spriteMap.put(SpriteType.EnemyShipB1, new boolean[12][8]);
+		spriteMap.put(SpriteType.EnemyShipC1, new boolean[12][8]);
+		spriteMap.put(SpriteType.Explosion, new boolean[13][7]);
+		spriteMap.put(SpriteType.Item, new boolean[9][8]);
+		for (boolean[][] mask : spriteMap.values())
+			for (boolean[] column : mask)
+				for (int j = 0; j < column.length; j++)
+					column[j] = random.nextBoolean();
+		return spriteMap;
+	}
+}
@@ -0,0 +1,71 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import engine.DrawManager.SpriteType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpritePackTest {
+
+    private static Map<SpriteType, boolean[][]> textSprites() throws IOException {
+        Map<SpriteType, boolean[][]> sprites = SpritePack.textLayout();
+        SpritePack.readText(Files.readAllBytes(Paths.get("res/graphics")), sprites);
+        return sprites;
+    }
+
+    private static void assertSameSprites(Map<SpriteType, boolean[][]> expected,
+            Map<SpriteType, boolean[][]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<SpriteType, boolean[][]> sprite : expected.entrySet())
+            assertTrue(Arrays.deepEquals(sprite.getValue(), actual.get(sprite.getKey())),
+                    sprite.getKey().toString());
+    }
+
+    @Test
+    void shippedPackMatchesTheTextFile() throws IOException {
+        Map<SpriteType, boolean[][]> pack = SpritePack.read(
+                Files.readAllBytes(Paths.get("res/sprites.pack")));
+        assertSameSprites(textSprites(), pack);
+    }
+
+    @Test
+    void spritesAreFoundByTypeWhateverTheOrder() throws IOException {
+        Map<SpriteType, boolean[][]> reversed = new LinkedHashMap<SpriteType, boolean[][]>();
+        boolean[][] odd = new boolean[3][11];
+        odd[2][10] = true;
+        reversed.put(SpriteType.ShipCustom, odd);
+        List<Map.Entry<SpriteType, boolean[][]>> text =
+                new ArrayList<Map.Entry<SpriteType, boolean[][]>>(textSprites().entrySet());
+        Collections.reverse(text);
+        for (Map.Entry<SpriteType, boolean[][]> sprite : text)
+            reversed.put(sprite.getKey(), sprite.getValue());
+
+        Map<SpriteType, boolean[][]> read = SpritePack.read(SpritePack.write(reversed));
+        assertSameSprites(reversed, read);
+        assertTrue(read.get(SpriteType.ShipCustom)[2][10]);
+    }
+
+    @Test
+    void invalidPackIsRejected() {
+        byte[] pack = SpritePack.write(SpritePack.textLayout());
+        assertThrows(IOException.class,
+                () -> SpritePack.read(Arrays.copyOf(pack, pack.length - 1)));
+        // Cut in the middle of the name of the first sprite.
+        assertThrows(IOException.class, () -> SpritePack.read(Arrays.copyOf(pack, 9)));
+        pack[0] = 0;
+        assertThrows(IOException.class, () -> SpritePack.read(pack));
+        assertThrows(IOException.class,
+                () -> SpritePack.readText(new byte[] { '0', '1' }, SpritePack.textLayout()));
+    }
+}
@@ -0,0 +1,79 @@
+package entity;
+
+import java.util.Random;
+
+import engine.FrameSnapshot;
+import entity.BulletStore.Kind;
+import entity.BulletStore.Owner;
+
+/**
+ * Measures a full bullet tick on the bullet store: saving positions, moving,
+ * removing the bullets leaving the screen, respawning them and copying
+ * every bullet into a frame snapshot. A 60 fps frame leaves 16.7 ms for the
+ * whole game, so the bullets should only take a small part of it.
+ *
+ * Run with the compiled sources on the classpath, no arguments needed.
+ */
+public final class BulletStoreBenchmark {
+
+	/** Bullets on screen in every run. */
+	private static final int[] BULLET_COUNTS = { 1000, 10000, 50000 };
+	/** Play area width. */
+	private static final int WIDTH = 1280;
+	/** Play area height. */
+	private static final int HEIGHT = 720;
+	/** Ticks measured per run. */
+	private static final int TICKS = 600;
+
+	private BulletStoreBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+		for (int pass = 0; pass < 2; pass++)
+			for (int count : BULLET_COUNTS)
+				run(count, pass == 1);
+	}
+
+	/**
+	 * Measures one bullet count.
+	 *
+	 * @param count
+	 *            Bullets kept on screen.
+	 * @param print
+	 *            If the results are printed, false while warming up.
+	 */
+	private static void run(final int count, final boolean print) {
+		Random random = new Random(count);
+		Kind[] kinds = Kind.values();
+		BulletStore bullets = new BulletStore();
+		FrameSnapshot snapshot = new FrameSnapshot();
+
+		long elapsed = 0;
+		long removed = 0;
+		for (int tick = 0; tick < TICKS; tick++) {
+			// Refills the screen outside of the measure.
+			while (bullets.size() < count) {
+				boolean enemy = random.nextBoolean();
+				bullets.spawn(kinds[random.nextInt(kinds.length)],
+						enemy ? Owner.ENEMY : Owner.PLAYER,
+						random.nextInt(WIDTH), random.nextInt(HEIGHT),
+						enemy ? 4 + random.nextInt(5) : -6,
+						enemy ? random.nextInt(3) : 0);
+			}
+			long start = System.nanoTime();
+			bullets.savePositions();
+			bullets.update(0, HEIGHT);
+			snapshot.clear();
+			bullets.snapshot(snapshot, 0.5f);
+			elapsed += System.nanoTime() - start;
+			removed += count - bullets.size();
+		}
+
+		if (print)
+			System.out.printf("%6d bullets: %8.1f us/tick, %5d removed/tick,"
+					+ " %5.1f%% of a 60 fps frame%n", count,
+					elapsed / 1000.0 / TICKS, removed / TICKS,
+					elapsed / 1e6 / TICKS / (1000.0 / 60) * 100);
+	}
+}
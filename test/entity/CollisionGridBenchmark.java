@@ -0,0 +1,111 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Random;
+
+/**
+ * Compares checking every bullet against every enemy with the collision
+ * grid broad phase, at growing entity counts. Both must find the same hits.
+ *
+ * Run with the compiled sources on the classpath, no arguments needed.
+ */
+public final class CollisionGridBenchmark {
+
+	/** Total entities of every run, half enemies and half bullets. */
+	private static final int[] ENTITY_COUNTS = { 60, 600, 6000 };
+	/** Play area width. */
+	private static final int WIDTH = 1280;
+	/** Play area height. */
+	private static final int HEIGHT = 720;
+	/** Side of a grid cell, as used by the game screen. */
+	private static final int CELL_SIZE = 32;
+	/** Entity ticks measured per run, fewer ticks for more entities. */
+	private static final int ENTITY_TICKS = 300000;
+
+	private CollisionGridBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+		for (int pass = 0; pass < 2; pass++)
+			for (int count : ENTITY_COUNTS)
+				run(count, pass == 1);
+	}
+
+	/**
+	 * Measures both approaches on one entity count.
+	 *
+	 * @param count
+	 *            Total entities.
+	 * @param print
+	 *            If the results are printed, false while warming up.
+	 */
+	private static void run(final int count, final boolean print) {
+		Random random = new Random(count);
+		Entity[] enemies = new Entity[count / 2];
+		Entity[] bullets = new Entity[count - count / 2];
+		for (int i = 0; i < enemies.length; i++)
+			enemies[i] = new Entity(random.nextInt(WIDTH - 24),
+					random.nextInt(HEIGHT - 16), 24, 16, Color.WHITE);
+		for (int i = 0; i < bullets.length; i++)
+			bullets[i] = new Entity(random.nextInt(WIDTH - 6),
+					random.nextInt(HEIGHT - 10), 6, 10, Color.WHITE);
+		int ticks = ENTITY_TICKS / count;
+		CollisionGrid<Entity> grid = new CollisionGrid<Entity>(WIDTH, HEIGHT,
+				CELL_SIZE);
+
+		long bruteHits = 0;
+		long start = System.nanoTime();
+		for (int tick = 0; tick < ticks; tick++)
+			for (Entity bullet : bullets)
+				for (Entity enemy : enemies)
+					if (collides(bullet, enemy))
+						bruteHits++;
+		long brute = System.nanoTime() - start;
+
+		long gridHits = 0;
+		long candidates = 0;
+		start = System.nanoTime();
+		for (int tick = 0; tick < ticks; tick++) {
+			grid.clear();
+			for (Entity enemy : enemies)
+				grid.insert(enemy);
+			for (Entity bullet : bullets) {
+				int found = grid.query(bullet);
+				candidates += found;
+				for (int i = 0; i < found; i++)
+					if (collides(bullet, grid.getCandidate(i)))
+						gridHits++;
+			}
+		}
+		long gridTime = System.nanoTime() - start;
+
+		if (print)
+			System.out.printf("%5d entities: brute force %9.1f us/tick, "
+					+ "grid %7.1f us/tick, %.1f candidates per bullet, "
+					+ "hits %s%n", count, brute / 1000.0 / ticks,
+					gridTime / 1000.0 / ticks,
+					(double) candidates / ticks / bullets.length,
+					bruteHits == gridHits ? "match" : "DIFFER");
+	}
+
+	/**
+	 * Same exact check as the game screen.
+	 *
+	 * @param a
+	 *            First entity.
+	 * @param b
+	 *            Second entity.
+	 * @return True when they collide.
+	 */
+	private static boolean collides(final Entity a, final Entity b) {
+		int centerAX = a.getPositionX() + a.getWidth() / 2;
+		int centerAY = a.getPositionY() + a.getHeight() / 2;
+		int centerBX = b.getPositionX() + b.getWidth() / 2;
+		int centerBY = b.getPositionY() + b.getHeight() / 2;
+		int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
+		int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
+		return Math.abs(centerAX - centerBX) < maxDistanceX
+				&& Math.abs(centerAY - centerBY) < maxDistanceY;
+	}
+}
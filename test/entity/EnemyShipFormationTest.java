@@ -38,6 +38,24 @@ class EnemyShipFormationTest {
 
     @org.junit.jupiter.api.Test
     void iterator() {
+        EnemyShipFormation formation = new EnemyShipFormation(
+                new engine.GameContext(java.util.logging.Logger.getGlobal()),
+                new engine.GameSettings(5, 4, 60, 2000));
+        int ships = 0;
+        for (EnemyShip ship : formation)
+            ships++;
+        assertEquals(20, ships);
+
+        // Nested iterations don't disturb each other.
+        int pairs = 0;
+        for (EnemyShip first : formation)
+            for (EnemyShip second : formation)
+                pairs++;
+        assertEquals(ships * ships, pairs);
+
+        int[] visited = new int[1];
+        formation.forEach(ship -> visited[0]++);
+        assertEquals(ships, visited[0]);
     }
 
     @org.junit.jupiter.api.Test
@@ -0,0 +1,129 @@
+package entity;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+import engine.BotInput;
+import engine.CapturingAudio;
+import engine.Core;
+import engine.FrameSnapshot;
+import engine.GameContext;
+import engine.GameSettings;
+import engine.GameState;
+import screen.GameScreen;
+import entity.BulletStore.Kind;
+import entity.BulletStore.Owner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SteadyStateAllocationTest {
+
+    private static final int HEIGHT = 720;
+    private static final int BULLETS = 2000;
+    private static final int ITEMS = 40;
+    private static final int WARMUP_TICKS = 20000;
+    private static final int TICKS = 1000;
+    /** Rounds tried, in case the compiler is still busy on the first ones. */
+    private static final int ROUNDS = 5;
+    private static final Kind[] KINDS = Kind.values();
+    /** Game ticks played before measuring, well short of the end of the level. */
+    private static final int GAME_WARMUP_TICKS = 3000;
+    /**
+     * Bytes a game may allocate per tick on average, for the log messages
+     * and items of the hits landing while it is measured.
+     */
+    private static final int GAME_BYTES_PER_TICK = 16;
+
+    private final ItemPool pool = new ItemPool();
+    private final BulletStore bullets = new BulletStore();
+    private final ItemStore items = new ItemStore(this.pool);
+    private final FrameSnapshot snapshot = new FrameSnapshot();
+    private int tick;
+
+    /**
+     * One game tick on the bullets and items: refills the screen, picks up
+     * an item, moves everything, culls and recycles, then takes a snapshot.
+     */
+    private void tick() {
+        this.tick++;
+        while (this.bullets.size() < BULLETS) {
+            int i = this.bullets.size() + this.tick;
+            boolean enemy = (i & 1) == 0;
+            this.bullets.spawn(KINDS[i % 3], enemy ? Owner.ENEMY : Owner.PLAYER,
+                    i * 7 % 1280, i * 13 % HEIGHT, enemy ? 4 + i % 5 : -6, enemy ? i % 3 : 0);
+        }
+        while (this.items.size() < ITEMS)
+            this.items.add(this.pool.getItem(this.tick * 31 % 1280,
+                    this.tick * 17 % HEIGHT, 2));
+        this.items.collect(this.tick % this.items.size());
+        for (int i = this.bullets.size() - 1; i >= 0; i -= 97)
+            this.bullets.remove(i);
+
+        this.bullets.savePositions();
+        this.items.savePositions();
+        this.bullets.update(0, HEIGHT);
+        this.items.update(HEIGHT);
+        this.snapshot.clear();
+        this.bullets.snapshot(this.snapshot, 0.5f);
+        this.items.snapshot(this.snapshot, 0.5f);
+    }
+
+    @Test
+    void steadyStateTickAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_TICKS; i++)
+            tick();
+
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && allocated != 0; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < TICKS; i++)
+                tick();
+            allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        }
+        assertEquals(0, allocated, "bytes allocated over " + TICKS + " ticks");
+        assertTrue(this.pool.getPool().getMisses() <= this.pool.getPool().getCapacity());
+    }
+
+    @Test
+    void steadyStateGameUpdateAllocatesAlmostNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+        long threadId = Thread.currentThread().getId();
+
+        Logger logger = Logger.getLogger("allocation");
+        logger.setLevel(Level.WARNING);
+        GameContext context = new GameContext(logger);
+        context.setSeed(4);
+        context.setAudio(new CapturingAudio(4096));
+        GameScreen screen = new GameScreen(context, new GameState(1, 0, 3, 3, 0, 0, 0, 4),
+                new GameSettings(5, 4, 58, 2000), false, Core.getWIDTH(), Core.getHEIGHT(), 60);
+        screen.setInputSource(new BotInput(4));
+        screen.initialize();
+        assertEquals(GAME_WARMUP_TICKS, screen.simulate(GAME_WARMUP_TICKS));
+
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS
+                && allocated >= (long) TICKS * GAME_BYTES_PER_TICK; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            assertEquals(TICKS, screen.simulate(TICKS));
+            allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        }
+        assertTrue(allocated < (long) TICKS * GAME_BYTES_PER_TICK,
+                allocated + " bytes allocated over " + TICKS + " game ticks");
+    }
+
+    private static void assumeAllocationCounting(com.sun.management.ThreadMXBean threads) {
+        org.junit.jupiter.api.Assumptions.assumeTrue(
+                threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+}